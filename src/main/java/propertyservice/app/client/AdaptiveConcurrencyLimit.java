@@ -0,0 +1,135 @@
+package propertyservice.app.client;
+
+import feign.FeignException;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * AIMD limit on the calls in flight to one downstream service. A call answered within latencyThreshold
+ * while at least half the limit was in use raises the limit by one; a slow or failed call multiplies it
+ * by backoffRatio. Calls over the limit wait up to maxWait in a queue of at most maxQueue, the rest are
+ * shed with ConcurrencyLimitExceededException. Client errors (4xx) count as answered calls.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition belowLimit = lock.newCondition();
+
+    // guarded by lock
+    private int limit;
+    private int inFlight;
+    private int queued;
+
+    AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                             double backoffRatio, int maxQueue, Duration maxWait) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    <T> T call(Supplier<T> call) {
+        acquire();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } catch (FeignException.FeignClientException ex) {
+            failed = false;
+            throw ex;
+        } finally {
+            release(System.nanoTime() - start, failed);
+        }
+    }
+
+    // A lock rather than a monitor: a virtual thread waiting here does not pin its carrier thread
+    private void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < limit) {
+                inFlight++;
+                return;
+            }
+            if (queued >= maxQueue) {
+                throw exceeded();
+            }
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        throw exceeded();
+                    }
+                    remaining = belowLimit.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw exceeded();
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            inFlight--;
+            belowLimit.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ConcurrencyLimitExceededException exceeded() {
+        return new ConcurrencyLimitExceededException(name + " concurrency limit of " + limit + " reached, "
+                + queued + " calls waiting");
+    }
+
+    int limit() {
+        return locked(() -> limit);
+    }
+
+    int inFlight() {
+        return locked(() -> inFlight);
+    }
+
+    int queued() {
+        return locked(() -> queued);
+    }
+
+    private int locked(IntSupplier value) {
+        lock.lock();
+        try {
+            return value.getAsInt();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
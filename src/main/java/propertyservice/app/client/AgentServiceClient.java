@@ -4,7 +4,11 @@ import propertyservice.app.dto.AgentDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 @FeignClient(name = "agent-service", url = "${agent.service.url}")
@@ -15,7 +19,8 @@ public interface AgentServiceClient {
 
     @GetMapping("/api/v1/agents/{agentId}/exists")
     Boolean agentExists(@PathVariable UUID agentId);
-}
-
-
 
+    // Existence of many ids in one call, see ReferenceExistenceBatcher; ids left out of the answer are asked one by one
+    @PostMapping("/api/v1/agents/exists")
+    Map<UUID, Boolean> agentsExist(@RequestBody Collection<UUID> agentIds);
+}
@@ -4,18 +4,28 @@ import propertyservice.app.dto.CityDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @FeignClient(name = "city-service", url = "${city.service.url}")
 public interface CityServiceClient {
 
+    // Full list, used to preload the existence cache
+    @GetMapping("/api/v1/cities")
+    List<CityDto> getAllCities();
+
     @GetMapping("/api/v1/cities/{cityId}")
     CityDto getCity(@PathVariable UUID cityId);
 
     @GetMapping("/api/v1/cities/{cityId}/exists")
     Boolean cityExists(@PathVariable UUID cityId);
-}
-
-
 
+    // Existence of many ids in one call, see ReferenceExistenceBatcher; ids left out of the answer are asked one by one
+    @PostMapping("/api/v1/cities/exists")
+    Map<UUID, Boolean> citiesExist(@RequestBody Collection<UUID> cityIds);
+}
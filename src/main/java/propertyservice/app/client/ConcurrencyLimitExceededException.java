@@ -0,0 +1,8 @@
+package propertyservice.app.client;
+
+// Thrown instead of calling a downstream service that already has as many calls in flight as it can take
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,84 @@
+package propertyservice.app.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * One AdaptiveConcurrencyLimit per downstream service, all with the app.downstream.limit.* settings.
+ * The current limit, calls in flight, queue depth and shed calls of each are published as
+ * reference.client.limit, reference.client.in.flight, reference.client.queued and
+ * reference.client.rejected.calls, tagged with the service name.
+ */
+@Component
+class ConcurrencyLimits {
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits;
+    private final Map<String, Counter> rejected;
+
+    ConcurrencyLimits(@Value("${app.downstream.limit.initial:10}") int initialLimit,
+                      @Value("${app.downstream.limit.min:2}") int minLimit,
+                      @Value("${app.downstream.limit.max:50}") int maxLimit,
+                      @Value("${app.downstream.limit.latency-threshold:250ms}") Duration latencyThreshold,
+                      @Value("${app.downstream.limit.backoff-ratio:0.9}") double backoffRatio,
+                      @Value("${app.downstream.limit.max-queue:50}") int maxQueue,
+                      @Value("${app.downstream.limit.max-wait:100ms}") Duration maxWait,
+                      ObjectProvider<MeterRegistry> meterRegistry) {
+        List<String> services = List.of(ReferenceServiceGuard.AGENT_SERVICE, ReferenceServiceGuard.CITY_SERVICE,
+                ReferenceServiceGuard.PROPERTY_TYPE_SERVICE);
+        this.limits = services.stream().collect(Collectors.toUnmodifiableMap(Function.identity(),
+                service -> new AdaptiveConcurrencyLimit(service, initialLimit, minLimit, maxLimit, latencyThreshold,
+                        backoffRatio, maxQueue, maxWait)));
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.rejected = registry == null ? Map.of() : services.stream().collect(Collectors.toUnmodifiableMap(
+                Function.identity(), service -> register(registry, service, limits.get(service))));
+    }
+
+    private static Counter register(MeterRegistry registry, String service, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("reference.client.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive limit of calls in flight")
+                .tag("name", service)
+                .register(registry);
+        Gauge.builder("reference.client.in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .tag("name", service)
+                .register(registry);
+        Gauge.builder("reference.client.queued", limit, AdaptiveConcurrencyLimit::queued)
+                .description("Calls waiting for the limit")
+                .tag("name", service)
+                .register(registry);
+        return Counter.builder("reference.client.rejected.calls")
+                .description("Calls shed because the limit and the queue were full")
+                .tag("name", service)
+                .register(registry);
+    }
+
+    <T> T call(String service, Supplier<T> call) {
+        try {
+            return limit(service).call(call);
+        } catch (ConcurrencyLimitExceededException ex) {
+            Counter counter = rejected.get(service);
+            if (counter != null) {
+                counter.increment();
+            }
+            throw ex;
+        }
+    }
+
+    AdaptiveConcurrencyLimit limit(String service) {
+        AdaptiveConcurrencyLimit limit = limits.get(service);
+        if (limit == null) {
+            throw new IllegalArgumentException("Unknown downstream service: " + service);
+        }
+        return limit;
+    }
+}
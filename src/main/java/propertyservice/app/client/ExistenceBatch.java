@@ -0,0 +1,144 @@
+package propertyservice.app.client;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Existence lookups of one kind of reference on their way to the remote service. A lookup of an id that
+ * is already pending or in flight gets the same future. Distinct ids collect for one window and are then
+ * sent as one batch call, or earlier once maxSize of them are waiting. A window holding a single id uses
+ * the single-id call, so the batch endpoint is only needed under load. Ids left out of a batch answer are
+ * asked one by one, and a service answering the batch call with 404 or 405 is asked id by id from then on.
+ */
+@Slf4j
+class ExistenceBatch {
+
+    private final String name;
+    private final Function<Collection<UUID>, Map<UUID, Boolean>> batchCall;
+    private final Function<UUID, Boolean> singleCall;
+    private final Duration window;
+    private final int maxSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    private final Map<UUID, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private Map<UUID, CompletableFuture<Boolean>> pending = new HashMap<>(); // guarded by this
+    private volatile boolean batchSupported = true;
+
+    ExistenceBatch(String name, Function<Collection<UUID>, Map<UUID, Boolean>> batchCall,
+                   Function<UUID, Boolean> singleCall, Duration window, int maxSize,
+                   ScheduledExecutorService scheduler, Executor executor) {
+        this.name = name;
+        this.batchCall = batchCall;
+        this.singleCall = singleCall;
+        this.window = window;
+        this.maxSize = maxSize;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    // Completes with the service's answer for the id
+    CompletableFuture<Boolean> exists(UUID id) {
+        Map<UUID, CompletableFuture<Boolean>> full = null;
+        CompletableFuture<Boolean> result;
+        synchronized (this) {
+            result = inFlight.get(id);
+            if (result == null) {
+                result = pending.get(id);
+            }
+            if (result == null) {
+                result = new CompletableFuture<>();
+                pending.put(id, result);
+                if (pending.size() == 1) {
+                    scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                if (pending.size() >= maxSize) {
+                    full = takePending();
+                }
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return result;
+    }
+
+    // A window started after an early flush by size may be sent a bit sooner than its full window, harmless
+    private void flush() {
+        Map<UUID, CompletableFuture<Boolean>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        send(batch);
+    }
+
+    private Map<UUID, CompletableFuture<Boolean>> takePending() {
+        Map<UUID, CompletableFuture<Boolean>> batch = pending;
+        pending = new HashMap<>();
+        batch.forEach(inFlight::put);
+        return batch;
+    }
+
+    private void send(Map<UUID, CompletableFuture<Boolean>> batch) {
+        executor.execute(() -> {
+            if (batch.size() == 1 || !batchSupported) {
+                batch.forEach(this::sendOne);
+                return;
+            }
+            try {
+                Map<UUID, Boolean> answers = batchCall.apply(batch.keySet());
+                log.debug("Asked {} about {} ids in one call", name, batch.size());
+                batch.forEach((id, result) -> {
+                    if (answers != null && answers.containsKey(id)) {
+                        complete(id, result, () -> answers.get(id));
+                    } else {
+                        sendOne(id, result);
+                    }
+                });
+            } catch (FeignException.NotFound | FeignException.MethodNotAllowed ex) {
+                log.warn("{} has no batch existence endpoint, asking id by id", name);
+                batchSupported = false;
+                batch.forEach(this::sendOne);
+            } catch (RuntimeException ex) {
+                batch.forEach((id, result) -> fail(id, result, ex));
+            }
+        });
+    }
+
+    private void sendOne(UUID id, CompletableFuture<Boolean> result) {
+        executor.execute(() -> {
+            try {
+                complete(id, result, () -> singleCall.apply(id));
+            } catch (RuntimeException ex) {
+                fail(id, result, ex);
+            }
+        });
+    }
+
+    private void complete(UUID id, CompletableFuture<Boolean> result, Supplier<Boolean> answer) {
+        Boolean exists = answer.get();
+        inFlight.remove(id, result);
+        result.complete(exists);
+    }
+
+    private void fail(UUID id, CompletableFuture<Boolean> result, RuntimeException ex) {
+        inFlight.remove(id, result);
+        result.completeExceptionally(ex);
+    }
+}
@@ -4,18 +4,28 @@ import propertyservice.app.dto.PropertyTypeDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @FeignClient(name = "property-type-service", url = "${property-type.service.url}")
 public interface PropertyTypeServiceClient {
 
+    // Full list, used to preload the existence cache
+    @GetMapping("/api/v1/property-types")
+    List<PropertyTypeDto> getAllPropertyTypes();
+
     @GetMapping("/api/v1/property-types/{typeId}")
     PropertyTypeDto getPropertyType(@PathVariable UUID typeId);
 
     @GetMapping("/api/v1/property-types/{typeId}/exists")
     Boolean propertyTypeExists(@PathVariable UUID typeId);
-}
-
-
 
+    // Existence of many ids in one call, see ReferenceExistenceBatcher; ids left out of the answer are asked one by one
+    @PostMapping("/api/v1/property-types/exists")
+    Map<UUID, Boolean> propertyTypesExist(@RequestBody Collection<UUID> typeIds);
+}
@@ -0,0 +1,48 @@
+package propertyservice.app.client;
+
+import feign.FeignException;
+import propertyservice.app.dto.AgentDto;
+import propertyservice.app.dto.CityDto;
+import propertyservice.app.dto.PropertyTypeDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Agent, city and property type details, fetched with getAgent, getCity and getPropertyType through the
+ * service's circuit breaker and concurrency limit (see ReferenceServiceGuard); the GETs of hedged services
+ * may be sent twice (see RequestHedger). An id the service answers with 404 comes back as null.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDetailsClient {
+
+    private final AgentServiceClient agentServiceClient;
+    private final CityServiceClient cityServiceClient;
+    private final PropertyTypeServiceClient propertyTypeServiceClient;
+    private final ReferenceServiceGuard guard;
+    private final RequestHedger hedger;
+
+    public AgentDto getAgent(UUID agentId) {
+        return call(ReferenceServiceGuard.AGENT_SERVICE, () -> agentServiceClient.getAgent(agentId));
+    }
+
+    public CityDto getCity(UUID cityId) {
+        return call(ReferenceServiceGuard.CITY_SERVICE, () -> cityServiceClient.getCity(cityId));
+    }
+
+    public PropertyTypeDto getPropertyType(UUID propertyTypeId) {
+        return call(ReferenceServiceGuard.PROPERTY_TYPE_SERVICE,
+                () -> propertyTypeServiceClient.getPropertyType(propertyTypeId));
+    }
+
+    private <T> T call(String service, Supplier<T> call) {
+        try {
+            return hedger.call(service, () -> guard.call(service, call));
+        } catch (FeignException.NotFound ex) {
+            return null;
+        }
+    }
+}
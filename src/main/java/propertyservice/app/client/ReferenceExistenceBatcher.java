@@ -0,0 +1,137 @@
+package propertyservice.app.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import propertyservice.app.config.BlockingExecutors;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Single-flight and micro-batching in front of the existence endpoints of the agent, city and property
+ * type services (see ExistenceBatch). Bursts of writes and imports that check the same or many different
+ * ids at once turn into a few batch calls instead of one request per check.
+ * Every call goes through the service's circuit breaker and bulkhead (see ReferenceServiceGuard). When a
+ * service fails or is guarded off, app.downstream.degraded-mode decides: FAIL_FAST rethrows, LAST_ANSWER
+ * answers with the last answer the service gave for the id within app.downstream.last-answer-ttl and
+ * rethrows only for ids it never answered. Slow single-id lookups may be hedged (see RequestHedger).
+ * The calls block until the answer arrives, as the plain Feign calls do, or until the caller is interrupted.
+ */
+@Slf4j
+@Component
+public class ReferenceExistenceBatcher {
+
+    public enum DegradedMode { FAIL_FAST, LAST_ANSWER }
+
+    private final Reference agents;
+    private final Reference cities;
+    private final Reference propertyTypes;
+    private final DegradedMode degradedMode;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+
+    ReferenceExistenceBatcher(AgentServiceClient agentServiceClient,
+                              CityServiceClient cityServiceClient,
+                              PropertyTypeServiceClient propertyTypeServiceClient,
+                              ReferenceServiceGuard guard,
+                              RequestHedger hedger,
+                              @Value("${app.reference-batch.window:5ms}") Duration window,
+                              @Value("${app.reference-batch.max-size:100}") int maxSize,
+                              @Value("${app.reference-batch.threads:32}") int threads,
+                              @Value("${app.downstream.degraded-mode:FAIL_FAST}") DegradedMode degradedMode,
+                              @Value("${app.downstream.last-answer-ttl:24h}") Duration lastAnswerTtl,
+                              @Value("${app.downstream.last-answer-maximum-size:10000}") long lastAnswerMaximumSize,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.degradedMode = degradedMode;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reference-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor = BlockingExecutors.fixed("reference-batch-", threads, virtualThreads);
+        this.agents = new Reference("Agent", new ExistenceBatch(ReferenceServiceGuard.AGENT_SERVICE,
+                guarded(guard, ReferenceServiceGuard.AGENT_SERVICE, agentServiceClient::agentsExist),
+                hedged(hedger, guard, ReferenceServiceGuard.AGENT_SERVICE, agentServiceClient::agentExists),
+                window, maxSize, scheduler, executor), lastAnswers(lastAnswerTtl, lastAnswerMaximumSize));
+        this.cities = new Reference("City", new ExistenceBatch(ReferenceServiceGuard.CITY_SERVICE,
+                guarded(guard, ReferenceServiceGuard.CITY_SERVICE, cityServiceClient::citiesExist),
+                hedged(hedger, guard, ReferenceServiceGuard.CITY_SERVICE, cityServiceClient::cityExists),
+                window, maxSize, scheduler, executor), lastAnswers(lastAnswerTtl, lastAnswerMaximumSize));
+        this.propertyTypes = new Reference("Property type", new ExistenceBatch(ReferenceServiceGuard.PROPERTY_TYPE_SERVICE,
+                guarded(guard, ReferenceServiceGuard.PROPERTY_TYPE_SERVICE, propertyTypeServiceClient::propertyTypesExist),
+                hedged(hedger, guard, ReferenceServiceGuard.PROPERTY_TYPE_SERVICE, propertyTypeServiceClient::propertyTypeExists),
+                window, maxSize, scheduler, executor), lastAnswers(lastAnswerTtl, lastAnswerMaximumSize));
+    }
+
+    public Boolean agentExists(UUID agentId) {
+        return await(agents, agentId);
+    }
+
+    public Boolean cityExists(UUID cityId) {
+        return await(cities, cityId);
+    }
+
+    public Boolean propertyTypeExists(UUID propertyTypeId) {
+        return await(propertyTypes, propertyTypeId);
+    }
+
+    // Rethrows what the Feign call threw, like a direct call would, unless the degraded mode has an answer.
+    // An interrupted caller stops waiting (the batch call itself goes on for the other callers).
+    private Boolean await(Reference reference, UUID id) {
+        RuntimeException failure;
+        try {
+            Boolean exists = reference.batch().exists(id).get();
+            if (exists != null) {
+                reference.lastAnswers().put(id, exists);
+            }
+            return exists;
+        } catch (ExecutionException ex) {
+            failure = ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the " + reference.name() + " check", ex);
+        }
+        Boolean lastAnswer = degradedMode == DegradedMode.LAST_ANSWER
+                && !(failure instanceof FeignException.FeignClientException)
+                ? reference.lastAnswers().getIfPresent(id) : null;
+        if (lastAnswer == null) {
+            throw failure;
+        }
+        log.warn("{} service unavailable ({}), using its last answer for {}", reference.name(), failure.getMessage(), id);
+        return lastAnswer;
+    }
+
+    private static <K, V> Function<K, V> guarded(ReferenceServiceGuard guard, String service, Function<K, V> call) {
+        return key -> guard.call(service, () -> call.apply(key));
+    }
+
+    // Single-id lookups are plain GETs, so a slow one may be sent twice
+    private static <K, V> Function<K, V> hedged(RequestHedger hedger, ReferenceServiceGuard guard, String service,
+                                                Function<K, V> call) {
+        Function<K, V> guarded = guarded(guard, service, call);
+        return key -> hedger.call(service, () -> guarded.apply(key));
+    }
+
+    private static Cache<UUID, Boolean> lastAnswers(Duration ttl, long maximumSize) {
+        return Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private record Reference(String name, ExistenceBatch batch, Cache<UUID, Boolean> lastAnswers) {
+    }
+}
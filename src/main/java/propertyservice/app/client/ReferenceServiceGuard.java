@@ -0,0 +1,78 @@
+package propertyservice.app.client;
+
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and adaptive concurrency limit per downstream service, named like its Feign client. The
+ * limit (see ConcurrencyLimits) caps the calls in flight to one service and sheds the rest after a short
+ * wait; the breaker opens when too many calls fail or are slow and then rejects calls until the service
+ * had time to recover. Either way a slow service costs a rejected call, not a blocked thread. Client
+ * errors (4xx) and shed calls do not count as failures.
+ * Breaker state, call and rejection metrics are published as resilience4j.circuitbreaker.*.
+ */
+@Slf4j
+@Component
+class ReferenceServiceGuard {
+
+    static final String AGENT_SERVICE = "agent-service";
+    static final String CITY_SERVICE = "city-service";
+    static final String PROPERTY_TYPE_SERVICE = "property-type-service";
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final ConcurrencyLimits concurrencyLimits;
+
+    ReferenceServiceGuard(@Value("${app.downstream.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                          @Value("${app.downstream.circuit-breaker.slow-call-duration-threshold:1s}") Duration slowCallDuration,
+                          @Value("${app.downstream.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                          @Value("${app.downstream.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+                          @Value("${app.downstream.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+                          @Value("${app.downstream.circuit-breaker.wait-duration-in-open-state:10s}") Duration waitInOpenState,
+                          @Value("${app.downstream.circuit-breaker.permitted-calls-in-half-open-state:3}") int halfOpenCalls,
+                          ConcurrencyLimits concurrencyLimits,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(ex -> !(ex instanceof FeignException.FeignClientException)
+                        && !(ex instanceof ConcurrencyLimitExceededException))
+                .build());
+        this.concurrencyLimits = concurrencyLimits;
+
+        // Created up front so their metrics exist before the first call
+        for (String service : List.of(AGENT_SERVICE, CITY_SERVICE, PROPERTY_TYPE_SERVICE)) {
+            circuitBreakers.circuitBreaker(service).getEventPublisher().onStateTransition(event ->
+                    log.warn("Circuit breaker of {} went {}", service, event.getStateTransition()));
+        }
+        meterRegistry.ifAvailable(registry ->
+                TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry));
+    }
+
+    // Throws CallNotPermittedException or ConcurrencyLimitExceededException instead of calling when the service is guarded off
+    <T> T call(String service, Supplier<T> call) {
+        return CircuitBreaker.decorateSupplier(circuitBreaker(service),
+                () -> concurrencyLimits.call(service, call)).get();
+    }
+
+    CircuitBreaker circuitBreaker(String service) {
+        return circuitBreakers.circuitBreaker(service);
+    }
+}
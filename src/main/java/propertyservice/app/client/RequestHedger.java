@@ -0,0 +1,193 @@
+package propertyservice.app.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import propertyservice.app.config.BlockingExecutors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Hedged calls for the idempotent single-id lookups of the services in app.downstream.hedging.services.
+ * When a call has not answered within the percentile of the latencies recently seen for its service, the
+ * same call is sent a second time and the first answer wins. Each call earns budget-percent / 100 of a
+ * hedge, so hedges add at most that share of extra calls; until min-samples latencies are known nothing
+ * is hedged. A call fails only when every attempt failed.
+ * Sent hedges, hedges that answered first and hedges skipped for lack of budget are counted as
+ * reference.client.hedges, reference.client.hedge.wins and reference.client.hedges.skipped.
+ */
+@Component
+class RequestHedger {
+
+    private static final int LATENCY_SAMPLES = 256;
+
+    private final Map<String, Hedge> hedges;
+    private final double percentile;
+    private final double budgetRatio;
+    private final long minDelayNanos;
+    private final int minSamples;
+    private final ExecutorService executor;
+
+    RequestHedger(@Value("${app.downstream.hedging.enabled:false}") boolean enabled,
+                  @Value("${app.downstream.hedging.services:}") List<String> services,
+                  @Value("${app.downstream.hedging.percentile:0.95}") double percentile,
+                  @Value("${app.downstream.hedging.budget-percent:10}") double budgetPercent,
+                  @Value("${app.downstream.hedging.min-delay:5ms}") Duration minDelay,
+                  @Value("${app.downstream.hedging.min-samples:20}") int minSamples,
+                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.percentile = percentile;
+        this.budgetRatio = budgetPercent / 100;
+        this.minDelayNanos = minDelay.toNanos();
+        this.minSamples = minSamples;
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.hedges = !enabled ? Map.of() : services.stream()
+                .map(String::trim)
+                .filter(service -> !service.isEmpty())
+                .distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), service -> new Hedge(registry, service)));
+        this.executor = BlockingExecutors.unbounded("reference-hedge-", virtualThreads);
+    }
+
+    // Rethrows what the call threw, the hedge's failure when both failed
+    <T> T call(String service, Supplier<T> call) {
+        Hedge hedge = hedges.get(service);
+        if (hedge == null) {
+            return call.get();
+        }
+        long delay = hedge.delayNanos();
+        hedge.earn();
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(timed(hedge, call), executor);
+        if (delay < 0) {
+            return join(primary, service);
+        }
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Slower than usual, hedged below
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + service, ex);
+        }
+        if (!hedge.spend()) {
+            return join(primary, service);
+        }
+
+        CompletableFuture<T> second = CompletableFuture.supplyAsync(timed(hedge, call), executor);
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        primary.whenComplete((value, ex) -> settle(first, value, ex, failed, null));
+        second.whenComplete((value, ex) -> settle(first, value, ex, failed, hedge.wins));
+        return join(first, service);
+    }
+
+    private static <T> void settle(CompletableFuture<T> first, T value, Throwable ex, AtomicInteger failed,
+                                   Counter wins) {
+        if (ex == null) {
+            if (first.complete(value) && wins != null) {
+                wins.increment();
+            }
+        } else if (failed.incrementAndGet() == 2) {
+            first.completeExceptionally(ex);
+        }
+    }
+
+    private static <T> Supplier<T> timed(Hedge hedge, Supplier<T> call) {
+        return () -> {
+            long start = System.nanoTime();
+            T result = call.get();
+            hedge.record(System.nanoTime() - start);
+            return result;
+        };
+    }
+
+    // Waits interruptibly, so a caller that gave up on the answer does not keep its thread blocked here
+    private static <T> T join(CompletableFuture<T> future, String service) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + service, ex);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable ex) {
+        if (ex instanceof CompletionException && ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+        return ex instanceof RuntimeException runtime ? runtime : new IllegalStateException(ex);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Latencies of the last calls to one service and its hedge budget
+    private final class Hedge {
+
+        private final long[] latencies = new long[LATENCY_SAMPLES]; // guarded by this
+        private int recorded;
+        private double budget;
+        private final Counter sent;
+        private final Counter wins;
+        private final Counter skipped;
+
+        Hedge(MeterRegistry registry, String service) {
+            this.sent = registry.counter("reference.client.hedges", "name", service);
+            this.wins = registry.counter("reference.client.hedge.wins", "name", service);
+            this.skipped = registry.counter("reference.client.hedges.skipped", "name", service);
+        }
+
+        synchronized void record(long latencyNanos) {
+            latencies[recorded++ % LATENCY_SAMPLES] = latencyNanos;
+        }
+
+        // -1 until enough latencies are known
+        synchronized long delayNanos() {
+            int samples = Math.min(recorded, LATENCY_SAMPLES);
+            if (samples < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            int index = Math.min(samples - 1, (int) Math.ceil(percentile * samples) - 1);
+            return Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+        }
+
+        synchronized void earn() {
+            budget = Math.min(1, budget + budgetRatio);
+        }
+
+        synchronized boolean spend() {
+            if (budget < 1) {
+                skipped.increment();
+                return false;
+            }
+            budget -= 1;
+            sent.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package propertyservice.app.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for tasks that block on JDBC or HTTP. With spring.threads.virtual.enabled each task gets a
+ * virtual thread of its own, and what the task waits on bounds the concurrency: the Hikari pool for the
+ * database, the downstream concurrency limits for the other services. Otherwise the tasks run on daemon
+ * platform threads named namePrefix + n.
+ */
+public final class BlockingExecutors {
+
+    private BlockingExecutors() {
+    }
+
+    public static ExecutorService fixed(String namePrefix, int platformThreads, boolean virtualThreads) {
+        return virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory())
+                : Executors.newFixedThreadPool(platformThreads, daemon(namePrefix));
+    }
+
+    // As fixed, but at most queueCapacity tasks wait for a platform thread; once they are all taken further
+    // tasks are rejected (RejectedExecutionException) rather than queued behind calls that may never answer
+    public static ExecutorService bounded(String namePrefix, int platformThreads, int queueCapacity,
+                                          boolean virtualThreads) {
+        return virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory())
+                : new ThreadPoolExecutor(platformThreads, platformThreads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), daemon(namePrefix));
+    }
+
+    public static ExecutorService unbounded(String namePrefix, boolean virtualThreads) {
+        return virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory())
+                : Executors.newCachedThreadPool(daemon(namePrefix));
+    }
+
+    private static ThreadFactory daemon(String namePrefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
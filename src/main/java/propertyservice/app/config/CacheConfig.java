@@ -1,17 +1,220 @@
 package propertyservice.app.config;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import propertyservice.app.client.ReferenceDetailsClient;
+import propertyservice.app.client.ReferenceExistenceBatcher;
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import propertyservice.app.service.PropertyMapper;
+import propertyservice.app.service.SerializedJson;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
 
 @Configuration
 public class CacheConfig {
 
+    public static final String PROPERTY_BY_ID = "propertyById";
+    public static final String FEATURED_PROPERTIES = "featuredProperties";
+    public static final String PROPERTIES_BY_CITY = "propertiesByCity";
+    public static final String PROPERTIES_BY_AGENT = "propertiesByAgent";
+    public static final String PROPERTY_JSON = "propertyJson";
+    public static final String AGENT_EXISTS = "agentExists";
+    public static final String CITY_EXISTS = "cityExists";
+    public static final String PROPERTY_TYPE_EXISTS = "propertyTypeExists";
+    public static final String AGENT_DETAILS = "agentDetails";
+    public static final String CITY_DETAILS = "cityDetails";
+    public static final String PROPERTY_TYPE_DETAILS = "propertyTypeDetails";
+
+    @Value("${app.cache.property.maximum-size:10000}")
+    private long propertyMaximumSize;
+
+    @Value("${app.cache.property.expire-after-write:10m}")
+    private Duration propertyExpireAfterWrite;
+
+    @Value("${app.cache.property.refresh-after-write:1m}")
+    private Duration propertyRefreshAfterWrite;
+
+    // List caches are bounded by the number of properties held across all cached pages
+    @Value("${app.cache.lists.maximum-weight:20000}")
+    private long listsMaximumWeight;
+
+    @Value("${app.cache.lists.expire-after-write:2m}")
+    private Duration listsExpireAfterWrite;
+
+    // Serialized responses are bounded by their size in bytes (JSON plus gzip)
+    @Value("${app.cache.json.maximum-size:32MB}")
+    private DataSize jsonMaximumSize;
+
+    @Value("${app.cache.json.expire-after-write:2m}")
+    private Duration jsonExpireAfterWrite;
+
+    // Existence answers of the agent, city and property type services. Cities and property types
+    // hardly ever change and are kept much longer than agents; a "does not exist" is kept only briefly
+    @Value("${app.cache.reference.agents.expire-after-write:10m}")
+    private Duration agentsExpireAfterWrite;
+
+    @Value("${app.cache.reference.agents.refresh-after-write:2m}")
+    private Duration agentsRefreshAfterWrite;
+
+    @Value("${app.cache.reference.agents.maximum-size:10000}")
+    private long agentsMaximumSize;
+
+    @Value("${app.cache.reference.cities.expire-after-write:24h}")
+    private Duration citiesExpireAfterWrite;
+
+    @Value("${app.cache.reference.cities.refresh-after-write:1h}")
+    private Duration citiesRefreshAfterWrite;
+
+    @Value("${app.cache.reference.cities.maximum-size:10000}")
+    private long citiesMaximumSize;
+
+    @Value("${app.cache.reference.property-types.expire-after-write:24h}")
+    private Duration propertyTypesExpireAfterWrite;
+
+    @Value("${app.cache.reference.property-types.refresh-after-write:1h}")
+    private Duration propertyTypesRefreshAfterWrite;
+
+    @Value("${app.cache.reference.property-types.maximum-size:1000}")
+    private long propertyTypesMaximumSize;
+
+    @Value("${app.cache.reference.negative-expire-after-write:30s}")
+    private Duration negativeExpireAfterWrite;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Agent/city/property type details embedded by ?expand=
+    @Value("${app.cache.reference-details.expire-after-write:5m}")
+    private Duration detailsExpireAfterWrite;
+
+    @Value("${app.cache.reference-details.maximum-size:10000}")
+    private long detailsMaximumSize;
+
+    // Serialized responses are keyed "<object cache name>:<object cache key>", so the evictor
+    // drops a property with the same id and retires pages with the same generation as the object cache
+    public static String jsonKey(String cacheName, Object key) {
+        return cacheName + ":" + key;
+    }
+
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    public CacheManager cacheManager(PropertyReadModelRepository propertyReadModelRepository, PlatformTransactionManager transactionManager,
+                                     ReferenceExistenceBatcher referenceExistenceBatcher,
+                                     ReferenceDetailsClient referenceDetailsClient) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setAllowNullValues(false);
+
+        // Hot single properties are refreshed in the background once stale, so readers never wait on a reload.
+        // The loader returns null for deleted properties, which drops the entry.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        cacheManager.registerCustomCache(PROPERTY_BY_ID, Caffeine.newBuilder()
+                .maximumSize(propertyMaximumSize)
+                .expireAfterWrite(propertyExpireAfterWrite)
+                .refreshAfterWrite(propertyRefreshAfterWrite)
+                .recordStats()
+                .build(id -> readOnly.execute(status -> propertyReadModelRepository.findById((UUID) id)
+                        .map(PropertyMapper::toDto)
+                        .orElse(null))));
+
+        // Page caches are keyed by scope + generation + cursor + limit, see PageCacheGenerations; a write moves
+        // the city/agent (or featured list) it touches to a new generation and its old pages simply expire.
+        // Their methods use sync = true so an expired hot page is recomputed once, not by every caller.
+        cacheManager.registerCustomCache(FEATURED_PROPERTIES, listCache());
+        cacheManager.registerCustomCache(PROPERTIES_BY_CITY, listCache());
+        cacheManager.registerCustomCache(PROPERTIES_BY_AGENT, listCache());
+
+        cacheManager.registerCustomCache(PROPERTY_JSON, Caffeine.newBuilder()
+                .maximumWeight(jsonMaximumSize.toBytes())
+                .weigher((key, value) -> ((SerializedJson) value).size())
+                .expireAfterWrite(jsonExpireAfterWrite)
+                .recordStats()
+                .build());
+
+        // Entries are refreshed in the background while still valid, so a write only waits on a remote call
+        // for an id it has not seen. A failed refresh keeps the old answer; a null answer is not cached.
+        // Misses and refreshes of many ids at once go out as batch calls through ReferenceExistenceBatcher.
+        registerRemoteCache(cacheManager, AGENT_EXISTS, referenceCache(agentsExpireAfterWrite,
+                agentsRefreshAfterWrite, agentsMaximumSize), id -> referenceExistenceBatcher.agentExists((UUID) id));
+        registerRemoteCache(cacheManager, CITY_EXISTS, referenceCache(citiesExpireAfterWrite,
+                citiesRefreshAfterWrite, citiesMaximumSize), id -> referenceExistenceBatcher.cityExists((UUID) id));
+        registerRemoteCache(cacheManager, PROPERTY_TYPE_EXISTS, referenceCache(propertyTypesExpireAfterWrite,
+                propertyTypesRefreshAfterWrite, propertyTypesMaximumSize),
+                id -> referenceExistenceBatcher.propertyTypeExists((UUID) id));
+
+        // Ids the services do not know load as null and are not cached
+        registerRemoteCache(cacheManager, AGENT_DETAILS, detailsCache(), id -> referenceDetailsClient.getAgent((UUID) id));
+        registerRemoteCache(cacheManager, CITY_DETAILS, detailsCache(), id -> referenceDetailsClient.getCity((UUID) id));
+        registerRemoteCache(cacheManager, PROPERTY_TYPE_DETAILS, detailsCache(),
+                id -> referenceDetailsClient.getPropertyType((UUID) id));
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    // Caches loaded from the other services. With virtual threads they load asynchronously, each load on a
+    // virtual thread of its own: a synchronous load runs inside the cache's map lock, where a virtual thread
+    // waiting on HTTP would pin its carrier. Callers still block, outside the lock, until the value is there.
+    private void registerRemoteCache(CaffeineCacheManager cacheManager, String name, Caffeine<Object, Object> builder,
+                                     CacheLoader<Object, Object> loader) {
+        if (virtualThreads) {
+            cacheManager.registerCustomCache(name, builder
+                    .executor(BlockingExecutors.unbounded(name + "-load-", true))
+                    .buildAsync(loader));
+        } else {
+            cacheManager.registerCustomCache(name, builder.build(loader));
+        }
+    }
+
+    private Caffeine<Object, Object> referenceCache(Duration expireAfterWrite, Duration refreshAfterWrite, long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(existenceExpiry(expireAfterWrite, negativeExpireAfterWrite))
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats();
+    }
+
+    private Caffeine<Object, Object> detailsCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(detailsMaximumSize)
+                .expireAfterWrite(detailsExpireAfterWrite)
+                .recordStats();
+    }
+
+    // Only an explicit false is a negative entry, it expires after negativeTtl instead of ttl
+    private static Expiry<Object, Object> existenceExpiry(Duration ttl, Duration negativeTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                return (Boolean.FALSE.equals(value) ? negativeTtl : ttl).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> listCache() {
+        return Caffeine.newBuilder()
+                .maximumWeight(listsMaximumWeight)
+                .weigher((key, value) -> ((CursorPage<?>) value).getItems().size() + 1)
+                .expireAfterWrite(listsExpireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
@@ -1,13 +1,45 @@
 package propertyservice.app.controller;
 
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.FacetCountsDto;
+import propertyservice.app.dto.PropertyBatchDto;
+import propertyservice.app.dto.PropertyBatchGetRequest;
+import propertyservice.app.dto.PropertyBulkResultDto;
+import propertyservice.app.dto.PropertyBulkUpdateRequest;
+import propertyservice.app.dto.PropertyBulkUpdateResultDto;
 import propertyservice.app.dto.PropertyCreateDto;
 import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.dto.PropertyImportJobDto;
+import propertyservice.app.dto.PropertySearchCriteria;
 import propertyservice.app.dto.PropertyUpdateDto;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.search.FacetQuery;
+import propertyservice.app.search.PropertySearchIndexRebuilder;
+import propertyservice.app.service.ExportFormat;
+import propertyservice.app.service.PageCacheGenerations;
+import propertyservice.app.service.PropertyBatchService;
+import propertyservice.app.service.PropertyBulkService;
+import propertyservice.app.service.PropertyBulkUpdateService;
+import propertyservice.app.service.PropertyExpander;
+import propertyservice.app.service.PropertyExpansions;
+import propertyservice.app.service.PropertyExportService;
+import propertyservice.app.service.PropertyFields;
+import propertyservice.app.service.PropertyImportService;
+import propertyservice.app.service.PropertyJsonCache;
+import propertyservice.app.service.PropertyReadModelRebuilder;
 import propertyservice.app.service.PropertyService;
+import propertyservice.app.service.PropertyView;
+import propertyservice.app.service.SerializedJson;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,25 +53,145 @@ import static propertyservice.app.controller.ResponseHelper.*;
 public class PropertyRestController {
 
     private final PropertyService propertyService;
+    private final PropertyExportService propertyExportService;
+    private final PropertySearchIndexRebuilder propertySearchIndexRebuilder;
+    private final PropertyJsonCache propertyJsonCache;
+    private final PropertyReadModelRebuilder propertyReadModelRebuilder;
+    private final PropertyBatchService propertyBatchService;
+    private final PropertyBulkService propertyBulkService;
+    private final PropertyBulkUpdateService propertyBulkUpdateService;
+    private final PropertyImportService propertyImportService;
+    private final PropertyExpander propertyExpander;
 
+    // Any filter or sort parameter (see PropertySearchCriteria) switches to the filtered search.
+    // List endpoints return PropertyDto, PropertySummaryDto cards with ?view=summary,
+    // or only the PropertyDto properties named in ?fields=; ?expand=agent,city,propertyType embeds
+    // the referenced agent, city and property type in each PropertyDto.
+    // GETs of lists and single properties carry an ETag and answer If-None-Match with 304, except expanded ones.
+    // Full and summary pages of the featured, city and agent lists and full single properties
+    // are written from PropertyJsonCache without going through Jackson again, under the ETag of the cached
+    // entry and the content coding sent (see ResponseHelper.conditionalJson)
     @GetMapping
-    public ResponseEntity<List<PropertyDto>> getAllProperties(
+    public ResponseEntity<?> getAllProperties(
+            @ModelAttribute PropertySearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest request) {
+        PropertyExpansions expansions = selectExpansions(expand, fields, view);
+        PropertyFields selected = selectFields(fields, view);
+        boolean summary = PropertyView.from(view) == PropertyView.SUMMARY;
+        if (expansions != null) {
+            return okPage(propertyExpander.expand(criteria.isEmpty()
+                    ? propertyService.getAllProperties(cursor, limit)
+                    : propertyService.searchProperties(criteria, cursor, limit), expansions));
+        }
+        return conditional(request, propertyService.getListVersion(criteria), () -> {
+            if (selected != null) {
+                return okPage(propertyService.searchPropertyFields(criteria, selected, cursor, limit));
+            }
+            
+            if (!criteria.isEmpty()) {
+                return summary
+                        ? okPage(propertyService.searchPropertySummaries(criteria, cursor, limit))
+                        : okPage(propertyService.searchProperties(criteria, cursor, limit));
+            }
+            
+            return summary
+                    ? okPage(propertyService.getAllPropertySummaries(cursor, limit))
+                    : okPage(propertyService.getAllProperties(cursor, limit));
+        });
+    }
+
+    // Counts per city, type, status, bedrooms and price bucket; repeat a parameter to select several values
+    @GetMapping("/facets")
+    public ResponseEntity<FacetCountsDto> getFacetCounts(
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) UUID cityId,
-            @RequestParam(required = false) UUID propertyTypeId,
+            @RequestParam(required = false) List<UUID> cityId,
+            @RequestParam(required = false) List<UUID> propertyTypeId,
+            @RequestParam(required = false) List<PropertyStatus> status,
+            @RequestParam(required = false) List<Integer> bedrooms,
+            @RequestParam(required = false) List<String> priceBucket,
             @RequestParam(required = false) Double maxPrice) {
-        
-        if (search != null || cityId != null || propertyTypeId != null || maxPrice != null) {
-            BigDecimal maxPriceDecimal = maxPrice != null ? BigDecimal.valueOf(maxPrice) : null;
-            return ok(propertyService.searchProperties(search, cityId, propertyTypeId, maxPriceDecimal));
-        }
-        
-        return ok(propertyService.getAllProperties());
+        return ok(propertyService.getFacetCounts(FacetQuery.builder()
+                .search(search)
+                .cityIds(cityId)
+                .propertyTypeIds(propertyTypeId)
+                .statuses(status)
+                .bedrooms(bedrooms)
+                .priceBuckets(priceBucket)
+                .maxPrice(maxPrice != null ? BigDecimal.valueOf(maxPrice) : null)
+                .build()));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProperties(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"properties." + exportFormat.getFileExtension() + "\"")
+                .body(outputStream -> propertyExportService.export(exportFormat, outputStream));
+    }
+
+    // Imports a CSV (export layout) or NDJSON file in the background, poll the returned job for progress
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PropertyImportJobDto> importProperties(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) {
+        return accepted(propertyImportService.startImport(file, format));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<PropertyImportJobDto> getImportJob(@PathVariable UUID jobId) {
+        return ok(propertyImportService.getJob(jobId));
+    }
+
+    // Continues a failed or interrupted import after its last committed chunk
+    @PostMapping("/import/{jobId}/resume")
+    public ResponseEntity<PropertyImportJobDto> resumeImport(@PathVariable UUID jobId) {
+        return accepted(propertyImportService.resume(jobId));
+    }
+
+    // Re-indexes every property in the background, search stays available meanwhile
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        propertySearchIndexRebuilder.rebuildAsync();
+        return accepted();
+    }
+
+    @PostMapping("/read-model/rebuild")
+    public ResponseEntity<Void> rebuildReadModel() {
+        propertyReadModelRebuilder.rebuildAsync();
+        return accepted();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PropertyDto> getPropertyById(@PathVariable UUID id) {
-        return ok(propertyService.getPropertyById(id));
+    public ResponseEntity<?> getPropertyById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest request) {
+        PropertyExpansions expansions = selectExpansions(expand, fields, null);
+        if (expansions != null) {
+            return ok(propertyExpander.expand(propertyService.getPropertyById(id), expansions));
+        }
+        PropertyFields selected = PropertyFields.parse(fields);
+        if (selected != null) {
+            return conditional(request, propertyService.getPropertyVersion(id),
+                    () -> ok(propertyService.getPropertyFields(id, selected)));
+        }
+        SerializedJson property = propertyJsonCache.getProperty(id, () -> propertyService.getPropertyById(id));
+        return conditionalJson(request, property);
+    }
+
+    // Many properties in one round trip, in request order; requested ids without a property come back in missingIds
+    @PostMapping("/batch-get")
+    public ResponseEntity<PropertyBatchDto> batchGetProperties(@Valid @RequestBody PropertyBatchGetRequest request) {
+        return ok(propertyBatchService.getProperties(request.getIds()));
     }
 
     @PostMapping
@@ -47,6 +199,19 @@ public class PropertyRestController {
         return created(propertyService.createProperty(dto));
     }
 
+    // Items are validated one by one (no @Valid), the result reports the id or the error of each
+    @PostMapping("/bulk")
+    public ResponseEntity<PropertyBulkResultDto> createProperties(@RequestBody List<PropertyCreateDto> dtos) {
+        return ok(propertyBulkService.createProperties(dtos));
+    }
+
+    // Sets status, price (or a percentage change) or agent on every property matching the filter, returns how many changed.
+    // Any number of properties may match, they are changed page by page (app.bulk-update.chunk-size) in one transaction
+    @PatchMapping("/bulk")
+    public ResponseEntity<PropertyBulkUpdateResultDto> updateProperties(@Valid @RequestBody PropertyBulkUpdateRequest request) {
+        return ok(propertyBulkUpdateService.updateProperties(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<PropertyDto> updateProperty(
             @PathVariable UUID id,
@@ -61,8 +226,21 @@ public class PropertyRestController {
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<PropertyDto>> getFeaturedProperties() {
-        return ok(propertyService.getFeaturedProperties());
+    public ResponseEntity<?> getFeaturedProperties(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest request) {
+        PropertyExpansions expansions = selectExpansions(expand, fields, view);
+        PropertyFields selected = selectFields(fields, view);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().isFeatured(true).build();
+        boolean summary = PropertyView.from(view) == PropertyView.SUMMARY;
+        if (expansions != null) {
+            return okPage(propertyExpander.expand(propertyService.getFeaturedProperties(cursor, limit), expansions));
+        }
+        return cachedPage(CacheConfig.FEATURED_PROPERTIES, PageCacheGenerations.ALL, criteria, selected, summary, cursor, limit, request);
     }
 
     @PutMapping("/{id}/feature")
@@ -73,12 +251,81 @@ public class PropertyRestController {
 
 
     @GetMapping("/agent/{agentId}")
-    public ResponseEntity<List<PropertyDto>> getPropertiesByAgent(@PathVariable UUID agentId) {
-        return ok(propertyService.getPropertiesByAgent(agentId));
+    public ResponseEntity<?> getPropertiesByAgent(
+            @PathVariable UUID agentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest request) {
+        PropertyExpansions expansions = selectExpansions(expand, fields, view);
+        PropertyFields selected = selectFields(fields, view);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().agentId(agentId).build();
+        boolean summary = PropertyView.from(view) == PropertyView.SUMMARY;
+        if (expansions != null) {
+            return okPage(propertyExpander.expand(propertyService.getPropertiesByAgent(agentId, cursor, limit), expansions));
+        }
+        return cachedPage(CacheConfig.PROPERTIES_BY_AGENT, agentId, criteria, selected, summary, cursor, limit, request);
     }
 
     @GetMapping("/city/{cityId}")
-    public ResponseEntity<List<PropertyDto>> getPropertiesByCity(@PathVariable UUID cityId) {
-        return ok(propertyService.getPropertiesByCity(cityId));
+    public ResponseEntity<?> getPropertiesByCity(
+            @PathVariable UUID cityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            WebRequest request) {
+        PropertyExpansions expansions = selectExpansions(expand, fields, view);
+        PropertyFields selected = selectFields(fields, view);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().cityId(cityId).build();
+        boolean summary = PropertyView.from(view) == PropertyView.SUMMARY;
+        if (expansions != null) {
+            return okPage(propertyExpander.expand(propertyService.getPropertiesByCity(cityId, cursor, limit), expansions));
+        }
+        return cachedPage(CacheConfig.PROPERTIES_BY_CITY, cityId, criteria, selected, summary, cursor, limit, request);
+    }
+
+    // Featured, agent and city lists. Full and summary pages come from PropertyJsonCache and carry the version
+    // stored with the entry; they are read with the uncached search, after that version, never from a page
+    // cache that may predate it. ?fields= reads are not cached and are versioned before they are read.
+    private ResponseEntity<?> cachedPage(String cacheName, Object scopeId, PropertySearchCriteria criteria,
+                                         PropertyFields selected, boolean summary, String cursor, Integer limit,
+                                         WebRequest request) {
+        if (selected != null) {
+            return conditional(request, propertyService.getListVersion(criteria),
+                    () -> okPage(propertyService.searchPropertyFields(criteria, selected, cursor, limit)));
+        }
+        SerializedJson page = propertyJsonCache.getPage(cacheName, scopeId,
+                (summary ? "summary:" : "full:") + cursor + ":" + limit,
+                () -> propertyService.getListVersion(criteria),
+                () -> summary
+                        ? propertyService.searchPropertySummaries(criteria, cursor, limit)
+                        : propertyService.searchProperties(criteria, cursor, limit));
+        return conditionalJson(request, page);
+    }
+
+    // ?fields= and ?view=summary are alternative ways of trimming the response, not combinable
+    private static PropertyFields selectFields(String fields, String view) {
+        PropertyFields selected = PropertyFields.parse(fields);
+        if (selected != null && PropertyView.from(view) != PropertyView.FULL) {
+            throw new InvalidRequestException("fields cannot be combined with view=" + view);
+        }
+        return selected;
+    }
+
+    // ?expand= adds to the full PropertyDto, so it cannot be combined with ?fields= or ?view=summary.
+    // The embedded references change without the properties changing, hence no ETag on expanded responses
+    private static PropertyExpansions selectExpansions(String expand, String fields, String view) {
+        PropertyExpansions expansions = PropertyExpansions.parse(expand);
+        if (expansions != null && PropertyFields.parse(fields) != null) {
+            throw new InvalidRequestException("expand cannot be combined with fields");
+        }
+        if (expansions != null && PropertyView.from(view) != PropertyView.FULL) {
+            throw new InvalidRequestException("expand cannot be combined with view=" + view);
+        }
+        return expansions;
     }
 }
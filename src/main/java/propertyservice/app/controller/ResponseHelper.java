@@ -1,11 +1,29 @@
 package propertyservice.app.controller;
 
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.service.SerializedJson;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
 
 
 public class ResponseHelper {
     
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    // Clients may keep responses but have to revalidate them with the ETag before each reuse
+    public static final CacheControl REVALIDATE = CacheControl.noCache();
+    
+    // Appended to the version in the ETag of a gzip-coded body
+    static final String GZIP_ETAG_SUFFIX = "-gzip";
+    
     
     // * Creates a ResponseEntity with HTTP 200 OK status
     
@@ -33,5 +51,85 @@ public class ResponseHelper {
     public static ResponseEntity<Void> ok() {
         return ResponseEntity.ok().build();
     }
+    
+    
+     // Creates a ResponseEntity with HTTP 202 ACCEPTED status and no body (Void)
+     
+    public static ResponseEntity<Void> accepted() {
+        return ResponseEntity.accepted().build();
+    }
+    
+    
+     // Creates a ResponseEntity with HTTP 202 ACCEPTED status and the state of the accepted work
+     
+    public static <T> ResponseEntity<T> accepted(T body) {
+        return ResponseEntity.accepted().body(body);
+    }
+    
+    
+     // Creates a ResponseEntity with HTTP 200 OK status for one page of a list,
+     // the cursor of the next page (if any) is sent in the X-Next-Cursor header
+     
+    public static <T> ResponseEntity<List<T>> okPage(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+    
+    
+     // Conditional GET: HTTP 304 NOT MODIFIED without building the body when If-None-Match
+     // already holds this version, otherwise the supplied response; both carry the ETag
+     
+    public static ResponseEntity<?> conditional(WebRequest request, String version,
+                                                Supplier<ResponseEntity<?>> response) {
+        // checkNotModified also sets the ETag header on the response
+        if (request.checkNotModified("\"" + version + "\"")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        ResponseEntity<?> full = response.get();
+        return ResponseEntity.status(full.getStatusCode())
+                .headers(full.getHeaders())
+                .cacheControl(REVALIDATE)
+                .body(full.getBody());
+    }
+    
+    
+     // Conditional GET of pre-serialized JSON, gzipped bytes when the client accepts them; a page cursor goes
+     // in the X-Next-Cursor header as with okPage. The gzipped and the plain body are different representations,
+     // so each has its own strong ETag (the gzipped one ends in -gzip); 200 and 304 both vary by Accept-Encoding
+     
+    public static ResponseEntity<?> conditionalJson(WebRequest request, SerializedJson body) {
+        boolean gzip = body.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String version = gzip ? body.version() + GZIP_ETAG_SUFFIX : body.version();
+        if (request.checkNotModified("\"" + version + "\"")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (body.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, body.nextCursor());
+        }
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return builder.body(body.json());
+    }
+    
+    // "gzip" listed in Accept-Encoding and not refused with q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.trim().split(";"))
+                .anyMatch(coding -> coding[0].trim().equalsIgnoreCase("gzip")
+                        && (coding.length == 1 || !coding[1].trim().matches("q=0(\\.0*)?")));
+    }
 }
-
@@ -0,0 +1,24 @@
+package propertyservice.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// PropertyDto with the ?expand= references embedded next to their ids; ones not requested or not available are left out
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExpandedPropertyDto {
+    @JsonUnwrapped
+    private PropertyDto property;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AgentDto agent;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CityDto city;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PropertyTypeDto propertyType;
+}
@@ -0,0 +1,17 @@
+package propertyservice.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetCountsDto {
+    private long total; // properties matching every filter
+    private Map<String, Map<String, Long>> facets; // facet -> value -> count
+}
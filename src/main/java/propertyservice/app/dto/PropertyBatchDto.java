@@ -0,0 +1,18 @@
+package propertyservice.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyBatchDto {
+    private List<PropertyDto> items; // in request order, each id once
+    private List<UUID> missingIds; // requested ids with no property, in request order
+}
@@ -0,0 +1,21 @@
+package propertyservice.app.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyBatchGetRequest {
+    
+    @NotEmpty(message = "At least one id is required")
+    private List<@NotNull(message = "Ids must not be null") UUID> ids;
+}
@@ -0,0 +1,36 @@
+package propertyservice.app.dto;
+
+import propertyservice.app.entity.PropertyStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.DecimalMin;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Values a bulk update sets, fields left null are not touched. price and priceChangePercent are exclusive
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyBulkChanges {
+
+    private PropertyStatus status;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private BigDecimal price;
+
+    // Relative change of the current price, e.g. -5 for a 5% reduction
+    @DecimalMin(value = "-100.0", inclusive = false, message = "Price change must be greater than -100%")
+    private BigDecimal priceChangePercent;
+
+    private UUID agentId;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return status == null && price == null && priceChangePercent == null && agentId == null;
+    }
+}
@@ -0,0 +1,30 @@
+package propertyservice.app.dto;
+
+import propertyservice.app.entity.PropertyStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+// Which properties a bulk update applies to; the given conditions are combined with AND
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyBulkFilter {
+
+    private List<@NotNull(message = "Ids must not be null") UUID> ids;
+    private UUID agentId;
+    private UUID cityId;
+    private PropertyStatus status;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty()) && agentId == null && cityId == null && status == null;
+    }
+}
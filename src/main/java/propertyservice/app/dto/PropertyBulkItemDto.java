@@ -0,0 +1,18 @@
+package propertyservice.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyBulkItemDto {
+    private int index; // position of the item in the request
+    private UUID id; // set when the property was created
+    private String error; // set when it was not
+}
@@ -0,0 +1,18 @@
+package propertyservice.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyBulkResultDto {
+    private int created;
+    private int failed;
+    private List<PropertyBulkItemDto> items; // one per request item, in request order
+}
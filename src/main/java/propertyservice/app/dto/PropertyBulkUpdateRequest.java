@@ -0,0 +1,23 @@
+package propertyservice.app.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyBulkUpdateRequest {
+
+    @Valid
+    @NotNull(message = "Filter is required")
+    private PropertyBulkFilter filter;
+
+    @Valid
+    @NotNull(message = "Changes are required")
+    private PropertyBulkChanges changes;
+}
@@ -0,0 +1,31 @@
+package propertyservice.app.dto;
+
+import propertyservice.app.entity.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyImportJobDto {
+    private UUID id;
+    private String fileName;
+    private String format;
+    private ImportStatus status;
+    private long rowsRead; // data rows processed so far, across all runs
+    private long created;
+    private long failed;
+    private List<String> errors;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private double rowsPerSecond; // of the current or last run
+}
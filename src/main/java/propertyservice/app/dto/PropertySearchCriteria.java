@@ -0,0 +1,46 @@
+package propertyservice.app.dto;
+
+import propertyservice.app.entity.PropertyStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Optional search filters bound from query parameters; null means "not filtered on"
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertySearchCriteria {
+    private String search;
+    private UUID agentId;
+    private UUID cityId;
+    private UUID propertyTypeId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minBedrooms;
+    private Integer maxBedrooms;
+    private Integer minBathrooms;
+    private Integer maxBathrooms;
+    private Integer minSquareFeet;
+    private Integer maxSquareFeet;
+    private PropertyStatus status;
+    private Boolean isFeatured;
+    private String sort; // newest (default), oldest, price_asc, price_desc
+
+    public boolean hasText() {
+        return search != null && !search.isBlank();
+    }
+
+    public boolean isEmpty() {
+        return search == null && agentId == null && cityId == null && propertyTypeId == null
+                && minPrice == null && maxPrice == null
+                && minBedrooms == null && maxBedrooms == null
+                && minBathrooms == null && maxBathrooms == null
+                && minSquareFeet == null && maxSquareFeet == null
+                && status == null && isFeatured == null && sort == null;
+    }
+}
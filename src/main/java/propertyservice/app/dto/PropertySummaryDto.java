@@ -0,0 +1,26 @@
+package propertyservice.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// List card view of a property; filled straight from a constructor projection, see PropertySummaryRepository
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertySummaryDto {
+    private UUID id;
+    private String title;
+    private BigDecimal price;
+    private UUID cityId;
+    private Integer bedrooms;
+    private Integer bathrooms;
+    private String primaryImageUrl;
+    private LocalDateTime createdAt;
+}
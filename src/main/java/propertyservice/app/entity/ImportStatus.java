@@ -0,0 +1,7 @@
+package propertyservice.app.entity;
+
+public enum ImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
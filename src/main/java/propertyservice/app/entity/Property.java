@@ -8,23 +8,49 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "properties")
+@Table(name = "properties", indexes = {
+        // Composite indexes backing the keyset pagination (createdAt DESC, id DESC)
+        @Index(name = "idx_properties_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_properties_agent_created_id", columnList = "agent_id, created_at, id"),
+        @Index(name = "idx_properties_city_created_id", columnList = "city_id, created_at, id"),
+        @Index(name = "idx_properties_featured_created_id", columnList = "is_featured, created_at, id"),
+        @Index(name = "idx_properties_type_created_id", columnList = "property_type_id, created_at, id"),
+        @Index(name = "idx_properties_status_created_id", columnList = "status, created_at, id"),
+        // Price sorts and price ranges, alone or narrowed by city and type first
+        @Index(name = "idx_properties_price_id", columnList = "price, id"),
+        @Index(name = "idx_properties_city_type_price", columnList = "city_id, property_type_id, price"),
+        @Index(name = "idx_properties_city_bedrooms_price", columnList = "city_id, bedrooms, price"),
+        // ETag versions (count + max updatedAt) of the unfiltered and per agent / city / featured lists
+        @Index(name = "idx_properties_updated", columnList = "updated_at"),
+        @Index(name = "idx_properties_agent_updated", columnList = "agent_id, updated_at"),
+        @Index(name = "idx_properties_city_updated", columnList = "city_id, updated_at"),
+        @Index(name = "idx_properties_featured_updated", columnList = "is_featured, updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @ToString(exclude = {"images", "features"})
 @EqualsAndHashCode(exclude = {"images", "features"})
+// Second-level cache regions are sized in hibernate-cache.conf
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Property.CACHE_REGION)
 public class Property {
     
+    public static final String CACHE_REGION = "property";
+    public static final String IMAGES_CACHE_REGION = "property-image-ids";
+    public static final String FEATURES_CACHE_REGION = "property-feature-ids";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -59,11 +85,15 @@ public class Property {
     @Builder.Default
     @OneToMany(mappedBy = "property", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @BatchSize(size = 20)
+    @OrderBy("displayOrder ASC, id ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = IMAGES_CACHE_REGION)
     private List<PropertyImage> images = new ArrayList<>();
     
     @Builder.Default
     @OneToMany(mappedBy = "property", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @BatchSize(size = 20)
+    @OrderBy("id ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = FEATURES_CACHE_REGION)
     private List<PropertyFeature> features = new ArrayList<>();
     
     @Builder.Default
@@ -75,14 +105,26 @@ public class Property {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Timestamps are truncated to the column precision (datetime(6)) so the in-memory value
+    // matches what is stored, otherwise keyset cursors taken from a managed entity would drift
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = now();
+        updatedAt = createdAt;
     }
     
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = now();
+    }
+    
+    // Replacing only images or features leaves the row itself clean, so @PreUpdate would not fire
+    // and updatedAt (the ETag version) would not move; callers bump it explicitly
+    public void markUpdated() {
+        updatedAt = now();
+    }
+    
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
@@ -18,8 +20,11 @@ import java.util.UUID;
 @Builder
 @ToString(exclude = {"property"})
 @EqualsAndHashCode(exclude = {"property"})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PropertyFeature.CACHE_REGION)
 public class PropertyFeature {
     
+    public static final String CACHE_REGION = "property-feature";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -0,0 +1,68 @@
+package propertyservice.app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One import of a listing file, see PropertyImportService. rowsRead is the checkpoint: it is written
+ * in the same transaction as the properties of each chunk, so a resumed run skips exactly the rows
+ * that were committed.
+ */
+@Entity
+@Table(name = "property_import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // File name as uploaded
+    private String fileName;
+
+    // csv or ndjson
+    @Column(nullable = false)
+    private String format;
+
+    // Stored copy of the upload, read again by a resumed run
+    @Column(nullable = false)
+    private String path;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportStatus status;
+
+    private long rowsRead;
+    private long created;
+    private long failed;
+
+    // Per-row errors ("Row <n>: <reason>"), the first app.import.max-errors of them
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<String> errors = new ArrayList<>();
+
+    // Why the last run stopped, null unless FAILED
+    @Column(length = 2000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    // Start of the current (or last) run and rowsRead at that moment, for its throughput
+    private LocalDateTime startedAt;
+    private long rowsReadAtStart;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,116 @@
+package propertyservice.app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Denormalized read side of Property: one row per property with its image URLs and feature
+ * names embedded as JSON and the primary image URL precomputed, so every read is a single
+ * indexed row lookup without joins. Written by PropertyReadModelProjector in the same
+ * transaction as the Property change, backfilled by PropertyReadModelRebuilder.
+ */
+@Entity
+@Table(name = "property_read_model", indexes = {
+        // Same access paths as the properties table: keyset lists, filtered search and ETag versions
+        @Index(name = "idx_read_model_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_read_model_agent_created_id", columnList = "agent_id, created_at, id"),
+        @Index(name = "idx_read_model_city_created_id", columnList = "city_id, created_at, id"),
+        @Index(name = "idx_read_model_featured_created_id", columnList = "is_featured, created_at, id"),
+        @Index(name = "idx_read_model_type_created_id", columnList = "property_type_id, created_at, id"),
+        @Index(name = "idx_read_model_status_created_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_read_model_price_id", columnList = "price, id"),
+        @Index(name = "idx_read_model_city_type_price", columnList = "city_id, property_type_id, price"),
+        @Index(name = "idx_read_model_city_bedrooms_price", columnList = "city_id, bedrooms, price"),
+        @Index(name = "idx_read_model_updated", columnList = "updated_at"),
+        @Index(name = "idx_read_model_agent_updated", columnList = "agent_id, updated_at"),
+        @Index(name = "idx_read_model_city_updated", columnList = "city_id, updated_at"),
+        @Index(name = "idx_read_model_featured_updated", columnList = "is_featured, updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyReadModel implements Persistable<UUID> {
+
+    // Same id as the Property row, assigned by the write side
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(name = "agent_id", nullable = false)
+    private UUID agentId;
+
+    @Column(name = "city_id", nullable = false)
+    private UUID cityId;
+
+    @Column(name = "property_type_id", nullable = false)
+    private UUID propertyTypeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PropertyStatus status;
+
+    private Integer bedrooms;
+    private Integer bathrooms;
+    private Integer squareFeet;
+    private String address;
+
+    @Column(name = "is_featured")
+    private Boolean isFeatured;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "primary_image_url")
+    private String primaryImageUrl;
+
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "image_urls")
+    private List<String> imageUrls = new ArrayList<>();
+
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<String> features = new ArrayList<>();
+
+    // The id is always assigned, so save() is told whether to INSERT instead of probing with a SELECT
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    private boolean newRow = true;
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newRow = false;
+    }
+}
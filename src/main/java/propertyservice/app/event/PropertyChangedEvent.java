@@ -0,0 +1,18 @@
+package propertyservice.app.event;
+
+import propertyservice.app.dto.PropertyDto;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Published by PropertyService on every write. Listeners that maintain derived state
+ * (caches, search index) react after commit via @TransactionalEventListener.
+ * previous is null for a create, current is null for a delete.
+ */
+@Value
+public class PropertyChangedEvent {
+    UUID propertyId;
+    PropertyDto previous;
+    PropertyDto current;
+}
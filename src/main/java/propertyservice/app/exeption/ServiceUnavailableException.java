@@ -0,0 +1,12 @@
+package propertyservice.app.exeption;
+
+// A service this one depends on failed or did not answer in time
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+    
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,52 @@
+package propertyservice.app.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Keyset paging for the hand-built projection queries, which cannot go through Spring Data's scroll()
+final class KeysetCriteria {
+
+    private KeysetCriteria() {
+    }
+
+    // Specification filter plus the seek past the position, if any
+    static <T> Predicate[] where(CriteriaBuilder cb, CriteriaQuery<?> query, Root<T> root,
+                                 Specification<T> spec, Sort sort, ScrollPosition position) {
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            predicates.add(seek(cb, root, sort, keyset.getKeys()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    // Rows strictly after the keys in sort order: (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate seek(CriteriaBuilder cb, Root<?> root, Sort sort, Map<String, Object> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalSoFar = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable> path = root.get(order.getProperty());
+            Comparable value = (Comparable) keys.get(order.getProperty());
+            List<Predicate> alternative = new ArrayList<>(equalSoFar);
+            alternative.add(order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+            alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            equalSoFar.add(cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+}
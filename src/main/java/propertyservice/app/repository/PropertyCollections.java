@@ -0,0 +1,20 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.entity.PropertyFeature;
+import propertyservice.app.entity.PropertyImage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Images and features of a batch of properties, grouped by property id; properties without any map to an empty list
+public record PropertyCollections(Map<UUID, List<PropertyImage>> images, Map<UUID, List<PropertyFeature>> features) {
+
+    public List<PropertyImage> imagesOf(UUID propertyId) {
+        return images.getOrDefault(propertyId, List.of());
+    }
+
+    public List<PropertyFeature> featuresOf(UUID propertyId) {
+        return features.getOrDefault(propertyId, List.of());
+    }
+}
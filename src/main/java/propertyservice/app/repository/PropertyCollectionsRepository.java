@@ -0,0 +1,14 @@
+package propertyservice.app.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Bulk loader for the collections of a page of properties: every image in one query and
+ * every feature in another, whatever the page size, instead of lazy loads in batches of 20
+ * per collection. The Property collections themselves stay uninitialized.
+ */
+public interface PropertyCollectionsRepository {
+
+    PropertyCollections findCollectionsByPropertyIdIn(Collection<UUID> propertyIds);
+}
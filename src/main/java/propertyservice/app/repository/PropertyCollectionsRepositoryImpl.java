@@ -0,0 +1,44 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.entity.PropertyFeature;
+import propertyservice.app.entity.PropertyImage;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+class PropertyCollectionsRepositoryImpl implements PropertyCollectionsRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public PropertyCollections findCollectionsByPropertyIdIn(Collection<UUID> propertyIds) {
+        if (propertyIds.isEmpty()) {
+            return new PropertyCollections(Map.of(), Map.of());
+        }
+        // Same order as the Property.images and Property.features mappings
+        List<PropertyImage> images = entityManager.createQuery(
+                        "SELECT i FROM PropertyImage i WHERE i.property.id IN :ids ORDER BY i.displayOrder, i.id",
+                        PropertyImage.class)
+                .setParameter("ids", propertyIds)
+                .getResultList();
+        List<PropertyFeature> features = entityManager.createQuery(
+                        "SELECT f FROM PropertyFeature f WHERE f.property.id IN :ids ORDER BY f.id",
+                        PropertyFeature.class)
+                .setParameter("ids", propertyIds)
+                .getResultList();
+        return new PropertyCollections(
+                groupByProperty(images, image -> image.getProperty().getId()),
+                groupByProperty(features, feature -> feature.getProperty().getId()));
+    }
+
+    private static <T> Map<UUID, List<T>> groupByProperty(List<T> rows, Function<T, UUID> propertyId) {
+        return rows.stream().collect(Collectors.groupingBy(propertyId));
+    }
+}
@@ -0,0 +1,26 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.entity.PropertyReadModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sparse reads for ?fields=: only the named PropertyReadModel columns are selected, as one
+ * attribute -> value map per row. Image URLs and features are plain JSON columns there,
+ * so they are only read when they were asked for.
+ */
+public interface PropertyFieldsRepository {
+
+    // Keyset page over the given ordering, which must end with id as tiebreaker
+    List<Map<String, Object>> findAttributes(Specification<PropertyReadModel> spec, Sort sort,
+                                             ScrollPosition position, Limit limit, Collection<String> attributes);
+
+    List<Map<String, Object>> findAttributesByIdIn(Collection<UUID> ids, Collection<String> attributes);
+}
@@ -0,0 +1,71 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.entity.PropertyReadModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class PropertyFieldsRepositoryImpl implements PropertyFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAttributes(Specification<PropertyReadModel> spec, Sort sort,
+                                                    ScrollPosition position, Limit limit,
+                                                    Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<PropertyReadModel> root = query.from(PropertyReadModel.class);
+        query.multiselect(selections(root, attributes))
+                .where(KeysetCriteria.where(cb, query, root, spec, sort, position))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+        return toRows(entityManager.createQuery(query).setMaxResults(limit.max()).getResultList());
+    }
+
+    @Override
+    public List<Map<String, Object>> findAttributesByIdIn(Collection<UUID> ids, Collection<String> attributes) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<PropertyReadModel> root = query.from(PropertyReadModel.class);
+        query.multiselect(selections(root, attributes)).where(root.get("id").in(ids));
+        return toRows(entityManager.createQuery(query).getResultList());
+    }
+
+    private static List<Selection<?>> selections(Root<PropertyReadModel> root, Collection<String> attributes) {
+        return attributes.stream()
+                .<Selection<?>>map(attribute -> root.get(attribute).alias(attribute))
+                .toList();
+    }
+
+    private static List<Map<String, Object>> toRows(List<Tuple> tuples) {
+        return tuples.stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (TupleElement<?> element : tuple.getElements()) {
+                        row.put(element.getAlias(), tuple.get(element));
+                    }
+                    return row;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,11 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.entity.PropertyImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface PropertyImportJobRepository extends JpaRepository<PropertyImportJob, UUID> {
+}
@@ -0,0 +1,46 @@
+package propertyservice.app.repository;
+
+import jakarta.persistence.LockModeType;
+import propertyservice.app.entity.PropertyReadModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Every GET is served from here. Filtered search goes through JpaSpecificationExecutor with PropertySpecifications,
+// list summaries, ?fields= reads and ETag versions through the PropertySummaryRepository,
+// PropertyFieldsRepository and PropertyVersionRepository fragments
+@Repository
+public interface PropertyReadModelRepository extends JpaRepository<PropertyReadModel, UUID>,
+        JpaSpecificationExecutor<PropertyReadModel>, PropertySummaryRepository, PropertyFieldsRepository,
+        PropertyVersionRepository {
+
+    // Keyset (seek) pages ordered by createdAt + id, see PageCursor
+    Window<PropertyReadModel> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<PropertyReadModel> findByAgentId(UUID agentId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<PropertyReadModel> findByCityId(UUID cityId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<PropertyReadModel> findByIsFeaturedTrue(ScrollPosition position, Sort sort, Limit limit);
+
+    // Locking read (SELECT ... FOR UPDATE) for the rebuild: returns the latest committed rows even when the
+    // chunk's snapshot is older, and holds off a live projection of them until the chunk commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PropertyReadModel> findAllByIdIn(Collection<UUID> ids);
+
+    // Rows whose property no longer exists, left behind only if the read model was written outside the projector
+    @Modifying
+    @Query("DELETE FROM PropertyReadModel r WHERE NOT EXISTS (SELECT p.id FROM Property p WHERE p.id = r.id)")
+    int deleteOrphans();
+}
@@ -1,19 +1,24 @@
 package propertyservice.app.repository;
 
 import propertyservice.app.entity.Property;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+// Write side. Reads are served from PropertyReadModelRepository, this one is only read
+// to load a property for a write and to rebuild the read model from
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, UUID> {
+public interface PropertyRepository extends JpaRepository<Property, UUID>, JpaSpecificationExecutor<Property>,
+        PropertyCollectionsRepository {
     
     // Use batch fetching instead of EntityGraph to avoid MultipleBagFetchException
     // BatchSize on entity will handle fetching collections efficiently
@@ -25,25 +30,8 @@ public interface PropertyRepository extends JpaRepository<Property, UUID> {
     @Override
     Optional<Property> findById(UUID id);
     
-    @EntityGraph(attributePaths = {"images"})
-    List<Property> findByAgentId(UUID agentId);
-    
-    @EntityGraph(attributePaths = {"images"})
-    List<Property> findByCityId(UUID cityId);
-    
-    @EntityGraph(attributePaths = {"images"})
-    List<Property> findByIsFeaturedTrue();
-    
-    @EntityGraph(attributePaths = {"images"})
-    @Query("SELECT p FROM Property p WHERE " +
-           "(:search IS NULL OR p.title LIKE CONCAT('%', :search, '%') OR p.description LIKE CONCAT('%', :search, '%')) AND " +
-           "(:cityId IS NULL OR p.cityId = :cityId) AND " +
-           "(:propertyTypeId IS NULL OR p.propertyTypeId = :propertyTypeId) AND " +
-           "(:maxPrice IS NULL OR p.price <= :maxPrice)")
-    List<Property> searchProperties(
-            @Param("search") String search,
-            @Param("cityId") UUID cityId,
-            @Param("propertyTypeId") UUID propertyTypeId,
-            @Param("maxPrice") BigDecimal maxPrice
-    );
+    // Keyset (seek) pages ordered by createdAt + id, see PageCursor.
+    // No EntityGraph here: fetch-joining a collection together with a row limit makes
+    // Hibernate paginate in memory, load the page's collections with findCollectionsByPropertyIdIn instead.
+    Window<Property> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
@@ -0,0 +1,65 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.dto.PropertySearchCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the filtered search from whichever criteria were supplied. Only those predicates
+ * end up in the SQL, so every filter combination is planned on its own against the
+ * composite indexes on Property instead of sharing one catch-all plan.
+ * Free text is not handled here, it goes through PropertySearchIndex.
+ * Attribute names are shared by Property and PropertyReadModel, so the same filter applies to either.
+ */
+public final class PropertySpecifications {
+
+    private PropertySpecifications() {
+    }
+
+    public static <T> Specification<T> hasId(UUID id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static <T> Specification<T> matching(PropertySearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getAgentId() != null) {
+                predicates.add(cb.equal(root.get("agentId"), criteria.getAgentId()));
+            }
+            if (criteria.getCityId() != null) {
+                predicates.add(cb.equal(root.get("cityId"), criteria.getCityId()));
+            }
+            if (criteria.getPropertyTypeId() != null) {
+                predicates.add(cb.equal(root.get("propertyTypeId"), criteria.getPropertyTypeId()));
+            }
+            if (criteria.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+            }
+            if (criteria.getIsFeatured() != null) {
+                predicates.add(cb.equal(root.get("isFeatured"), criteria.getIsFeatured()));
+            }
+            between(predicates, cb, root, "price", criteria.getMinPrice(), criteria.getMaxPrice());
+            between(predicates, cb, root, "bedrooms", criteria.getMinBedrooms(), criteria.getMaxBedrooms());
+            between(predicates, cb, root, "bathrooms", criteria.getMinBathrooms(), criteria.getMaxBathrooms());
+            between(predicates, cb, root, "squareFeet", criteria.getMinSquareFeet(), criteria.getMaxSquareFeet());
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static <V extends Comparable<? super V>> void between(List<Predicate> predicates, CriteriaBuilder cb,
+                                                                  Root<?> root, String attribute,
+                                                                  V min, V max) {
+        if (min != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get(attribute), min));
+        }
+        if (max != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get(attribute), max));
+        }
+    }
+}
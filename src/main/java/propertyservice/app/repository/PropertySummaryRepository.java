@@ -0,0 +1,26 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.dto.PropertySummaryDto;
+import propertyservice.app.entity.PropertyReadModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Summary rows for list views, selected column by column into PropertySummaryDto:
+ * no entities are hydrated or snapshotted, and the image and feature JSON columns are
+ * never read, only the precomputed primary image URL.
+ */
+public interface PropertySummaryRepository {
+
+    // Keyset page over the given ordering, which must end with id as tiebreaker
+    List<PropertySummaryDto> findSummaries(Specification<PropertyReadModel> spec, Sort sort, ScrollPosition position,
+                                           Limit limit);
+
+    List<PropertySummaryDto> findSummariesByIdIn(Collection<UUID> ids);
+}
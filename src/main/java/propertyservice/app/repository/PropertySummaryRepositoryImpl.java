@@ -0,0 +1,64 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.dto.PropertySummaryDto;
+import propertyservice.app.entity.PropertyReadModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class PropertySummaryRepositoryImpl implements PropertySummaryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<PropertySummaryDto> findSummaries(Specification<PropertyReadModel> spec, Sort sort,
+                                                  ScrollPosition position, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PropertySummaryDto> query = cb.createQuery(PropertySummaryDto.class);
+        Root<PropertyReadModel> root = query.from(PropertyReadModel.class);
+
+        query.select(summary(cb, root))
+                .where(KeysetCriteria.where(cb, query, root, spec, sort, position))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+
+    @Override
+    public List<PropertySummaryDto> findSummariesByIdIn(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PropertySummaryDto> query = cb.createQuery(PropertySummaryDto.class);
+        Root<PropertyReadModel> root = query.from(PropertyReadModel.class);
+        query.select(summary(cb, root)).where(root.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Selection<PropertySummaryDto> summary(CriteriaBuilder cb, Root<PropertyReadModel> root) {
+        return cb.construct(PropertySummaryDto.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("price"),
+                root.get("cityId"),
+                root.get("bedrooms"),
+                root.get("bathrooms"),
+                root.get("primaryImageUrl"),
+                root.get("createdAt"));
+    }
+}
@@ -0,0 +1,7 @@
+package propertyservice.app.repository;
+
+import java.time.LocalDateTime;
+
+// How many properties match and when the latest of them changed; enough to tell whether a response is still current
+public record PropertyVersion(Long count, LocalDateTime lastUpdatedAt) {
+}
@@ -0,0 +1,14 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.entity.PropertyReadModel;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Cheap version lookups behind conditional GETs: a single count and max(updatedAt)
+ * over the same filter as the response, no entities or collections are loaded.
+ * A changed, added or removed property moves one of the two values.
+ */
+public interface PropertyVersionRepository {
+
+    PropertyVersion findVersion(Specification<PropertyReadModel> spec);
+}
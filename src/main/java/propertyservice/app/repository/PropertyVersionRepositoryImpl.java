@@ -0,0 +1,32 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.entity.PropertyReadModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+class PropertyVersionRepositoryImpl implements PropertyVersionRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public PropertyVersion findVersion(Specification<PropertyReadModel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PropertyVersion> query = cb.createQuery(PropertyVersion.class);
+        Root<PropertyReadModel> root = query.from(PropertyReadModel.class);
+
+        query.select(cb.construct(PropertyVersion.class,
+                cb.count(root),
+                cb.<LocalDateTime>greatest(root.get("updatedAt"))));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,19 @@
+package propertyservice.app.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Dimensions the facet index keeps counts for, named after their request parameters.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Facet {
+    CITY("cityId"),
+    PROPERTY_TYPE("propertyTypeId"),
+    STATUS("status"),
+    BEDROOMS("bedrooms"),
+    PRICE_BUCKET("priceBucket");
+
+    private final String parameterName;
+}
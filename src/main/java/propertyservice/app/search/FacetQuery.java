@@ -0,0 +1,45 @@
+package propertyservice.app.search;
+
+import propertyservice.app.entity.PropertyStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Filters for a facet count: values selected within one facet are OR-ed, facets are AND-ed.
+ */
+@Value
+@Builder
+public class FacetQuery {
+    String search;
+    BigDecimal maxPrice;
+    List<UUID> cityIds;
+    List<UUID> propertyTypeIds;
+    List<PropertyStatus> statuses;
+    List<Integer> bedrooms;
+    List<String> priceBuckets;
+
+    public boolean hasSearch() {
+        return search != null && !search.isBlank();
+    }
+
+    // Selected values in the form the index keys them by
+    Set<String> selected(Facet facet) {
+        List<?> values = switch (facet) {
+            case CITY -> cityIds;
+            case PROPERTY_TYPE -> propertyTypeIds;
+            case STATUS -> statuses;
+            case BEDROOMS -> bedrooms;
+            case PRICE_BUCKET -> priceBuckets;
+        };
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        return values.stream().map(String::valueOf).collect(Collectors.toSet());
+    }
+}
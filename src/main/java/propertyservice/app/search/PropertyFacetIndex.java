@@ -0,0 +1,342 @@
+package propertyservice.app.search;
+
+import propertyservice.app.dto.FacetCountsDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.event.PropertyChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet counts over city, property type, status, bedrooms and price bucket.
+ * Every property gets a dense ordinal and each facet value a roaring bitmap of ordinals,
+ * so a count is a handful of bitmap intersections instead of a GROUP BY per facet.
+ * Kept current after commit through PropertyChangedEvent; seeded by PropertySearchIndexRebuilder.
+ */
+@Component
+public class PropertyFacetIndex {
+
+    @Value("${app.facets.price-buckets:100000,250000,500000,1000000}")
+    private List<BigDecimal> priceBucketBounds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<PriceBucket> priceBuckets;
+    private FacetState state;
+
+    // While a rebuild runs, live changes are also queued and replayed onto the rebuilt state before the swap
+    private FacetState rebuilding;
+    private List<PropertyChangedEvent> changedDuringRebuild;
+
+    @PostConstruct
+    void init() {
+        priceBuckets = PriceBucket.from(priceBucketBounds);
+        state = new FacetState(priceBuckets);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            state.apply(event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts every facet in one pass. Each facet is counted under all filters except its own
+     * selection, so the other values of a multi-select facet keep showing what they would add.
+     *
+     * @param matchingIds ids matching the text search, or null when there is none
+     */
+    public FacetCountsDto count(FacetQuery query, Collection<UUID> matchingIds) {
+        lock.readLock().lock();
+        try {
+            return state.count(query, matchingIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rebuild protocol used by PropertySearchIndexRebuilder: begin, upsert every row, finish (or abort).
+    // Counts keep being served from the current state the whole time.
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = new FacetState(priceBuckets);
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Only the rebuilding thread touches the state being rebuilt until finishRebuild
+    public void upsert(PropertyDto property) {
+        rebuilding.upsert(property);
+    }
+
+    public void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach(rebuilding::apply);
+            rebuilding.live.runOptimize();
+            state = rebuilding;
+        } finally {
+            rebuilding = null;
+            changedDuringRebuild = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = null;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class FacetState {
+
+        private final List<PriceBucket> priceBuckets;
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final List<Row> rows = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+        private final Map<Facet, Map<String, RoaringBitmap>> postings = new EnumMap<>(Facet.class);
+
+        private FacetState(List<PriceBucket> priceBuckets) {
+            this.priceBuckets = priceBuckets;
+            for (Facet facet : Facet.values()) {
+                postings.put(facet, new HashMap<>());
+            }
+        }
+
+        void apply(PropertyChangedEvent event) {
+            if (event.getCurrent() == null) {
+                remove(event.getPropertyId());
+            } else {
+                upsert(event.getCurrent());
+            }
+        }
+
+        void upsert(PropertyDto property) {
+            Integer ordinal = ordinals.get(property.getId());
+            if (ordinal != null) {
+                unindex(ordinal);
+            } else {
+                // Reuse freed ordinals so the bitmaps stay dense under churn
+                ordinal = freeOrdinals.isEmpty() ? rows.size() : freeOrdinals.pop();
+                ordinals.put(property.getId(), ordinal);
+                if (ordinal == rows.size()) {
+                    rows.add(null);
+                }
+            }
+
+            EnumMap<Facet, String> values = new EnumMap<>(Facet.class);
+            putIfPresent(values, Facet.CITY, property.getCityId());
+            putIfPresent(values, Facet.PROPERTY_TYPE, property.getPropertyTypeId());
+            putIfPresent(values, Facet.STATUS, property.getStatus());
+            putIfPresent(values, Facet.BEDROOMS, property.getBedrooms());
+            putIfPresent(values, Facet.PRICE_BUCKET, PriceBucket.labelOf(priceBuckets, property.getPrice()));
+
+            int ord = ordinal;
+            values.forEach((facet, value) ->
+                    postings.get(facet).computeIfAbsent(value, key -> new RoaringBitmap()).add(ord));
+            rows.set(ord, new Row(values, property.getPrice()));
+            live.add(ord);
+        }
+
+        void remove(UUID id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                unindex(ordinal);
+                rows.set(ordinal, null);
+                freeOrdinals.push(ordinal);
+            }
+        }
+
+        private void unindex(int ordinal) {
+            live.remove(ordinal);
+            rows.get(ordinal).values().forEach((facet, value) -> {
+                Map<String, RoaringBitmap> byValue = postings.get(facet);
+                RoaringBitmap bitmap = byValue.get(value);
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    byValue.remove(value);
+                }
+            });
+        }
+
+        FacetCountsDto count(FacetQuery query, Collection<UUID> matchingIds) {
+            RoaringBitmap base = live.clone();
+            if (matchingIds != null) {
+                base.and(toOrdinals(matchingIds));
+            }
+            if (query.getMaxPrice() != null) {
+                base.and(priceAtMost(query.getMaxPrice()));
+            }
+
+            Map<Facet, RoaringBitmap> selections = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                Set<String> selected = query.selected(facet);
+                if (!selected.isEmpty()) {
+                    Map<String, RoaringBitmap> byValue = postings.get(facet);
+                    selections.put(facet, FastAggregation.or(selected.stream()
+                            .map(byValue::get)
+                            .filter(Objects::nonNull)
+                            .iterator()));
+                }
+            }
+
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            for (Facet facet : Facet.values()) {
+                RoaringBitmap scope = filter(base, selections, facet);
+                Map<String, Long> counts = new LinkedHashMap<>();
+                postings.get(facet).entrySet().stream()
+                        .map(entry -> Map.entry(entry.getKey(), (long) RoaringBitmap.andCardinality(scope, entry.getValue())))
+                        .sorted(order(facet))
+                        .forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+                facets.put(facet.getParameterName(), counts);
+            }
+
+            return FacetCountsDto.builder()
+                    .total(filter(base, selections, null).getCardinality())
+                    .facets(facets)
+                    .build();
+        }
+
+        // base AND every selection except the one of the facet being counted
+        private RoaringBitmap filter(RoaringBitmap base, Map<Facet, RoaringBitmap> selections, Facet excluded) {
+            RoaringBitmap result = base.clone();
+            selections.forEach((facet, selection) -> {
+                if (facet != excluded) {
+                    result.and(selection);
+                }
+            });
+            return result;
+        }
+
+        // Buckets entirely under the limit are taken whole; only the bucket the limit falls in is scanned
+        private RoaringBitmap priceAtMost(BigDecimal maxPrice) {
+            RoaringBitmap result = new RoaringBitmap();
+            Map<String, RoaringBitmap> byBucket = postings.get(Facet.PRICE_BUCKET);
+            for (PriceBucket bucket : priceBuckets) {
+                RoaringBitmap bitmap = byBucket.get(bucket.label());
+                if (bitmap == null || bucket.isAbove(maxPrice)) {
+                    continue;
+                }
+                if (bucket.isBelow(maxPrice)) {
+                    result.or(bitmap);
+                } else {
+                    bitmap.forEach((int ordinal) -> {
+                        if (rows.get(ordinal).price().compareTo(maxPrice) <= 0) {
+                            result.add(ordinal);
+                        }
+                    });
+                }
+            }
+            return result;
+        }
+
+        private RoaringBitmap toOrdinals(Collection<UUID> ids) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (UUID id : ids) {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal != null) {
+                    result.add(ordinal);
+                }
+            }
+            return result;
+        }
+
+        // Price buckets keep their natural order, other facets list the most frequent values first
+        private Comparator<Map.Entry<String, Long>> order(Facet facet) {
+            if (facet == Facet.PRICE_BUCKET) {
+                List<String> labels = priceBuckets.stream().map(PriceBucket::label).toList();
+                return Comparator.comparingInt(entry -> labels.indexOf(entry.getKey()));
+            }
+            return Map.Entry.<String, Long>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey());
+        }
+
+        private static void putIfPresent(Map<Facet, String> values, Facet facet, Object value) {
+            if (value != null) {
+                values.put(facet, value.toString());
+            }
+        }
+    }
+
+    private record Row(Map<Facet, String> values, BigDecimal price) {
+    }
+
+    // [lower, upper) price range; the first bucket has no lower bound, the last no upper bound
+    private record PriceBucket(BigDecimal lower, BigDecimal upper, String label) {
+
+        static List<PriceBucket> from(List<BigDecimal> bounds) {
+            List<BigDecimal> sorted = bounds.stream().sorted().distinct().toList();
+            List<PriceBucket> buckets = new ArrayList<>();
+            BigDecimal lower = null;
+            for (BigDecimal upper : sorted) {
+                buckets.add(new PriceBucket(lower, upper,
+                        (lower == null ? "0" : lower.toPlainString()) + "-" + upper.toPlainString()));
+                lower = upper;
+            }
+            buckets.add(new PriceBucket(lower, null, lower == null ? "0+" : lower.toPlainString() + "+"));
+            return buckets;
+        }
+
+        static String labelOf(List<PriceBucket> buckets, BigDecimal price) {
+            if (price == null) {
+                return null;
+            }
+            for (PriceBucket bucket : buckets) {
+                if (bucket.upper == null || price.compareTo(bucket.upper) < 0) {
+                    return bucket.label;
+                }
+            }
+            return null;
+        }
+
+        boolean isBelow(BigDecimal maxPrice) {
+            return upper != null && upper.compareTo(maxPrice) <= 0;
+        }
+
+        boolean isAbove(BigDecimal maxPrice) {
+            return lower != null && lower.compareTo(maxPrice) > 0;
+        }
+    }
+}
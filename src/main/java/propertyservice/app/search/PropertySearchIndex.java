@@ -0,0 +1,472 @@
+package propertyservice.app.search;
+
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.dto.PropertySearchCriteria;
+import propertyservice.app.event.PropertyChangedEvent;
+import propertyservice.app.exeption.InvalidRequestException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded Lucene index over title, description, address and feature names.
+ * Writes arrive after commit through PropertyChangedEvent and become searchable
+ * within app.search.max-stale (near-real-time reopen); structured filters are applied
+ * as non-scoring FILTER clauses. Results are ranked by relevance, then newest first.
+ */
+@Slf4j
+@Component
+public class PropertySearchIndex {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String ADDRESS = "address";
+    static final String FEATURES = "features";
+    static final String AGENT_ID = "agentId";
+    static final String CITY_ID = "cityId";
+    static final String PROPERTY_TYPE_ID = "propertyTypeId";
+    static final String PRICE = "price";
+    static final String BEDROOMS = "bedrooms";
+    static final String BATHROOMS = "bathrooms";
+    static final String SQUARE_FEET = "squareFeet";
+    static final String STATUS = "status";
+    static final String FEATURED = "featured";
+    static final String CREATED_AT = "createdAt";
+    static final String GENERATION = "generation";
+
+    private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+
+    static {
+        FIELD_BOOSTS.put(TITLE, 3.0f);
+        FIELD_BOOSTS.put(FEATURES, 2.0f);
+        FIELD_BOOSTS.put(ADDRESS, 1.5f);
+        FIELD_BOOSTS.put(DESCRIPTION, 1.0f);
+    }
+
+    private static final Sort RELEVANCE = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(CREATED_AT, SortField.Type.LONG, true),
+            new SortField(ID, SortField.Type.STRING, true));
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    @Value("${app.search.index-dir:}")
+    private String indexDir;
+
+    @Value("${app.search.max-stale-seconds:1.0}")
+    private double maxStaleSeconds;
+
+    private final Analyzer analyzer = new PropertyAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    // Documents carry the generation that wrote them, so a rebuild can drop whatever it did not see
+    private volatile long generation = System.currentTimeMillis();
+
+    // Ids written live while a rebuild runs; the rows the rebuild read for them may predate those writes.
+    // Live writes and rebuild writes take the lock, so checking the set and writing are one step.
+    private final ReentrantLock lock = new ReentrantLock();
+    private Set<UUID> changedDuringRebuild;
+
+    @PostConstruct
+    void open() throws IOException {
+        // An empty index-dir keeps the index in memory (tests); it is rebuilt from the database on startup anyway
+        directory = indexDir == null || indexDir.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStaleSeconds, 0.025);
+        reopenThread.setName("search-index-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+        log.info("Opened search index at {}", directory);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.commit();
+        writer.close();
+        directory.close();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        lock.lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.getPropertyId());
+            }
+            if (event.getCurrent() == null) {
+                writer.deleteDocuments(new Term(ID, event.getPropertyId().toString()));
+            } else {
+                write(event.getCurrent(), generation);
+            }
+        } catch (IOException ex) {
+            // The index is derived state; a rebuild repairs it, the write itself already committed
+            log.error("Failed to update search index for property {}", event.getPropertyId(), ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public SearchHits search(PropertySearchCriteria criteria, String cursor, int limit) {
+        List<String> terms = analyze(criteria.getSearch());
+        if (terms.isEmpty()) {
+            return SearchHits.builder().ids(List.of()).build();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(textQuery(terms), BooleanClause.Occur.MUST);
+        filterOn(query, AGENT_ID, criteria.getAgentId());
+        filterOn(query, CITY_ID, criteria.getCityId());
+        filterOn(query, PROPERTY_TYPE_ID, criteria.getPropertyTypeId());
+        filterOn(query, STATUS, criteria.getStatus());
+        filterOn(query, FEATURED, criteria.getIsFeatured());
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+            query.add(DoublePoint.newRangeQuery(PRICE,
+                    criteria.getMinPrice() != null ? criteria.getMinPrice().doubleValue() : Double.NEGATIVE_INFINITY,
+                    criteria.getMaxPrice() != null ? criteria.getMaxPrice().doubleValue() : Double.POSITIVE_INFINITY),
+                    BooleanClause.Occur.FILTER);
+        }
+        filterOnRange(query, BEDROOMS, criteria.getMinBedrooms(), criteria.getMaxBedrooms());
+        filterOnRange(query, BATHROOMS, criteria.getMinBathrooms(), criteria.getMaxBathrooms());
+        filterOnRange(query, SQUARE_FEET, criteria.getMinSquareFeet(), criteria.getMaxSquareFeet());
+
+        Object[] after = decodeCursor(cursor);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int maxDoc = searcher.getIndexReader().maxDoc();
+                if (maxDoc == 0) {
+                    return SearchHits.builder().ids(List.of()).build();
+                }
+                // Ties on every sort field fall back to doc id; the highest doc id makes the
+                // cursor's own hit (identical sort values) sort before the page, never on it
+                FieldDoc afterDoc = after != null ? new FieldDoc(maxDoc - 1, Float.NaN, after) : null;
+                // One extra hit tells whether there is a next page
+                TopFieldDocs top = searcher.searchAfter(afterDoc, query.build(), limit + 1, RELEVANCE, true);
+                ScoreDoc[] hits = top.scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<UUID> ids = new ArrayList<>();
+                for (int i = 0; i < Math.min(limit, hits.length); i++) {
+                    ids.add(UUID.fromString(storedFields.document(hits[i].doc).get(ID)));
+                }
+                String nextCursor = hits.length > limit ? encodeCursor((FieldDoc) hits[limit - 1]) : null;
+                return SearchHits.builder().ids(ids).nextCursor(nextCursor).build();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Search index query failed", ex);
+        }
+    }
+
+    // Every property matching the text, unranked; feeds the facet counts for a text search
+    public List<UUID> matchingIds(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.search(textQuery(terms), new IdCollectorManager());
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Search index query failed", ex);
+        }
+    }
+
+    // Rebuild protocol used by PropertySearchIndexRebuilder: begin, upsert every row, finish (or abort).
+    // Searches keep being served from the live index the whole time.
+    public long beginRebuild() {
+        lock.lock();
+        try {
+            generation = System.currentTimeMillis();
+            changedDuringRebuild = new HashSet<>();
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A property updated or deleted live since beginRebuild is already current in the index (updates are
+    // written under the new generation), so the possibly older row the rebuild read for it is skipped
+    public void upsert(PropertyDto property, long generation) throws IOException {
+        lock.lock();
+        try {
+            if (changedDuringRebuild == null || !changedDuringRebuild.contains(property.getId())) {
+                write(property, generation);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void finishRebuild(long generation) throws IOException {
+        lock.lock();
+        try {
+            writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, generation - 1));
+            changedDuringRebuild = null;
+        } finally {
+            lock.unlock();
+        }
+        writer.commit();
+        refresh();
+    }
+
+    public void abortRebuild() {
+        lock.lock();
+        try {
+            changedDuringRebuild = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Makes all writes so far visible to searches
+    public void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private void write(PropertyDto property, long generation) throws IOException {
+        writer.updateDocument(new Term(ID, property.getId().toString()), toDocument(property, generation));
+    }
+
+    private Document toDocument(PropertyDto property, long generation) {
+        Document document = new Document();
+        String id = property.getId().toString();
+        document.add(new StringField(ID, id, Field.Store.YES));
+        document.add(new SortedDocValuesField(ID, new BytesRef(id)));
+        addText(document, TITLE, property.getTitle());
+        addText(document, DESCRIPTION, property.getDescription());
+        addText(document, ADDRESS, property.getAddress());
+        if (property.getFeatures() != null) {
+            property.getFeatures().forEach(feature -> addText(document, FEATURES, feature));
+        }
+        addKeyword(document, AGENT_ID, property.getAgentId());
+        addKeyword(document, CITY_ID, property.getCityId());
+        addKeyword(document, PROPERTY_TYPE_ID, property.getPropertyTypeId());
+        addKeyword(document, STATUS, property.getStatus());
+        addKeyword(document, FEATURED, property.getIsFeatured());
+        addInt(document, BEDROOMS, property.getBedrooms());
+        addInt(document, BATHROOMS, property.getBathrooms());
+        addInt(document, SQUARE_FEET, property.getSquareFeet());
+        if (property.getPrice() != null) {
+            document.add(new DoublePoint(PRICE, property.getPrice().doubleValue()));
+        }
+        document.add(new NumericDocValuesField(CREATED_AT, toMicros(property.getCreatedAt())));
+        document.add(new LongPoint(GENERATION, generation));
+        return document;
+    }
+
+    private void filterOn(BooleanQuery.Builder query, String field, Object value) {
+        if (value != null) {
+            query.add(new TermQuery(new Term(field, value.toString())), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private void filterOnRange(BooleanQuery.Builder query, String field, Integer min, Integer max) {
+        if (min != null || max != null) {
+            query.add(IntPoint.newRangeQuery(field,
+                    min != null ? min : Integer.MIN_VALUE,
+                    max != null ? max : Integer.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private void addKeyword(Document document, String field, Object value) {
+        if (value != null) {
+            document.add(new StringField(field, value.toString(), Field.Store.NO));
+        }
+    }
+
+    private void addInt(Document document, String field, Integer value) {
+        if (value != null) {
+            document.add(new IntPoint(field, value));
+        }
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    // Every term must match in some field; the last one may still be being typed, so it also matches as a prefix
+    private Query textQuery(List<String> terms) {
+        BooleanQuery.Builder allTerms = new BooleanQuery.Builder();
+        for (int i = 0; i < terms.size(); i++) {
+            boolean last = i == terms.size() - 1;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+                Term term = new Term(field.getKey(), terms.get(i));
+                Query termQuery = last
+                        ? new BooleanQuery.Builder()
+                                .add(new TermQuery(term), BooleanClause.Occur.SHOULD)
+                                .add(new PrefixQuery(term), BooleanClause.Occur.SHOULD)
+                                .build()
+                        : new TermQuery(term);
+                anyField.add(new BoostQuery(termQuery, field.getValue()), BooleanClause.Occur.SHOULD);
+            }
+            allTerms.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return allTerms.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return terms;
+    }
+
+    // Relevance cursor: score, createdAt and id of the last hit, matching the RELEVANCE sort
+    private String encodeCursor(FieldDoc last) {
+        String raw = last.fields[0] + CURSOR_SEPARATOR + last.fields[1] + CURSOR_SEPARATOR
+                + ((BytesRef) last.fields[2]).utf8ToString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + CURSOR_SEPARATOR);
+            return new Object[] {
+                    Float.parseFloat(parts[0]),
+                    Long.parseLong(parts[1]),
+                    new BytesRef(UUID.fromString(parts[2]).toString())
+            };
+        } catch (RuntimeException ex) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
+    // Reads ids from doc values instead of stored fields, no scoring or sorting needed
+    private static final class IdCollectorManager implements CollectorManager<IdCollector, List<UUID>> {
+
+        @Override
+        public IdCollector newCollector() {
+            return new IdCollector();
+        }
+
+        @Override
+        public List<UUID> reduce(Collection<IdCollector> collectors) {
+            List<UUID> ids = new ArrayList<>();
+            collectors.forEach(collector -> ids.addAll(collector.ids));
+            return ids;
+        }
+    }
+
+    private static final class IdCollector extends SimpleCollector {
+
+        private final List<UUID> ids = new ArrayList<>();
+        private SortedDocValues idValues;
+
+        @Override
+        protected void doSetNextReader(LeafReaderContext context) throws IOException {
+            idValues = DocValues.getSorted(context.reader(), ID);
+        }
+
+        @Override
+        public void collect(int doc) throws IOException {
+            if (idValues.advanceExact(doc)) {
+                ids.add(UUID.fromString(idValues.lookupOrd(idValues.ordValue()).utf8ToString()));
+            }
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0L;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,94 @@
+package propertyservice.app.search;
+
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.service.PropertyService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Re-indexes every property from the database into the live text and facet indexes, in keyset chunks.
+ * Searches keep working during a rebuild; documents the rebuild did not see are dropped at the end.
+ * Changes committed while a chunk is in flight win over the chunk's rows, see the indexes' rebuild protocol.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PropertySearchIndexRebuilder {
+
+    private final PropertyService propertyService;
+    private final PropertySearchIndex propertySearchIndex;
+    private final PropertyFacetIndex propertyFacetIndex;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "search-index-rebuild"));
+
+    @Value("${app.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${app.search.rebuild-chunk-size:500}")
+    private int chunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rebuildOnStartup) {
+            rebuildAsync();
+        }
+    }
+
+    public void rebuildAsync() {
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                log.error("Search index rebuild failed", ex);
+            }
+        });
+    }
+
+    public synchronized long rebuild() {
+        long startedAt = System.currentTimeMillis();
+        long generation = propertySearchIndex.beginRebuild();
+        propertyFacetIndex.beginRebuild();
+        long indexed = 0;
+        try {
+            String cursor = null;
+            do {
+                CursorPage<PropertyDto> chunk = propertyService.getPropertiesChunk(cursor, chunkSize);
+                for (PropertyDto property : chunk.getItems()) {
+                    propertySearchIndex.upsert(property, generation);
+                    propertyFacetIndex.upsert(property);
+                }
+                indexed += chunk.getItems().size();
+                cursor = chunk.getNextCursor();
+            } while (cursor != null);
+            propertySearchIndex.finishRebuild(generation);
+            propertyFacetIndex.finishRebuild();
+        } catch (IOException ex) {
+            propertySearchIndex.abortRebuild();
+            propertyFacetIndex.abortRebuild();
+            throw new UncheckedIOException("Search index rebuild failed", ex);
+        } catch (RuntimeException ex) {
+            propertySearchIndex.abortRebuild();
+            propertyFacetIndex.abortRebuild();
+            throw ex;
+        }
+        log.info("Rebuilt search index with {} properties in {} ms", indexed, System.currentTimeMillis() - startedAt);
+        return indexed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
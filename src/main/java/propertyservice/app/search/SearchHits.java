@@ -0,0 +1,18 @@
+package propertyservice.app.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHits {
+    private List<UUID> ids; // in relevance order
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package propertyservice.app.service;
+
+import propertyservice.app.dto.PropertyCreateDto;
+
+// One record of an import file: the item to create, or the reason it cannot be
+record ImportRow(long number, PropertyCreateDto dto, String error) {
+
+    static ImportRow parsed(long number, PropertyCreateDto dto) {
+        return new ImportRow(number, dto, null);
+    }
+
+    static ImportRow failed(long number, String error) {
+        return new ImportRow(number, null, error);
+    }
+
+    boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,43 @@
+package propertyservice.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation of each cached list scope (one city, one agent, the featured list). Page keys carry the
+ * generation current when the page was requested, and PropertyCacheEvictor moves a scope to a new
+ * generation after a write commits instead of removing its pages. A page loaded from pre-commit data but
+ * stored after that lands under the old generation, which no reader asks for any more; old pages expire.
+ */
+@Component
+public class PageCacheGenerations {
+
+    // Scope of lists that are not per city or agent (the featured list)
+    public static final String ALL = "all";
+
+    // Generations are never reused, so a scope whose counter was dropped from the bounded map starts afresh
+    private final AtomicLong next = new AtomicLong();
+    private final Cache<String, Long> generations;
+
+    public PageCacheGenerations(@Value("${app.cache.lists.maximum-scopes:10000}") long maximumScopes) {
+        this.generations = Caffeine.newBuilder().maximumSize(maximumScopes).build();
+    }
+
+    // "<scopeId>:<generation>:<page>", where page starts with the view ("full:" or "summary:") so a cursor
+    // supplied by a client can never make one view's key equal to the other's
+    public String key(String cacheName, Object scopeId, String page) {
+        return scopeId + ":" + generations.get(scope(cacheName, scopeId), scope -> next.incrementAndGet()) + ":" + page;
+    }
+
+    public void advance(String cacheName, Object scopeId) {
+        generations.put(scope(cacheName, scopeId), next.incrementAndGet());
+    }
+
+    private static String scope(String cacheName, Object scopeId) {
+        return cacheName + ":" + scopeId;
+    }
+}
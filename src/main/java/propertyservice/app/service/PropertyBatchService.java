@@ -0,0 +1,99 @@
+package propertyservice.app.service;
+
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.PropertyBatchDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Many properties by id in one call, for clients that would otherwise loop over GET /{id}.
+ * Ids already in the propertyById cache are served from it; the rest are read from the read model
+ * with one IN query per chunk (images and features are columns of the row, so nothing else is loaded).
+ * Rows read here are not put into the cache: a write committing during the read evicts its property
+ * after the commit, and a put after that would bring the old state back. The cache is filled only by
+ * its loader, which Caffeine runs atomically with evictions.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PropertyBatchService {
+
+    private final PropertyReadModelRepository propertyReadModelRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${app.batch-get.max-ids:500}")
+    private int maxIds;
+
+    // Bounds the IN list of a single query
+    @Value("${app.batch-get.chunk-size:100}")
+    private int chunkSize;
+
+    @Transactional(readOnly = true)
+    public PropertyBatchDto getProperties(List<UUID> ids) {
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > maxIds) {
+            throw new InvalidRequestException("At most " + maxIds + " ids can be requested at once, got " + requested.size());
+        }
+
+        Map<UUID, PropertyDto> found = new HashMap<>();
+        List<UUID> uncached = new ArrayList<>();
+        Cache<Object, Object> cache = propertyCache();
+        for (UUID id : requested) {
+            PropertyDto cached = cache != null ? (PropertyDto) cache.getIfPresent(id) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+
+        for (int from = 0; from < uncached.size(); from += chunkSize) {
+            List<UUID> chunk = uncached.subList(from, Math.min(from + chunkSize, uncached.size()));
+            for (PropertyReadModel row : propertyReadModelRepository.findAllById(chunk)) {
+                found.put(row.getId(), PropertyMapper.toDto(row));
+            }
+        }
+        log.debug("Batch get of {} ids, {} served from the cache", requested.size(), requested.size() - uncached.size());
+
+        List<PropertyDto> items = new ArrayList<>(found.size());
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID id : requested) {
+            PropertyDto dto = found.get(id);
+            if (dto != null) {
+                items.add(dto);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return PropertyBatchDto.builder()
+                .items(items)
+                .missingIds(missingIds)
+                .build();
+    }
+
+    // The native cache is read with getIfPresent: a get through Spring's Cache would run the
+    // loading cache's single-id loader for every miss. Null where caching is switched off.
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> propertyCache() {
+        org.springframework.cache.Cache cache = cacheManager.getCache(CacheConfig.PROPERTY_BY_ID);
+        return cache instanceof CaffeineCache caffeineCache ? caffeineCache.getNativeCache() : null;
+    }
+}
@@ -0,0 +1,157 @@
+package propertyservice.app.service;
+
+import propertyservice.app.dto.PropertyBulkItemDto;
+import propertyservice.app.dto.PropertyBulkResultDto;
+import propertyservice.app.dto.PropertyCreateDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.Property;
+import propertyservice.app.event.PropertyChangedEvent;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.repository.PropertyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many properties in one request. Every item is validated on its own and the agent, city and
+ * property type services are asked once per distinct id (see PropertyReferenceLookups). Valid items are persisted in chunks, one
+ * transaction per chunk: ids are generated in the JVM and the properties, images, features and
+ * read model rows go out as JDBC batches (see hibernate.jdbc.batch_size), without reloading anything.
+ * A failing item or chunk does not stop the others; the result reports every item.
+ */
+@Slf4j
+@Service
+public class PropertyBulkService {
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyReadModelProjector propertyReadModelProjector;
+    private final ReferenceExistenceCache referenceExistenceCache;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.bulk-create.max-items:5000}")
+    private int maxItems;
+
+    @Value("${app.bulk-create.chunk-size:500}")
+    private int chunkSize;
+
+    public PropertyBulkService(PropertyRepository propertyRepository,
+                               PropertyReadModelProjector propertyReadModelProjector,
+                               ReferenceExistenceCache referenceExistenceCache,
+                               Validator validator,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.propertyRepository = propertyRepository;
+        this.propertyReadModelProjector = propertyReadModelProjector;
+        this.referenceExistenceCache = referenceExistenceCache;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public PropertyBulkResultDto createProperties(List<PropertyCreateDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new InvalidRequestException("At least one property is required");
+        }
+        if (dtos.size() > maxItems) {
+            throw new InvalidRequestException("At most " + maxItems + " properties can be created at once, got " + dtos.size());
+        }
+        log.info("Bulk creating {} properties in chunks of {}", dtos.size(), chunkSize);
+
+        PropertyBulkItemDto[] results = new PropertyBulkItemDto[dtos.size()];
+        PropertyReferenceLookups references = new PropertyReferenceLookups(referenceExistenceCache);
+        List<Integer> creatable = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validate(dtos.get(i));
+            if (error == null) {
+                error = references.missingReference(dtos.get(i));
+            }
+            if (error != null) {
+                results[i] = failed(i, error);
+            } else {
+                creatable.add(i);
+            }
+        }
+
+        for (int from = 0; from < creatable.size(); from += chunkSize) {
+            List<Integer> chunk = creatable.subList(from, Math.min(from + chunkSize, creatable.size()));
+            try {
+                List<Property> created = transactionTemplate.execute(status ->
+                        persist(chunk.stream().map(dtos::get).toList()));
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i)] = PropertyBulkItemDto.builder()
+                            .index(chunk.get(i))
+                            .id(created.get(i).getId())
+                            .build();
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Bulk create chunk of {} properties failed", chunk.size(), ex);
+                chunk.forEach(index -> results[index] = failed(index, "Not created: " + ex.getMessage()));
+            }
+        }
+
+        List<PropertyBulkItemDto> items = Arrays.asList(results);
+        int created = (int) items.stream().filter(item -> item.getId() != null).count();
+        log.info("Bulk created {} of {} properties", created, dtos.size());
+        return PropertyBulkResultDto.builder()
+                .created(created)
+                .failed(items.size() - created)
+                .items(items)
+                .build();
+    }
+
+    // Persists already validated items inside the caller's transaction, also used by PropertyImportService
+    List<Property> persist(List<PropertyCreateDto> dtos) {
+        // Freshly created rows are cold, keep them from pushing hot entries out of the second-level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        List<Property> properties = dtos.stream().map(PropertyService::newProperty).toList();
+        propertyRepository.saveAll(properties);
+        propertyReadModelProjector.projectCreated(properties);
+        for (Property property : properties) {
+            PropertyDto created = PropertyMapper.toDto(property);
+            eventPublisher.publishEvent(new PropertyChangedEvent(created.getId(), null, created));
+        }
+        return properties;
+    }
+
+    // Bean validation of one item, null when valid
+    String validate(PropertyCreateDto dto) {
+        if (dto == null) {
+            return "Property is required";
+        }
+        Set<ConstraintViolation<PropertyCreateDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static PropertyBulkItemDto failed(int index, String error) {
+        return PropertyBulkItemDto.builder()
+                .index(index)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package propertyservice.app.service;
+
+import propertyservice.app.dto.PropertyBulkChanges;
+import propertyservice.app.dto.PropertyBulkFilter;
+import propertyservice.app.dto.PropertyBulkUpdateRequest;
+import propertyservice.app.dto.PropertyBulkUpdateResultDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.event.PropertyChangedEvent;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Changes status, price or agent of every property matching a filter without loading them as entities.
+ * The matches are read from the read model in pages ordered by id, only the id and the fields cache eviction
+ * needs. Per page, properties and read model rows are changed by one set-based UPDATE each that stamps
+ * updatedAt and re-checks the filter, so a row that stopped matching meanwhile is left alone. The page's
+ * changed rows are read back and a PropertyChangedEvent per property evicts exactly the cache entries it
+ * appears in and updates the search and facet indexes. There is no limit on how many properties match.
+ * Hibernate drops the Property second-level cache region on a bulk UPDATE by itself.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PropertyBulkUpdateService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PropertyReadModelRepository propertyReadModelRepository;
+    private final PropertyReferenceValidator propertyReferenceValidator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Matches read per page, and ids per UPDATE ... WHERE id IN (...)
+    @Value("${app.bulk-update.chunk-size:1000}")
+    private int chunkSize;
+
+    @Transactional
+    public PropertyBulkUpdateResultDto updateProperties(PropertyBulkUpdateRequest request) {
+        PropertyBulkFilter filter = request.getFilter();
+        PropertyBulkChanges changes = request.getChanges();
+        if (filter.isEmpty()) {
+            throw new InvalidRequestException("At least one filter is required");
+        }
+        if (changes.isEmpty()) {
+            throw new InvalidRequestException("At least one change is required");
+        }
+        if (changes.getPrice() != null && changes.getPriceChangePercent() != null) {
+            throw new InvalidRequestException("Only one of price and priceChangePercent can be given");
+        }
+        propertyReferenceValidator.validate(changes.getAgentId(), null, null);
+
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int matched = 0;
+        int affected = 0;
+        UUID after = null;
+        List<MatchedProperty> page;
+        do {
+            page = nextMatches(filter, after);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<UUID> ids = page.stream().map(MatchedProperty::id).toList();
+            affected += update(Property.class, ids, filter, changes, updatedAt);
+            update(PropertyReadModel.class, ids, filter, changes, updatedAt);
+
+            Map<UUID, MatchedProperty> previous = page.stream()
+                    .collect(Collectors.toMap(MatchedProperty::id, Function.identity()));
+            List<PropertyReadModel> changed = propertyReadModelRepository.findAllById(ids).stream()
+                    .filter(row -> updatedAt.equals(row.getUpdatedAt()))
+                    .toList();
+            for (PropertyReadModel row : changed) {
+                eventPublisher.publishEvent(new PropertyChangedEvent(row.getId(), previous.get(row.getId()).toDto(),
+                        PropertyMapper.toDto(row)));
+            }
+            // Keeps the persistence context at one page of rows however many properties match
+            entityManager.clear();
+            matched += page.size();
+            after = ids.get(ids.size() - 1);
+        } while (page.size() == chunkSize);
+
+        log.info("Bulk updated {} of {} matched properties", affected, matched);
+        return PropertyBulkUpdateResultDto.builder().affected(affected).build();
+    }
+
+    // The next page of matches after the given id, as plain values rather than managed entities.
+    // Paging by id instead of an offset is unaffected by the UPDATEs taking rows out of the filter.
+    private List<MatchedProperty> nextMatches(PropertyBulkFilter filter, UUID after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchedProperty> query = cb.createQuery(MatchedProperty.class);
+        Root<PropertyReadModel> root = query.from(PropertyReadModel.class);
+        List<Predicate> predicates = conditions(root, cb, filter);
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(root.get("id").in(filter.getIds()));
+        }
+        Path<UUID> id = root.get("id");
+        if (after != null) {
+            predicates.add(cb.greaterThan(id, after));
+        }
+        query.select(cb.construct(MatchedProperty.class, id, root.get("agentId"), root.get("cityId"), root.get("isFeatured")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(id));
+        return entityManager.createQuery(query).setMaxResults(chunkSize).getResultList();
+    }
+
+    // Property and PropertyReadModel share the attribute names, so one statement shape serves both tables
+    private <T> int update(Class<T> type, List<UUID> ids, PropertyBulkFilter filter, PropertyBulkChanges changes,
+                           LocalDateTime updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(type);
+        Root<T> root = update.from(type);
+        if (changes.getStatus() != null) {
+            update.set(root.get("status"), changes.getStatus());
+        }
+        if (changes.getPrice() != null) {
+            update.set(root.get("price"), changes.getPrice());
+        }
+        if (changes.getPriceChangePercent() != null) {
+            BigDecimal factor = BigDecimal.ONE.add(changes.getPriceChangePercent().divide(HUNDRED, 10, RoundingMode.HALF_UP));
+            Path<BigDecimal> price = root.get("price");
+            update.set(price, cb.function("round", BigDecimal.class, cb.prod(price, factor), cb.literal(2)));
+        }
+        if (changes.getAgentId() != null) {
+            update.set(root.get("agentId"), changes.getAgentId());
+        }
+        update.set(root.get("updatedAt"), updatedAt);
+        List<Predicate> predicates = conditions(root, cb, filter);
+        predicates.add(root.get("id").in(ids));
+        update.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    // The filter apart from its ids, which the UPDATEs replace by the chunk of matched ids
+    private static List<Predicate> conditions(Root<?> root, CriteriaBuilder cb, PropertyBulkFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getAgentId() != null) {
+            predicates.add(cb.equal(root.get("agentId"), filter.getAgentId()));
+        }
+        if (filter.getCityId() != null) {
+            predicates.add(cb.equal(root.get("cityId"), filter.getCityId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+        }
+        return predicates;
+    }
+
+    // What a matched property looked like before the UPDATEs, reduced to the fields PropertyCacheEvictor
+    // reads from the previous state: the agent, city and featured lists the property was in
+    private record MatchedProperty(UUID id, UUID agentId, UUID cityId, Boolean isFeatured) {
+
+        PropertyDto toDto() {
+            return PropertyDto.builder().id(id).agentId(agentId).cityId(cityId).isFeatured(isFeatured).build();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package propertyservice.app.service;
+
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.event.PropertyChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Invalidation of the property caches from the write paths, run after the surrounding transaction commits
+ * so nothing is invalidated on rollback. A single property is evicted by key; a load of it still in flight
+ * finishes before the eviction, which then removes it. Cached pages, objects and their JSON alike, are not
+ * removed but their scope is moved to a new generation (see PageCacheGenerations), so a page computed from
+ * pre-commit data and stored after the commit is never read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PropertyCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final PageCacheGenerations pageCacheGenerations;
+
+    // Evicts the property and every list its previous or current state appears in,
+    // both the cached objects and their serialized JSON
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        cache(CacheConfig.PROPERTY_BY_ID).evict(event.getPropertyId());
+        cache(CacheConfig.PROPERTY_JSON).evict(CacheConfig.jsonKey(CacheConfig.PROPERTY_BY_ID, event.getPropertyId()));
+        Stream.of(event.getPrevious(), event.getCurrent())
+                .filter(Objects::nonNull)
+                .forEach(state -> {
+                    evictScope(CacheConfig.PROPERTIES_BY_CITY, state.getCityId());
+                    evictScope(CacheConfig.PROPERTIES_BY_AGENT, state.getAgentId());
+                });
+        boolean featured = Stream.of(event.getPrevious(), event.getCurrent())
+                .filter(Objects::nonNull)
+                .map(PropertyDto::getIsFeatured)
+                .anyMatch(Boolean.TRUE::equals);
+        if (featured) {
+            pageCacheGenerations.advance(CacheConfig.FEATURED_PROPERTIES, PageCacheGenerations.ALL);
+        }
+    }
+
+    private void evictScope(String cacheName, UUID scopeId) {
+        if (scopeId == null) {
+            return;
+        }
+        pageCacheGenerations.advance(cacheName, scopeId);
+        log.debug("Evicted {} pages for {}", cacheName, scopeId);
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "Cache not configured: " + name);
+    }
+}
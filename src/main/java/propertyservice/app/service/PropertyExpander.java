@@ -0,0 +1,178 @@
+package propertyservice.app.service;
+
+import propertyservice.app.config.BlockingExecutors;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.AgentDto;
+import propertyservice.app.dto.CityDto;
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.dto.ExpandedPropertyDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.dto.PropertyTypeDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Embeds agent, city and property type details (?expand=) in a page of properties, so a client does not
+ * fetch them one listing at a time. Each distinct id of the page is looked up once: from the agentDetails,
+ * cityDetails and propertyTypeDetails caches when there, otherwise all missing ids are fetched from their
+ * services at the same time, waiting at most app.expand.timeout for all of them. At most
+ * app.expand.queue-capacity fetches wait for one of the app.expand.threads; fetches still pending at the
+ * deadline are cancelled.
+ * Expansion is best effort: a reference that is unknown, failed, rejected or late is left out of the
+ * response instead of failing the request.
+ */
+@Slf4j
+@Service
+public class PropertyExpander {
+
+    private final CacheManager cacheManager;
+    private final ExecutorService executor;
+
+    @Value("${app.expand.timeout:2s}")
+    private Duration timeout;
+
+    public PropertyExpander(CacheManager cacheManager, @Value("${app.expand.threads:16}") int threads,
+                            @Value("${app.expand.queue-capacity:64}") int queueCapacity,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.cacheManager = cacheManager;
+        this.executor = BlockingExecutors.bounded("property-expand-", threads, queueCapacity, virtualThreads);
+    }
+
+    public CursorPage<ExpandedPropertyDto> expand(CursorPage<PropertyDto> page, PropertyExpansions expansions) {
+        return CursorPage.<ExpandedPropertyDto>builder()
+                .items(expand(page.getItems(), expansions))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    public ExpandedPropertyDto expand(PropertyDto property, PropertyExpansions expansions) {
+        return expand(List.of(property), expansions).get(0);
+    }
+
+    public List<ExpandedPropertyDto> expand(List<PropertyDto> properties, PropertyExpansions expansions) {
+        Map<UUID, Future<Object>> agents = lookup(expansions, PropertyExpansions.AGENT, CacheConfig.AGENT_DETAILS,
+                properties, PropertyDto::getAgentId);
+        Map<UUID, Future<Object>> cities = lookup(expansions, PropertyExpansions.CITY, CacheConfig.CITY_DETAILS,
+                properties, PropertyDto::getCityId);
+        Map<UUID, Future<Object>> propertyTypes = lookup(expansions, PropertyExpansions.PROPERTY_TYPE, CacheConfig.PROPERTY_TYPE_DETAILS,
+                properties, PropertyDto::getPropertyTypeId);
+        awaitAll(agents, cities, propertyTypes);
+
+        return properties.stream()
+                .map(property -> ExpandedPropertyDto.builder()
+                        .property(property)
+                        .agent((AgentDto) value(agents, property.getAgentId()))
+                        .city((CityDto) value(cities, property.getCityId()))
+                        .propertyType((PropertyTypeDto) value(propertyTypes, property.getPropertyTypeId()))
+                        .build())
+                .toList();
+    }
+
+    // One lookup per distinct id on the page, hits are answered right away. A miss is a FutureTask run by the
+    // executor itself, so cancel(true) interrupts the thread fetching it; a miss the executor rejects because
+    // every thread is busy and the queue is full is not expanded.
+    private Map<UUID, Future<Object>> lookup(PropertyExpansions expansions, String expansion, String cacheName,
+                                             List<PropertyDto> properties, Function<PropertyDto, UUID> id) {
+        Map<UUID, Future<Object>> lookups = new HashMap<>();
+        if (!expansions.contains(expansion)) {
+            return lookups;
+        }
+        @SuppressWarnings("unchecked")
+        LoadingCache<Object, Object> cache = (LoadingCache<Object, Object>) nativeCache(cacheName);
+        properties.stream().map(id).filter(Objects::nonNull).distinct().forEach(key -> {
+            Object cached = cache.getIfPresent(key);
+            if (cached != null) {
+                lookups.put(key, CompletableFuture.completedFuture(cached));
+                return;
+            }
+            FutureTask<Object> result = new FutureTask<>(() -> load(cache, cacheName, key));
+            try {
+                executor.execute(result);
+                lookups.put(key, result);
+            } catch (RejectedExecutionException ex) {
+                log.warn("Could not expand {} {}: every expansion thread is busy and the queue is full", cacheName, key);
+            }
+        });
+        return lookups;
+    }
+
+    private static Object load(LoadingCache<Object, Object> cache, String cacheName, UUID id) {
+        try {
+            return cache.get(id);
+        } catch (RuntimeException ex) {
+            log.warn("Could not expand {} {}: {}", cacheName, id, ex.getMessage());
+            return null;
+        }
+    }
+
+    // Waits for every lookup until the deadline, then cancels the ones still running or queued so they do
+    // not hold an expansion thread for a response that has already been answered without them
+    @SafeVarargs
+    private void awaitAll(Map<UUID, Future<Object>>... lookups) {
+        List<Future<Object>> results = Stream.of(lookups)
+                .flatMap(lookup -> lookup.values().stream())
+                .filter(result -> !result.isDone())
+                .toList();
+        if (results.isEmpty()) {
+            return;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Future<Object> result : results) {
+                result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException ex) {
+            log.warn("Expansion did not complete within {}, answering without the missing references", timeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // load() does not throw
+        }
+        results.forEach(result -> result.cancel(true));
+        // A cancelled task stays in the queue until a thread takes it, taking room from the next pages' fetches
+        if (executor instanceof ThreadPoolExecutor pool) {
+            pool.purge();
+        }
+    }
+
+    // Null when not expanded, rejected, unknown, failed or cancelled
+    private static Object value(Map<UUID, Future<Object>> lookups, UUID id) {
+        Future<Object> result = id != null ? lookups.get(id) : null;
+        return result != null && result.state() == Future.State.SUCCESS ? result.resultNow() : null;
+    }
+
+    private Cache<Object, Object> nativeCache(String cacheName) {
+        org.springframework.cache.Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName),
+                "Cache not configured: " + cacheName);
+        return ((CaffeineCache) cache).getNativeCache();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
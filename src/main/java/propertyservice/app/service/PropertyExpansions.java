@@ -0,0 +1,47 @@
+package propertyservice.app.service;
+
+import propertyservice.app.exeption.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// A validated ?expand= selection of the references to embed in PropertyDto responses
+public final class PropertyExpansions {
+
+    public static final String AGENT = "agent";
+    public static final String CITY = "city";
+    public static final String PROPERTY_TYPE = "propertyType";
+
+    private static final List<String> ALLOWED = List.of(AGENT, CITY, PROPERTY_TYPE);
+
+    private final Set<String> requested;
+
+    private PropertyExpansions(Set<String> requested) {
+        this.requested = requested;
+    }
+
+    // Returns null when nothing is to be expanded
+    public static PropertyExpansions parse(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return null;
+        }
+        Set<String> names = Arrays.stream(expand.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> unknown = names.stream()
+                .filter(name -> !ALLOWED.contains(name))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!unknown.isEmpty()) {
+            throw new InvalidRequestException("Unknown expansions " + unknown + ", allowed: " + ALLOWED);
+        }
+        return names.isEmpty() ? null : new PropertyExpansions(names);
+    }
+
+    public boolean contains(String expansion) {
+        return requested.contains(expansion);
+    }
+}
@@ -0,0 +1,103 @@
+package propertyservice.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.dto.PropertyDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the whole catalog to an output stream one keyset chunk at a time.
+ * Each chunk is read in its own short read-only transaction, written out and flushed
+ * before the next one is loaded, so memory stays flat and no connection is held
+ * while the client drains the response (a slow reader simply blocks the next chunk).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PropertyExportService {
+
+    private static final String CSV_HEADER = "id,title,description,price,agentId,cityId,propertyTypeId,status,"
+            + "bedrooms,bathrooms,squareFeet,address,isFeatured,createdAt,updatedAt,imageUrls,features";
+
+    private final PropertyService propertyService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.chunk-size:500}")
+    private int chunkSize;
+
+    public void export(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Starting {} export with chunk size {}", format, chunkSize);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        String cursor = null;
+        do {
+            CursorPage<PropertyDto> chunk = propertyService.getPropertiesChunk(cursor, chunkSize);
+            for (PropertyDto dto : chunk.getItems()) {
+                writer.write(format == ExportFormat.CSV ? toCsvRow(dto) : objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            }
+            writer.flush();
+            exported += chunk.getItems().size();
+            cursor = chunk.getNextCursor();
+        } while (cursor != null);
+
+        log.info("Finished {} export of {} properties", format, exported);
+    }
+
+    private String toCsvRow(PropertyDto dto) {
+        return String.join(",",
+                csv(dto.getId()),
+                csv(dto.getTitle()),
+                csv(dto.getDescription()),
+                csv(dto.getPrice() != null ? dto.getPrice().toPlainString() : null),
+                csv(dto.getAgentId()),
+                csv(dto.getCityId()),
+                csv(dto.getPropertyTypeId()),
+                csv(dto.getStatus()),
+                csv(dto.getBedrooms()),
+                csv(dto.getBathrooms()),
+                csv(dto.getSquareFeet()),
+                csv(dto.getAddress()),
+                csv(dto.getIsFeatured()),
+                csv(dto.getCreatedAt()),
+                csv(dto.getUpdatedAt()),
+                csv(joinList(dto.getImageUrls())),
+                csv(joinList(dto.getFeatures())));
+    }
+
+    // Values separated by "|", with "\" and "|" inside a value escaped by a "\" (see PropertyImportReader)
+    private String joinList(List<String> values) {
+        return values == null ? null : values.stream()
+                .map(value -> value.replace("\\", "\\\\").replace("|", "\\|"))
+                .collect(Collectors.joining("|"));
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double embedded quotes
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,68 @@
+package propertyservice.app.service;
+
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.exeption.InvalidRequestException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A validated ?fields= selection of PropertyDto properties. It decides which read model columns
+ * are selected (image URLs and features included, they are JSON columns there) and which keys
+ * end up in the response.
+ */
+public final class PropertyFields {
+
+    // PropertyDto properties in declaration order, which is also the order they are written in
+    private static final List<String> ALLOWED = Arrays.stream(PropertyDto.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .toList();
+
+    private final Set<String> requested;
+
+    private PropertyFields(Set<String> requested) {
+        this.requested = requested;
+    }
+
+    // Returns null when no selection was made, meaning the full representation
+    public static PropertyFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        Set<String> unknown = names.stream()
+                .filter(name -> !ALLOWED.contains(name))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!unknown.isEmpty()) {
+            throw new InvalidRequestException("Unknown fields " + unknown + ", allowed: " + ALLOWED);
+        }
+        return new PropertyFields(ALLOWED.stream()
+                .filter(names::contains)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    // Columns to select: the requested ones plus whatever the caller needs internally (id, sort key)
+    public Set<String> columns(String... alsoNeeded) {
+        Set<String> columns = new LinkedHashSet<>(Arrays.asList(alsoNeeded));
+        columns.addAll(requested);
+        return columns;
+    }
+
+    // Drops everything that was selected but not requested
+    public Map<String, Object> project(Map<String, Object> row) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        requested.forEach(field -> projected.put(field, row.get(field)));
+        return projected;
+    }
+}
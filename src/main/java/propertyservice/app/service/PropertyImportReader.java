@@ -0,0 +1,187 @@
+package propertyservice.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import propertyservice.app.dto.PropertyCreateDto;
+import propertyservice.app.exeption.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads an import file one record at a time, never the whole file: NDJSON objects one per line, or CSV
+ * in the layout written by PropertyExportService (header row, RFC 4180 quoting, quoted fields may span
+ * lines, image URLs and features separated by "|", a "|" or "\" inside one escaped by a "\"). Columns
+ * the create does not take, such as id or createdAt, are ignored, so an export can be imported again.
+ * Records are numbered from 1, blank ones included, so skip(n) after a restart lands on the same record.
+ */
+class PropertyImportReader implements Closeable {
+
+    private static final Set<String> LIST_COLUMNS = Set.of("imageUrls", "features");
+
+    private final BufferedReader reader;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader dtoReader;
+    private final List<String> header;
+    private long recordNumber;
+
+    private PropertyImportReader(BufferedReader reader, ExportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.dtoReader = objectMapper.readerFor(PropertyCreateDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.header = format == ExportFormat.CSV ? readCsvRecord() : null;
+        if (format == ExportFormat.CSV && header == null) {
+            throw new InvalidRequestException("CSV import file has no header row");
+        }
+    }
+
+    static PropertyImportReader open(Path path, ExportFormat format, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        try {
+            return new PropertyImportReader(reader, format, objectMapper);
+        } catch (IOException | RuntimeException ex) {
+            reader.close();
+            throw ex;
+        }
+    }
+
+    void skip(long records) throws IOException {
+        while (recordNumber < records && readRecord() != null) {
+            recordNumber++;
+        }
+    }
+
+    // Next non-blank record, parsed or with the reason it could not be; null at the end of the file
+    ImportRow next() throws IOException {
+        while (true) {
+            Object record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            recordNumber++;
+            if (!isBlank(record)) {
+                return parse(record);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ImportRow parse(Object record) {
+        try {
+            PropertyCreateDto dto = record instanceof String line
+                    ? dtoReader.readValue(line)
+                    : dtoReader.readValue((JsonNode) objectMapper.valueToTree(toFields((List<String>) record)));
+            return ImportRow.parsed(recordNumber, dto);
+        } catch (JsonProcessingException ex) {
+            return ImportRow.failed(recordNumber, "Unreadable row: " + ex.getOriginalMessage());
+        } catch (IOException | IllegalArgumentException ex) {
+            return ImportRow.failed(recordNumber, "Unreadable row: " + ex.getMessage());
+        }
+    }
+
+    private Map<String, Object> toFields(List<String> values) {
+        if (values.size() > header.size()) {
+            throw new IllegalArgumentException(values.size() + " fields but the header has " + header.size());
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            String column = header.get(i);
+            fields.put(column, LIST_COLUMNS.contains(column) ? splitList(value) : value);
+        }
+        return fields;
+    }
+
+    // Splits on "|" except where escaped as "\|", "\\" standing for a backslash. Any other backslash is kept
+    // as it is, so files written before values were escaped read the same unless a value contained "|" or "\\".
+    private static List<String> splitList(String value) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length() && (value.charAt(i + 1) == '|' || value.charAt(i + 1) == '\\')) {
+                current.append(value.charAt(++i));
+            } else if (c == '|') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private Object readRecord() throws IOException {
+        return format == ExportFormat.CSV ? readCsvRecord() : reader.readLine();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isBlank(Object record) {
+        if (record instanceof String line) {
+            return line.isBlank();
+        }
+        List<String> values = (List<String>) record;
+        return values.size() == 1 && values.get(0).isBlank();
+    }
+
+    // One CSV record, reading on past line breaks inside quotes; null at the end of the file
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,276 @@
+package propertyservice.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import propertyservice.app.dto.PropertyImportJobDto;
+import propertyservice.app.entity.ImportStatus;
+import propertyservice.app.entity.PropertyImportJob;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.exeption.PropertyNotFoundException;
+import propertyservice.app.repository.PropertyImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Imports listing files (CSV or NDJSON, see PropertyImportReader) in the background.
+ * The upload is stored first and then streamed in chunks through a two-stage pipeline: one thread
+ * reads, parses, validates and checks references (each distinct id once per run) for the next chunk
+ * while the job thread writes the current one. Each chunk is written in one transaction together with
+ * the job's checkpoint and counters, so after a failure POST /import/{id}/resume carries on from the
+ * first row that was not committed. Rows that cannot be created are counted and reported, they do not
+ * stop the import.
+ */
+@Slf4j
+@Service
+public class PropertyImportService {
+
+    private final PropertyImportJobRepository propertyImportJobRepository;
+    private final PropertyBulkService propertyBulkService;
+    private final ReferenceExistenceCache referenceExistenceCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // Jobs run one at a time; the parse stage of the running job has a thread of its own
+    private final ExecutorService jobs = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "property-import"));
+    private final ExecutorService parser = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "property-import-parse"));
+
+    // Jobs queued or running in this instance, RUNNING jobs not in here were cut off by a restart
+    private final Set<UUID> active = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.import.dir:uploads/imports}")
+    private String importDir;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.max-errors:1000}")
+    private int maxErrors;
+
+    public PropertyImportService(PropertyImportJobRepository propertyImportJobRepository,
+                                 PropertyBulkService propertyBulkService,
+                                 ReferenceExistenceCache referenceExistenceCache,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.propertyImportJobRepository = propertyImportJobRepository;
+        this.propertyBulkService = propertyBulkService;
+        this.referenceExistenceCache = referenceExistenceCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Format from the parameter, else from the file extension
+    public PropertyImportJobDto startImport(MultipartFile file, String format) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidRequestException("Import file is empty");
+        }
+        String fileName = file.getOriginalFilename();
+        String formatName = format != null ? format : StringUtils.getFilenameExtension(fileName);
+        if (formatName == null) {
+            throw new InvalidRequestException("Import format is required for file: " + fileName);
+        }
+        ExportFormat importFormat = ExportFormat.from(formatName);
+
+        Path path;
+        try {
+            Files.createDirectories(Path.of(importDir));
+            path = Path.of(importDir, UUID.randomUUID() + "." + importFormat.getFileExtension());
+            file.transferTo(path);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not store import file " + fileName, ex);
+        }
+        PropertyImportJob job = createJob(path, importFormat, fileName);
+        submit(job.getId());
+        return toDto(job);
+    }
+
+    // A failed job, or one left RUNNING by a restart, continues after its last committed chunk
+    public PropertyImportJobDto resume(UUID jobId) {
+        PropertyImportJob job = findJob(jobId);
+        if (job.getStatus() == ImportStatus.COMPLETED || active.contains(jobId)) {
+            throw new InvalidRequestException("Import job " + jobId + " is " + (active.contains(jobId)
+                    ? "already running" : "completed"));
+        }
+        submit(jobId);
+        return toDto(job);
+    }
+
+    public PropertyImportJobDto getJob(UUID jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    PropertyImportJob createJob(Path path, ExportFormat format, String fileName) {
+        return propertyImportJobRepository.save(PropertyImportJob.builder()
+                .fileName(fileName)
+                .format(format.getFileExtension())
+                .path(path.toString())
+                .status(ImportStatus.RUNNING)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void submit(UUID jobId) {
+        active.add(jobId);
+        jobs.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                active.remove(jobId);
+            }
+        });
+    }
+
+    void run(UUID jobId) {
+        PropertyImportJob job = transactionTemplate.execute(status -> {
+            PropertyImportJob started = findJob(jobId);
+            started.setStatus(ImportStatus.RUNNING);
+            started.setStartedAt(LocalDateTime.now());
+            started.setRowsReadAtStart(started.getRowsRead());
+            started.setFinishedAt(null);
+            started.setLastError(null);
+            return started;
+        });
+        log.info("Import {} of {} starting after row {}", jobId, job.getFileName(), job.getRowsRead());
+
+        try (PropertyImportReader reader = PropertyImportReader.open(
+                Path.of(job.getPath()), ExportFormat.from(job.getFormat()), objectMapper)) {
+            reader.skip(job.getRowsRead());
+            PropertyReferenceLookups references = new PropertyReferenceLookups(referenceExistenceCache);
+            Future<List<ImportRow>> next = parser.submit(() -> readChunk(reader, references));
+            try {
+                List<ImportRow> chunk;
+                while (!(chunk = next.get()).isEmpty()) {
+                    next = parser.submit(() -> readChunk(reader, references));
+                    write(jobId, chunk);
+                }
+            } finally {
+                // The reader is closed next, let a chunk still being parsed finish first
+                awaitQuietly(next);
+            }
+            finish(jobId, ImportStatus.COMPLETED, null);
+        } catch (ExecutionException ex) {
+            fail(jobId, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(jobId, ex);
+        } catch (IOException | RuntimeException ex) {
+            fail(jobId, ex);
+        }
+    }
+
+    private List<ImportRow> readChunk(PropertyImportReader reader, PropertyReferenceLookups references) throws IOException {
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        while (chunk.size() < chunkSize && (row = reader.next()) != null) {
+            String error = row.isValid() ? propertyBulkService.validate(row.dto()) : row.error();
+            if (error == null) {
+                error = references.missingReference(row.dto());
+            }
+            chunk.add(error == null ? row : ImportRow.failed(row.number(), error));
+        }
+        return chunk;
+    }
+
+    private void write(UUID jobId, List<ImportRow> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PropertyImportJob job = findJob(jobId);
+            List<ImportRow> valid = chunk.stream().filter(ImportRow::isValid).toList();
+            if (!valid.isEmpty()) {
+                propertyBulkService.persist(valid.stream().map(ImportRow::dto).toList());
+            }
+            chunk.stream()
+                    .filter(row -> !row.isValid())
+                    .limit(Math.max(0, maxErrors - job.getErrors().size()))
+                    .forEach(row -> job.getErrors().add("Row " + row.number() + ": " + row.error()));
+            job.setRowsRead(chunk.get(chunk.size() - 1).number());
+            job.setCreated(job.getCreated() + valid.size());
+            job.setFailed(job.getFailed() + chunk.size() - valid.size());
+        });
+    }
+
+    private void fail(UUID jobId, Throwable cause) {
+        log.error("Import {} stopped, it can be resumed from its last committed chunk", jobId, cause);
+        finish(jobId, ImportStatus.FAILED, String.valueOf(cause.getMessage()));
+    }
+
+    private void finish(UUID jobId, ImportStatus status, String lastError) {
+        PropertyImportJob job = transactionTemplate.execute(tx -> {
+            PropertyImportJob finished = findJob(jobId);
+            finished.setStatus(status);
+            finished.setLastError(lastError != null && lastError.length() > 2000 ? lastError.substring(0, 2000) : lastError);
+            finished.setFinishedAt(LocalDateTime.now());
+            return finished;
+        });
+        log.info("Import {} {}: {} rows read, {} created, {} failed, {} rows/s", jobId, status,
+                job.getRowsRead(), job.getCreated(), job.getFailed(), String.format("%.1f", rowsPerSecond(job)));
+    }
+
+    private PropertyImportJob findJob(UUID jobId) {
+        return propertyImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new PropertyNotFoundException("Import job not found with id: " + jobId));
+    }
+
+    private static void awaitQuietly(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // The run already failed or finished, a later chunk's error does not matter
+        }
+    }
+
+    private static double rowsPerSecond(PropertyImportJob job) {
+        if (job.getStartedAt() == null) {
+            return 0;
+        }
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+        return (job.getRowsRead() - job.getRowsReadAtStart()) * 1000.0 / millis;
+    }
+
+    private static PropertyImportJobDto toDto(PropertyImportJob job) {
+        return PropertyImportJobDto.builder()
+                .id(job.getId())
+                .fileName(job.getFileName())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .rowsRead(job.getRowsRead())
+                .created(job.getCreated())
+                .failed(job.getFailed())
+                .errors(List.copyOf(job.getErrors()))
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .rowsPerSecond(rowsPerSecond(job))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.shutdownNow();
+        parser.shutdownNow();
+    }
+}
@@ -0,0 +1,104 @@
+package propertyservice.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.dto.PropertyDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ready-to-write JSON of the hot responses (single properties and the featured, city and agent pages),
+ * serialized and gzipped once per cache entry instead of on every request.
+ * A property is evicted by PropertyCacheEvictor; pages are keyed by the generation of their list (see
+ * PageCacheGenerations), so a page serialized from pre-commit data is never read. Each entry keeps the version of
+ * the data it was written from, and that version is its ETag: an entry still served after a write committed
+ * goes out under its own, older ETag, never under the new one.
+ */
+@Component
+@RequiredArgsConstructor
+public class PropertyJsonCache {
+
+    // Below this, gzip framing and the client's inflate cost more than the bytes saved
+    static final int MIN_GZIP_BYTES = 1024;
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final PageCacheGenerations pageCacheGenerations;
+
+    // A single property, versioned by the updatedAt of the property written
+    public SerializedJson getProperty(UUID id, Supplier<PropertyDto> property) {
+        return get(CacheConfig.jsonKey(CacheConfig.PROPERTY_BY_ID, id), () -> {
+            PropertyDto body = property.get();
+            return serialize(body, null, PropertyService.versionOf(body));
+        });
+    }
+
+    /**
+     * One page of a list, whose items are written and whose cursor is kept aside. The version is read
+     * before the page, so the page is never older than the version it is stored with.
+     *
+     * @param scopeId the city or agent of the list, PageCacheGenerations.ALL for the featured list
+     * @param pageKey "<full|summary>:<cursor>:<limit>"
+     * @param page    a read straight from the database; a cached page may predate the version
+     */
+    public SerializedJson getPage(String cacheName, Object scopeId, String pageKey, Supplier<String> version,
+                                  Supplier<? extends CursorPage<?>> page) {
+        // The generation is taken before anything is read, so a write committing meanwhile retires this key
+        String key = pageCacheGenerations.key(cacheName, scopeId, pageKey);
+        return get(CacheConfig.jsonKey(cacheName, key), () -> {
+            String current = version.get();
+            CursorPage<?> body = page.get();
+            return serialize(body.getItems(), body.getNextCursor(), current);
+        });
+    }
+
+    private SerializedJson get(String key, Callable<SerializedJson> load) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.PROPERTY_JSON),
+                "Cache not configured: " + CacheConfig.PROPERTY_JSON);
+        try {
+            // Loads are synchronized per key, so a hot entry is serialized once
+            return cache.get(key, load);
+        } catch (Cache.ValueRetrievalException e) {
+            // Let not-found and validation errors through unwrapped for GlobalExceptionHandler
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private SerializedJson serialize(Object body, String nextCursor, String version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new SerializedJson(json, gzip(json), nextCursor, version);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        if (json.length < MIN_GZIP_BYTES) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
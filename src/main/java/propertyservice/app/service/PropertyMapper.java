@@ -0,0 +1,137 @@
+package propertyservice.app.service;
+
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyFeature;
+import propertyservice.app.entity.PropertyImage;
+import propertyservice.app.entity.PropertyReadModel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// Entity -> DTO and write side -> read model conversion shared by PropertyService, the cache loaders
+// and the read model projector
+public final class PropertyMapper {
+
+    private PropertyMapper() {
+    }
+
+    public static PropertyDto toDto(Property property) {
+        // Extract image URLs and features - collections are already loaded via fetch joins
+        List<String> imageUrls = extractImageUrls(property.getImages());
+        List<String> features = extractFeatureNames(property.getFeatures());
+
+        return PropertyDto.builder()
+                .id(property.getId())
+                .title(property.getTitle())
+                .description(property.getDescription())
+                .price(property.getPrice())
+                .agentId(property.getAgentId())
+                .cityId(property.getCityId())
+                .propertyTypeId(property.getPropertyTypeId())
+                .status(property.getStatus())
+                .bedrooms(property.getBedrooms())
+                .bathrooms(property.getBathrooms())
+                .squareFeet(property.getSquareFeet())
+                .address(property.getAddress())
+                .isFeatured(property.getIsFeatured())
+                .createdAt(property.getCreatedAt())
+                .updatedAt(property.getUpdatedAt())
+                .imageUrls(imageUrls)
+                .features(features)
+                .build();
+    }
+
+    public static PropertyDto toDto(PropertyReadModel row) {
+        return PropertyDto.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .price(row.getPrice())
+                .agentId(row.getAgentId())
+                .cityId(row.getCityId())
+                .propertyTypeId(row.getPropertyTypeId())
+                .status(row.getStatus())
+                .bedrooms(row.getBedrooms())
+                .bathrooms(row.getBathrooms())
+                .squareFeet(row.getSquareFeet())
+                .address(row.getAddress())
+                .isFeatured(row.getIsFeatured())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .imageUrls(row.getImageUrls() != null ? new ArrayList<>(row.getImageUrls()) : new ArrayList<>())
+                .features(row.getFeatures() != null ? new ArrayList<>(row.getFeatures()) : new ArrayList<>())
+                .build();
+    }
+
+    public static PropertyReadModel toReadModel(Property property) {
+        return toReadModel(property, property.getImages(), property.getFeatures());
+    }
+
+    // With collections loaded in bulk for a whole page, see PropertyCollectionsRepository
+    public static PropertyReadModel toReadModel(Property property, List<PropertyImage> images,
+                                                List<PropertyFeature> features) {
+        return PropertyReadModel.builder()
+                .id(property.getId())
+                .title(property.getTitle())
+                .description(property.getDescription())
+                .price(property.getPrice())
+                .agentId(property.getAgentId())
+                .cityId(property.getCityId())
+                .propertyTypeId(property.getPropertyTypeId())
+                .status(property.getStatus())
+                .bedrooms(property.getBedrooms())
+                .bathrooms(property.getBathrooms())
+                .squareFeet(property.getSquareFeet())
+                .address(property.getAddress())
+                .isFeatured(property.getIsFeatured())
+                .createdAt(property.getCreatedAt())
+                .updatedAt(property.getUpdatedAt())
+                .primaryImageUrl(primaryImageUrl(images))
+                .imageUrls(extractImageUrls(images))
+                .features(extractFeatureNames(features))
+                .build();
+    }
+
+    // Smallest URL among the images flagged primary, null when none is
+    private static String primaryImageUrl(List<PropertyImage> images) {
+        if (images == null) {
+            return null;
+        }
+        return images.stream()
+                .filter(image -> Boolean.TRUE.equals(image.getIsPrimary()))
+                .map(PropertyImage::getImageUrl)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    private static List<String> extractImageUrls(List<PropertyImage> images) {
+        if (images == null || images.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return images.stream()
+                .map(PropertyImage::getImageUrl)
+                .filter(url -> url != null && !url.trim().isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> extractFeatureNames(List<PropertyFeature> features) {
+        if (features == null || features.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return features.stream()
+                .map(PropertyFeature::getFeatureName)
+                .filter(name -> name != null && !name.trim().isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public static List<PropertyDto> toDtoList(List<PropertyReadModel> rows) {
+        return rows.stream()
+                .map(PropertyMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package propertyservice.app.service;
+
+import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.repository.PropertyCollections;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import propertyservice.app.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps PropertyReadModel in step with Property. Called by the PropertyService write paths
+ * inside their own transaction, so the read row commits or rolls back together with the change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PropertyReadModelProjector {
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyReadModelRepository propertyReadModelRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void project(Property property) {
+        // updatedAt is stamped by @PreUpdate at flush time, flush first so the read row gets the final value
+        propertyRepository.flush();
+        PropertyReadModel row = PropertyMapper.toReadModel(property);
+        row.setNewRow(!propertyReadModelRepository.existsById(property.getId()));
+        propertyReadModelRepository.save(row);
+    }
+
+    // Properties persisted in this transaction by a bulk create: their collections are still the
+    // in-memory lists and no row can exist yet, so the rows are inserted without any reads
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void projectCreated(List<Property> properties) {
+        propertyReadModelRepository.saveAll(properties.stream()
+                .map(PropertyMapper::toReadModel)
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(UUID propertyId) {
+        propertyReadModelRepository.deleteById(propertyId);
+    }
+
+    /**
+     * Rebuild step for one chunk of properties. Collections are loaded with one query each for the
+     * whole chunk. The current rows are read locked, so they are the latest committed ones even though
+     * the chunk was read from an older snapshot (REPEATABLE READ), and no live projection can write them
+     * until the chunk commits. A row written by a newer change (later updatedAt) is left alone,
+     * so a rebuild never rolls a property back.
+     *
+     * @return the number of rows written
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int projectAll(List<Property> properties) {
+        List<UUID> ids = properties.stream().map(Property::getId).toList();
+        PropertyCollections collections = propertyRepository.findCollectionsByPropertyIdIn(ids);
+        Map<UUID, PropertyReadModel> existing = propertyReadModelRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(PropertyReadModel::getId, Function.identity()));
+        List<PropertyReadModel> rows = properties.stream()
+                .filter(property -> isNotOlder(property, existing.get(property.getId())))
+                .map(property -> {
+                    PropertyReadModel row = PropertyMapper.toReadModel(property,
+                            collections.imagesOf(property.getId()), collections.featuresOf(property.getId()));
+                    row.setNewRow(!existing.containsKey(property.getId()));
+                    return row;
+                })
+                .toList();
+        propertyReadModelRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private static boolean isNotOlder(Property property, PropertyReadModel current) {
+        return current == null || current.getUpdatedAt() == null || property.getUpdatedAt() == null
+                || !property.getUpdatedAt().isBefore(current.getUpdatedAt());
+    }
+}
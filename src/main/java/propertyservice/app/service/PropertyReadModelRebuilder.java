@@ -0,0 +1,126 @@
+package propertyservice.app.service;
+
+import propertyservice.app.entity.Property;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import propertyservice.app.repository.PropertyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Backfills PropertyReadModel from the properties tables in keyset chunks, one transaction per chunk,
+ * then drops rows of properties that no longer exist. Reads stay available meanwhile.
+ * Runs on startup when the read model is empty but properties exist (first deployment),
+ * and on demand through POST /api/v1/properties/read-model/rebuild.
+ */
+@Slf4j
+@Component
+public class PropertyReadModelRebuilder {
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyReadModelRepository propertyReadModelRepository;
+    private final PropertyReadModelProjector propertyReadModelProjector;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "read-model-rebuild"));
+
+    @Value("${app.read-model.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.read-model.rebuild-chunk-size:500}")
+    private int chunkSize;
+
+    public PropertyReadModelRebuilder(PropertyRepository propertyRepository,
+                                      PropertyReadModelRepository propertyReadModelRepository,
+                                      PropertyReadModelProjector propertyReadModelProjector,
+                                      PlatformTransactionManager transactionManager) {
+        this.propertyRepository = propertyRepository;
+        this.propertyReadModelRepository = propertyReadModelRepository;
+        this.propertyReadModelProjector = propertyReadModelProjector;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A chunk reads its properties and then their collections, one snapshot for all of them
+        // (MySQL's default, set for any database)
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // Runs before the search index rebuild, which reads through the read model
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        if (backfillOnStartup && propertyReadModelRepository.count() == 0 && propertyRepository.count() > 0) {
+            log.info("Read model is empty, backfilling it from the properties tables");
+            rebuild();
+        }
+    }
+
+    public void rebuildAsync() {
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                log.error("Read model rebuild failed", ex);
+            }
+        });
+    }
+
+    public synchronized long rebuild() {
+        long startedAt = System.currentTimeMillis();
+        long written = 0;
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Property> chunk;
+        do {
+            chunk = projectChunk(position);
+            written += chunk.size();
+            if (!chunk.isEmpty()) {
+                position = chunk.positionAt(chunk.size() - 1);
+            }
+        } while (chunk.hasNext());
+        Integer orphans = transactionTemplate.execute(status -> propertyReadModelRepository.deleteOrphans());
+        log.info("Rebuilt read model from {} properties ({} orphaned rows removed) in {} ms",
+                written, orphans, System.currentTimeMillis() - startedAt);
+        return written;
+    }
+
+    // The locking read of a chunk's rows can lose to a live projection: a deadlock on MySQL, or a row changed
+    // after the chunk's snapshot on databases that refuse to lock it then (H2, PostgreSQL). Nothing of the
+    // chunk is written in that case; it is read again in a new transaction.
+    private Window<Property> projectChunk(ScrollPosition from) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Window<Property> window = propertyRepository.findAllBy(from, PageCursor.SORT, Limit.of(chunkSize));
+                    propertyReadModelProjector.projectAll(window.getContent());
+                    return window;
+                });
+            } catch (PessimisticLockingFailureException ex) {
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Read model chunk lost a row lock to a live change, retrying it: {}", ex.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,45 @@
+package propertyservice.app.service;
+
+import propertyservice.app.dto.PropertyCreateDto;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Agent, city and property type checks for the items of one bulk create or import run. Each distinct id
+ * is asked once (through ReferenceExistenceCache) and remembered for the rest of the run, even after
+ * the shared cache has let it go. As for a single create, only an explicit false
+ * counts as missing. Not thread-safe, a run uses it from one thread.
+ */
+class PropertyReferenceLookups {
+
+    private final ReferenceExistenceCache referenceExistenceCache;
+
+    private final Map<UUID, Boolean> agents = new HashMap<>();
+    private final Map<UUID, Boolean> cities = new HashMap<>();
+    private final Map<UUID, Boolean> propertyTypes = new HashMap<>();
+
+    PropertyReferenceLookups(ReferenceExistenceCache referenceExistenceCache) {
+        this.referenceExistenceCache = referenceExistenceCache;
+    }
+
+    // The first reference of the item that does not exist, null when all do
+    String missingReference(PropertyCreateDto dto) {
+        if (!exists(agents, dto.getAgentId(), referenceExistenceCache::agentExists)) {
+            return "Agent not found with id: " + dto.getAgentId();
+        }
+        if (!exists(cities, dto.getCityId(), referenceExistenceCache::cityExists)) {
+            return "City not found with id: " + dto.getCityId();
+        }
+        if (!exists(propertyTypes, dto.getPropertyTypeId(), referenceExistenceCache::propertyTypeExists)) {
+            return "Property type not found with id: " + dto.getPropertyTypeId();
+        }
+        return null;
+    }
+
+    private static boolean exists(Map<UUID, Boolean> known, UUID id, Function<UUID, Boolean> existenceChecker) {
+        return known.computeIfAbsent(id, key -> !Boolean.FALSE.equals(existenceChecker.apply(key)));
+    }
+}
@@ -0,0 +1,135 @@
+package propertyservice.app.service;
+
+import propertyservice.app.config.BlockingExecutors;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.exeption.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Existence checks of the agent, city and property type a single write refers to, answered from
+ * ReferenceExistenceCache where possible. Checks that miss the cache go to the three services at the
+ * same time, so a write waits for the slowest answer instead of the sum of all three, and all of them
+ * together for at most app.reference-check.timeout. A check still running then is interrupted; a call
+ * blocked on the network ends at the Feign read timeout, which is kept below the deadline. At most
+ * app.reference-check.queue-capacity checks wait for a thread, beyond that writes are turned away.
+ * A reference reported missing is a 400 (InvalidRequestException), a service that fails or does not
+ * answer in time, or a check that finds the queue full, a 503 (ServiceUnavailableException).
+ * As before, only an explicit false counts as missing.
+ */
+@Slf4j
+@Component
+class PropertyReferenceValidator {
+
+    private final ReferenceExistenceCache referenceExistenceCache;
+    private final ExecutorService executor;
+
+    @Value("${app.reference-check.timeout:2s}")
+    private Duration timeout;
+
+    PropertyReferenceValidator(ReferenceExistenceCache referenceExistenceCache,
+                               @Value("${app.reference-check.threads:16}") int threads,
+                               @Value("${app.reference-check.queue-capacity:64}") int queueCapacity,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.referenceExistenceCache = referenceExistenceCache;
+        this.executor = BlockingExecutors.bounded("property-reference-check-", threads, queueCapacity, virtualThreads);
+    }
+
+    // Null ids are not checked, so an update passes only the references it changes
+    void validate(UUID agentId, UUID cityId, UUID propertyTypeId) {
+        List<Check> checks = new ArrayList<>(3);
+        try {
+            submit(checks, "Agent", CacheConfig.AGENT_EXISTS, agentId);
+            submit(checks, "City", CacheConfig.CITY_EXISTS, cityId);
+            submit(checks, "Property type", CacheConfig.PROPERTY_TYPE_EXISTS, propertyTypeId);
+        } catch (RejectedExecutionException ex) {
+            cancelAll(checks);
+            log.warn("Reference check rejected, every check thread is busy and the queue is full");
+            throw new ServiceUnavailableException("Too many reference checks in progress", ex);
+        }
+        if (checks.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Check check : checks) {
+                await(check.result(), deadline);
+            }
+        } catch (InterruptedException ex) {
+            cancelAll(checks);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while checking references", ex);
+        }
+        String pending = checks.stream()
+                .filter(check -> !check.result().isDone())
+                .map(Check::entityName)
+                .collect(Collectors.joining(", "));
+        if (!pending.isEmpty()) {
+            cancelAll(checks);
+            log.warn("{} check did not answer within {}, interrupted it", pending, timeout);
+            throw new ServiceUnavailableException(pending + " check did not answer within " + timeout.toMillis() + "ms");
+        }
+
+        // Agent, city, property type: the error reported does not depend on which answer arrived first
+        for (Check check : checks) {
+            if (check.result().state() == Future.State.FAILED) {
+                Throwable cause = check.result().exceptionNow();
+                log.warn("{} check for {} failed", check.entityName(), check.id(), cause);
+                throw new ServiceUnavailableException(check.entityName() + " service unavailable: "
+                        + cause.getMessage(), cause);
+            }
+            Boolean exists = check.result().resultNow();
+            if (Boolean.FALSE.equals(exists)) {
+                log.warn("{} not found with id: {}", check.entityName(), check.id());
+                throw new InvalidRequestException(check.entityName() + " not found with id: " + check.id());
+            }
+        }
+    }
+
+    // A FutureTask run by the executor itself, so cancel(true) interrupts the thread running the check
+    private void submit(List<Check> checks, String entityName, String cacheName, UUID id) {
+        if (id != null) {
+            FutureTask<Boolean> result = new FutureTask<>(() -> referenceExistenceCache.exists(cacheName, id));
+            executor.execute(result);
+            checks.add(new Check(entityName, id, result));
+        }
+    }
+
+    // Waits until the check is done or the deadline passes, whichever comes first
+    private static void await(Future<Boolean> result, long deadline) throws InterruptedException {
+        try {
+            result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException ex) {
+            // A failed or pending check is reported by the caller
+        }
+    }
+
+    private static void cancelAll(List<Check> checks) {
+        checks.forEach(check -> check.result().cancel(true));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Check(String entityName, UUID id, Future<Boolean> result) {
+    }
+}
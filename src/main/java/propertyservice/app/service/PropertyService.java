@@ -1,23 +1,40 @@
 package propertyservice.app.service;
 
+import propertyservice.app.config.CacheConfig;
 import propertyservice.app.dto.*;
 import propertyservice.app.entity.Property;
 import propertyservice.app.entity.PropertyFeature;
 import propertyservice.app.entity.PropertyImage;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.event.PropertyChangedEvent;
+import propertyservice.app.exeption.InvalidRequestException;
 import propertyservice.app.exeption.PropertyNotFoundException;
+import propertyservice.app.repository.PropertyReadModelRepository;
 import propertyservice.app.repository.PropertyRepository;
-import propertyservice.app.client.AgentServiceClient;
-import propertyservice.app.client.CityServiceClient;
-import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.repository.PropertySpecifications;
+import propertyservice.app.repository.PropertyVersion;
+import propertyservice.app.search.FacetQuery;
+import propertyservice.app.search.PropertyFacetIndex;
+import propertyservice.app.search.PropertySearchIndex;
+import propertyservice.app.search.SearchHits;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -28,89 +45,86 @@ import java.util.stream.Collectors;
 public class PropertyService {
 
     private final PropertyRepository propertyRepository;
-    private final AgentServiceClient agentServiceClient;
-    private final CityServiceClient cityServiceClient;
-    private final PropertyTypeServiceClient propertyTypeServiceClient;
+    private final PropertyReadModelRepository propertyReadModelRepository;
+    private final PropertyReadModelProjector propertyReadModelProjector;
+    private final PropertyReferenceValidator propertyReferenceValidator;
+    private final PropertySearchIndex propertySearchIndex;
+    private final PropertyFacetIndex propertyFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public List<PropertyDto> getAllProperties() {
-        log.info("Fetching all properties from database");
-        List<Property> properties = propertyRepository.findAll();
-        log.info("Found {} properties in database", properties.size());
-        List<PropertyDto> result = convertToDtoList(properties);
-        log.info("Converted to {} DTOs", result.size());
-        return result;
+    public CursorPage<PropertyDto> getAllProperties(String cursor, Integer limit) {
+        log.debug("Fetching properties page after cursor: {}", cursor);
+        return toPage(propertyReadModelRepository.findAllBy(
+                scrollPosition(cursor), PageCursor.SORT, PageCursor.limit(limit)));
     }
 
+    // Uncapped keyset chunk for bulk export, see PropertyExportService
     @Transactional(readOnly = true)
+    public CursorPage<PropertyDto> getPropertiesChunk(String cursor, int chunkSize) {
+        return toPage(propertyReadModelRepository.findAllBy(
+                scrollPosition(cursor), PageCursor.SORT, Limit.of(chunkSize)));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PROPERTY_BY_ID, key = "#id")
     public PropertyDto getPropertyById(UUID id) {
         log.debug("Fetching property with id: {}", id);
-        Property property = propertyRepository.findById(id)
+        return propertyReadModelRepository.findById(id)
+                .map(PropertyMapper::toDto)
                 .orElseThrow(() -> new PropertyNotFoundException("Property not found with id: " + id));
-        return convertToDto(property);
+    }
+
+    // Version of a single property for its ETag, read without loading the entity
+    @Transactional(readOnly = true)
+    public String getPropertyVersion(UUID id) {
+        PropertyVersion version = propertyReadModelRepository.findVersion(PropertySpecifications.hasId(id));
+        if (version.count() == 0) {
+            throw new PropertyNotFoundException("Property not found with id: " + id);
+        }
+        return encodeVersion(version);
+    }
+
+    // Version of everything a list or search matches for its ETag. Text searches are versioned by their
+    // filters alone, which can only make the ETag change more often than the results do.
+    @Transactional(readOnly = true)
+    public String getListVersion(PropertySearchCriteria criteria) {
+        validateSearch(criteria);
+        return encodeVersion(propertyReadModelRepository.findVersion(PropertySpecifications.matching(criteria)));
     }
 
     @Transactional
-    @CacheEvict(value = "allProperties", allEntries = true)
     public PropertyDto createProperty(PropertyCreateDto dto) {
         log.info("Creating new property with title: {}", dto.getTitle());
         
-        // Validate foreign keys
-        validateAgent(dto.getAgentId());
-        validateCity(dto.getCityId());
-        validatePropertyType(dto.getPropertyTypeId());
-
-        // Create property
-        Property property = Property.builder()
-                .title(dto.getTitle())
-                .description(dto.getDescription())
-                .price(dto.getPrice())
-                .agentId(dto.getAgentId())
-                .cityId(dto.getCityId())
-                .propertyTypeId(dto.getPropertyTypeId())
-                .status(dto.getStatus())
-                .bedrooms(dto.getBedrooms())
-                .bathrooms(dto.getBathrooms())
-                .squareFeet(dto.getSquareFeet())
-                .address(dto.getAddress())
-                .isFeatured(false)
-                .build();
+        // Validate foreign keys, the three services are asked concurrently
+        propertyReferenceValidator.validate(dto.getAgentId(), dto.getCityId(), dto.getPropertyTypeId());
 
-        // Lists are initialized via @Builder.Default in Property entity
-
-        // Add features
-        addFeaturesToProperty(property, dto.getFeatures());
-
-        // Add images
-        addImagesToProperty(property, dto.getImageUrls());
+        Property property = newProperty(dto);
 
         // Save property 
         Property savedProperty = propertyRepository.save(property);
         log.info("Property created successfully with id: {}", savedProperty.getId());
         
-        return convertToDto(reloadPropertyWithRelations(savedProperty.getId()));
+        Property reloaded = reloadPropertyWithRelations(savedProperty.getId());
+        propertyReadModelProjector.project(reloaded);
+        PropertyDto created = PropertyMapper.toDto(reloaded);
+        eventPublisher.publishEvent(new PropertyChangedEvent(created.getId(), null, created));
+        return created;
     }
 
     @Transactional
-    @CacheEvict(value = "allProperties", allEntries = true)
     public PropertyDto updateProperty(UUID id, PropertyUpdateDto dto) {
         log.info("Updating property with id: {}", id);
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new PropertyNotFoundException("Property not found with id: " + id));
+        PropertyDto previous = PropertyMapper.toDto(property);
 
         // Validate and update foreign keys if provided
-        if (dto.getAgentId() != null) {
-            validateAgent(dto.getAgentId());
-            property.setAgentId(dto.getAgentId());
-        }
-        if (dto.getCityId() != null) {
-            validateCity(dto.getCityId());
-            property.setCityId(dto.getCityId());
-        }
-        if (dto.getPropertyTypeId() != null) {
-            validatePropertyType(dto.getPropertyTypeId());
-            property.setPropertyTypeId(dto.getPropertyTypeId());
-        }
+        propertyReferenceValidator.validate(dto.getAgentId(), dto.getCityId(), dto.getPropertyTypeId());
+        if (dto.getAgentId() != null) property.setAgentId(dto.getAgentId());
+        if (dto.getCityId() != null) property.setCityId(dto.getCityId());
+        if (dto.getPropertyTypeId() != null) property.setPropertyTypeId(dto.getPropertyTypeId());
 
         // Update fields
         if (dto.getTitle() != null) property.setTitle(dto.getTitle());
@@ -126,139 +140,278 @@ public class PropertyService {
         if (dto.getFeatures() != null) {
             property.getFeatures().clear();
             addFeaturesToProperty(property, dto.getFeatures());
+            property.markUpdated();
         }
 
         Property updatedProperty = propertyRepository.save(property);
-        return convertToDto(reloadPropertyWithRelations(updatedProperty.getId()));
+        Property reloaded = reloadPropertyWithRelations(updatedProperty.getId());
+        propertyReadModelProjector.project(reloaded);
+        PropertyDto updated = PropertyMapper.toDto(reloaded);
+        eventPublisher.publishEvent(new PropertyChangedEvent(id, previous, updated));
+        return updated;
     }
 
     @Transactional
-    @CacheEvict(value = "allProperties", allEntries = true)
     public void deleteProperty(UUID id) {
         log.info("Deleting property with id: {}", id);
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new PropertyNotFoundException("Property not found with id: " + id));
+        PropertyDto previous = PropertyMapper.toDto(property);
         propertyRepository.delete(property);
+        propertyReadModelProjector.remove(id);
+        eventPublisher.publishEvent(new PropertyChangedEvent(id, previous, null));
         // Transaction will commit the delete automatically
         log.info("Property deleted successfully with id: {}", id);
     }
 
     @Transactional(readOnly = true)
-    public List<PropertyDto> getFeaturedProperties() {
+    @Cacheable(cacheNames = CacheConfig.FEATURED_PROPERTIES, key = "@pageCacheGenerations.key(#root.caches[0].name, 'all', 'full:' + #cursor + ':' + #limit)",
+            sync = true)
+    public CursorPage<PropertyDto> getFeaturedProperties(String cursor, Integer limit) {
         log.debug("Fetching featured properties");
-        return convertToDtoList(propertyRepository.findByIsFeaturedTrue());
+        return toPage(propertyReadModelRepository.findByIsFeaturedTrue(
+                scrollPosition(cursor), PageCursor.SORT, PageCursor.limit(limit)));
     }
 
     @Transactional
-    @CacheEvict(value = "allProperties", allEntries = true)
     public void toggleFeatured(UUID id) {
         log.info("Toggling featured status for property with id: {}", id);
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new PropertyNotFoundException("Property not found with id: " + id));
+        PropertyDto previous = PropertyMapper.toDto(property);
         property.setIsFeatured(!property.getIsFeatured());
         propertyRepository.save(property);
+        propertyReadModelProjector.project(property);
+        eventPublisher.publishEvent(new PropertyChangedEvent(id, previous, PropertyMapper.toDto(property)));
         log.info("Property featured status updated to: {}", property.getIsFeatured());
     }
 
     @Transactional(readOnly = true)
-    public List<PropertyDto> searchProperties(String search, UUID cityId, UUID propertyTypeId, BigDecimal maxPrice) {
-        log.debug("Searching properties with search: {}, cityId: {}, propertyTypeId: {}, maxPrice: {}", 
-                search, cityId, propertyTypeId, maxPrice);
-        return convertToDtoList(propertyRepository.searchProperties(search, cityId, propertyTypeId, maxPrice));
+    public CursorPage<PropertyDto> searchProperties(PropertySearchCriteria criteria, String cursor, Integer limit) {
+        log.debug("Searching properties with criteria: {}", criteria);
+        PropertySort sort = validateSearch(criteria);
+        int pageSize = PageCursor.limit(limit).max();
+        if (criteria.hasText()) {
+            return searchByText(criteria, cursor, pageSize);
+        }
+        Window<PropertyReadModel> window = propertyReadModelRepository.findBy(PropertySpecifications.matching(criteria),
+                query -> query.sortBy(sort.sort()).limit(pageSize).scroll(sort.position(cursor)));
+        return toPage(window, sort);
+    }
+
+    // Served entirely from the in-memory indexes, the database is not touched
+    public FacetCountsDto getFacetCounts(FacetQuery query) {
+        log.debug("Counting facets for {}", query);
+        List<UUID> matchingIds = query.hasSearch() ? propertySearchIndex.matchingIds(query.getSearch()) : null;
+        return propertyFacetIndex.count(query, matchingIds);
     }
 
     @Transactional(readOnly = true)
-    public List<PropertyDto> getPropertiesByAgent(UUID agentId) {
+    @Cacheable(cacheNames = CacheConfig.PROPERTIES_BY_AGENT, key = "@pageCacheGenerations.key(#root.caches[0].name, #agentId, 'full:' + #cursor + ':' + #limit)",
+            sync = true)
+    public CursorPage<PropertyDto> getPropertiesByAgent(UUID agentId, String cursor, Integer limit) {
         log.debug("Fetching properties for agent with id: {}", agentId);
-        return convertToDtoList(propertyRepository.findByAgentId(agentId));
+        return toPage(propertyReadModelRepository.findByAgentId(
+                agentId, scrollPosition(cursor), PageCursor.SORT, PageCursor.limit(limit)));
     }
 
     @Transactional(readOnly = true)
-    public List<PropertyDto> getPropertiesByCity(UUID cityId) {
+    @Cacheable(cacheNames = CacheConfig.PROPERTIES_BY_CITY, key = "@pageCacheGenerations.key(#root.caches[0].name, #cityId, 'full:' + #cursor + ':' + #limit)",
+            sync = true)
+    public CursorPage<PropertyDto> getPropertiesByCity(UUID cityId, String cursor, Integer limit) {
         log.debug("Fetching properties for city with id: {}", cityId);
-        return convertToDtoList(propertyRepository.findByCityId(cityId));
+        return toPage(propertyReadModelRepository.findByCityId(
+                cityId, scrollPosition(cursor), PageCursor.SORT, PageCursor.limit(limit)));
     }
 
-    private PropertyDto convertToDto(Property property) {
-        // Extract image URLs and features - collections are already loaded via fetch joins
-        List<String> imageUrls = extractImageUrls(property.getImages());
-        List<String> features = extractFeatureNames(property.getFeatures());
-
-        return PropertyDto.builder()
-                .id(property.getId())
-                .title(property.getTitle())
-                .description(property.getDescription())
-                .price(property.getPrice())
-                .agentId(property.getAgentId())
-                .cityId(property.getCityId())
-                .propertyTypeId(property.getPropertyTypeId())
-                .status(property.getStatus())
-                .bedrooms(property.getBedrooms())
-                .bathrooms(property.getBathrooms())
-                .squareFeet(property.getSquareFeet())
-                .address(property.getAddress())
-                .isFeatured(property.getIsFeatured())
-                .createdAt(property.getCreatedAt())
-                .updatedAt(property.getUpdatedAt())
-                .imageUrls(imageUrls)
-                .features(features)
-                .build();
+    // Summary views of the list endpoints (?view=summary), projected straight from the columns
+    
+    @Transactional(readOnly = true)
+    public CursorPage<PropertySummaryDto> getAllPropertySummaries(String cursor, Integer limit) {
+        log.debug("Fetching property summaries after cursor: {}", cursor);
+        return summaryPage(PropertySpecifications.matching(new PropertySearchCriteria()),
+                PropertySort.NEWEST, cursor, limit);
     }
-
-    private List<String> extractImageUrls(List<PropertyImage> images) {
-        if (images == null || images.isEmpty()) {
-            return new ArrayList<>();
+    
+    @Transactional(readOnly = true)
+    public CursorPage<PropertySummaryDto> searchPropertySummaries(PropertySearchCriteria criteria, String cursor,
+                                                                  Integer limit) {
+        log.debug("Searching property summaries with criteria: {}", criteria);
+        PropertySort sort = validateSearch(criteria);
+        if (criteria.hasText()) {
+            SearchHits hits = propertySearchIndex.search(criteria, cursor, PageCursor.limit(limit).max());
+            Map<UUID, PropertySummaryDto> rowsById = propertyReadModelRepository.findSummariesByIdIn(hits.getIds()).stream()
+                    .collect(Collectors.toMap(PropertySummaryDto::getId, Function.identity()));
+            return CursorPage.<PropertySummaryDto>builder()
+                    .items(inRankOrder(hits, rowsById))
+                    .nextCursor(hits.getNextCursor())
+                    .build();
         }
-        return images.stream()
-                .map(PropertyImage::getImageUrl)
-                .filter(url -> url != null && !url.trim().isEmpty())
-                .collect(Collectors.toList());
+        return summaryPage(PropertySpecifications.matching(criteria), sort, cursor, limit);
     }
 
-    private List<String> extractFeatureNames(List<PropertyFeature> features) {
-        if (features == null || features.isEmpty()) {
-            return new ArrayList<>();
+    // Sparse reads (?fields=): only the requested columns are selected
+    
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPropertyFields(UUID id, PropertyFields fields) {
+        log.debug("Fetching fields of property with id: {}", id);
+        List<Map<String, Object>> rows = propertyReadModelRepository.findAttributesByIdIn(List.of(id), fields.columns("id"));
+        if (rows.isEmpty()) {
+            throw new PropertyNotFoundException("Property not found with id: " + id);
         }
-        return features.stream()
-                .map(PropertyFeature::getFeatureName)
-                .filter(name -> name != null && !name.trim().isEmpty())
-                .collect(Collectors.toList());
+        return withRequestedFields(rows, fields).get(0);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> searchPropertyFields(PropertySearchCriteria criteria, PropertyFields fields,
+                                                                String cursor, Integer limit) {
+        log.debug("Searching property fields with criteria: {}", criteria);
+        PropertySort sort = validateSearch(criteria);
+        int pageSize = PageCursor.limit(limit).max();
+        if (criteria.hasText()) {
+            SearchHits hits = propertySearchIndex.search(criteria, cursor, pageSize);
+            Map<UUID, Map<String, Object>> rowsById = propertyReadModelRepository
+                    .findAttributesByIdIn(hits.getIds(), fields.columns("id")).stream()
+                    .collect(Collectors.toMap(row -> (UUID) row.get("id"), Function.identity()));
+            return CursorPage.<Map<String, Object>>builder()
+                    .items(withRequestedFields(inRankOrder(hits, rowsById), fields))
+                    .nextCursor(hits.getNextCursor())
+                    .build();
+        }
+        // Read one extra row to find out whether there is a next page
+        List<Map<String, Object>> rows = propertyReadModelRepository.findAttributes(PropertySpecifications.matching(criteria),
+                sort.sort(), sort.position(cursor), Limit.of(pageSize + 1), fields.columns("id", sort.getKey()));
+        boolean hasNext = rows.size() > pageSize;
+        List<Map<String, Object>> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return CursorPage.<Map<String, Object>>builder()
+                .items(withRequestedFields(page, fields))
+                .nextCursor(hasNext ? sort.encode(page.get(page.size() - 1)) : null)
+                .build();
     }
 
     // Helper methods to reduce code duplication
     
-    private List<PropertyDto> convertToDtoList(List<Property> properties) {
-        return properties.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // Version of a property already read, equal to what getPropertyVersion returns for that state
+    static String versionOf(PropertyDto property) {
+        return encodeVersion(new PropertyVersion(1L, property.getUpdatedAt()));
     }
     
-    private Property reloadPropertyWithRelations(UUID id) {
-        return propertyRepository.findById(id)
-                .orElseThrow(() -> new PropertyNotFoundException("Property not found with id: " + id));
+    // "<count>-<latest updatedAt in epoch micros, base 36>"
+    private static String encodeVersion(PropertyVersion version) {
+        LocalDateTime lastUpdatedAt = version.lastUpdatedAt();
+        long micros = lastUpdatedAt == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, lastUpdatedAt.toInstant(ZoneOffset.UTC));
+        return version.count() + "-" + Long.toString(micros, 36);
     }
     
-    private void validateAgent(UUID agentId) {
-        validateEntityExists(agentId, agentServiceClient::agentExists, "Agent");
+    // Collections are plain columns of the read model, so only the trim to the selection is left
+    private List<Map<String, Object>> withRequestedFields(List<Map<String, Object>> rows, PropertyFields fields) {
+        return rows.stream().map(fields::project).collect(Collectors.toList());
+    }
+    
+    private CursorPage<PropertySummaryDto> summaryPage(Specification<PropertyReadModel> spec, PropertySort sort,
+                                                       String cursor, Integer limit) {
+        int pageSize = PageCursor.limit(limit).max();
+        // Read one extra row to find out whether there is a next page
+        List<PropertySummaryDto> rows = propertyReadModelRepository.findSummaries(
+                spec, sort.sort(), sort.position(cursor), Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<PropertySummaryDto> items = hasNext ? rows.subList(0, pageSize) : rows;
+        return CursorPage.<PropertySummaryDto>builder()
+                .items(items)
+                .nextCursor(hasNext ? sort.encode(items.get(items.size() - 1)) : null)
+                .build();
+    }
+    
+    // Index hits in relevance order, skipping ids deleted since they were indexed
+    private static <T> List<T> inRankOrder(SearchHits hits, Map<UUID, T> rowsById) {
+        return hits.getIds().stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
     
-    private void validateCity(UUID cityId) {
-        validateEntityExists(cityId, cityServiceClient::cityExists, "City");
+    // Relevance-ranked ids come from the search index, the rows themselves from the read model
+    // Text matches are ranked by relevance, the sort option only applies to filter-only searches
+    private CursorPage<PropertyDto> searchByText(PropertySearchCriteria criteria, String cursor, int pageSize) {
+        SearchHits hits = propertySearchIndex.search(criteria, cursor, pageSize);
+        Map<UUID, PropertyReadModel> rowsById = propertyReadModelRepository.findAllById(hits.getIds()).stream()
+                .collect(Collectors.toMap(PropertyReadModel::getId, Function.identity()));
+        return CursorPage.<PropertyDto>builder()
+                .items(PropertyMapper.toDtoList(inRankOrder(hits, rowsById)))
+                .nextCursor(hits.getNextCursor())
+                .build();
     }
     
-    private void validatePropertyType(UUID propertyTypeId) {
-        validateEntityExists(propertyTypeId, propertyTypeServiceClient::propertyTypeExists, "Property type");
+    private PropertySort validateSearch(PropertySearchCriteria criteria) {
+        validateRange("price", criteria.getMinPrice(), criteria.getMaxPrice());
+        validateRange("bedrooms", criteria.getMinBedrooms(), criteria.getMaxBedrooms());
+        validateRange("bathrooms", criteria.getMinBathrooms(), criteria.getMaxBathrooms());
+        validateRange("squareFeet", criteria.getMinSquareFeet(), criteria.getMaxSquareFeet());
+        return PropertySort.from(criteria.getSort());
     }
     
-    private void validateEntityExists(UUID id, Function<UUID, Boolean> existenceChecker, String entityName) {
-        Boolean exists = existenceChecker.apply(id);
-        if (Boolean.FALSE.equals(exists)) {
-            log.warn("{} not found with id: {}", entityName, id);
-            throw new RuntimeException(entityName + " not found with id: " + id);
+    private <T extends Comparable<? super T>> void validateRange(String name, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new InvalidRequestException("min" + capitalize(name) + " must not be greater than max" + capitalize(name));
         }
     }
     
-    private void addFeaturesToProperty(Property property, List<String> features) {
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+    
+    private ScrollPosition scrollPosition(String cursor) {
+        return PageCursor.position(PageCursor.decode(cursor));
+    }
+    
+    private CursorPage<PropertyDto> toPage(Window<PropertyReadModel> window) {
+        return toPage(window, PropertySort.NEWEST);
+    }
+    
+    private CursorPage<PropertyDto> toPage(Window<PropertyReadModel> window, PropertySort sort) {
+        List<PropertyReadModel> rows = window.getContent();
+        String nextCursor = window.hasNext() && !rows.isEmpty()
+                ? sort.encode(rows.get(rows.size() - 1))
+                : null;
+        return CursorPage.<PropertyDto>builder()
+                .items(PropertyMapper.toDtoList(rows))
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    private Property reloadPropertyWithRelations(UUID id) {
+        return propertyRepository.findById(id)
+                .orElseThrow(() -> new PropertyNotFoundException("Property not found with id: " + id));
+    }
+    
+    // Unsaved property with its features and images, shared with PropertyBulkService
+    static Property newProperty(PropertyCreateDto dto) {
+        Property property = Property.builder()
+                .title(dto.getTitle())
+                .description(dto.getDescription())
+                .price(dto.getPrice())
+                .agentId(dto.getAgentId())
+                .cityId(dto.getCityId())
+                .propertyTypeId(dto.getPropertyTypeId())
+                .status(dto.getStatus())
+                .bedrooms(dto.getBedrooms())
+                .bathrooms(dto.getBathrooms())
+                .squareFeet(dto.getSquareFeet())
+                .address(dto.getAddress())
+                .isFeatured(false)
+                .build();
+
+        // Lists are initialized via @Builder.Default in Property entity
+
+        // Add features
+        addFeaturesToProperty(property, dto.getFeatures());
+
+        // Add images
+        addImagesToProperty(property, dto.getImageUrls());
+        return property;
+    }
+    
+    private static void addFeaturesToProperty(Property property, List<String> features) {
         if (features != null && !features.isEmpty()) {
             log.debug("Adding {} features to property", features.size());
             for (String featureName : features) {
@@ -271,7 +424,7 @@ public class PropertyService {
         }
     }
     
-    private void addImagesToProperty(Property property, List<String> imageUrls) {
+    private static void addImagesToProperty(Property property, List<String> imageUrls) {
         if (imageUrls != null && !imageUrls.isEmpty()) {
             log.debug("Adding {} images to property", imageUrls.size());
             for (int i = 0; i < imageUrls.size(); i++) {
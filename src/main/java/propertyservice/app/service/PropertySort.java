@@ -0,0 +1,96 @@
+package propertyservice.app.service;
+
+import propertyservice.app.dto.PropertySummaryDto;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.exeption.InvalidRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Orderings offered by the filtered search. Each one is a sort key plus id as tiebreaker, so
+ * pages are keyset seeks like PageCursor; the cursor is the last row's key and id, and NEWEST
+ * cursors are interchangeable with PageCursor ones.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PropertySort {
+    NEWEST("newest", "createdAt", Sort.Direction.DESC,
+            PropertyReadModel::getCreatedAt, PropertySummaryDto::getCreatedAt, LocalDateTime::parse),
+    OLDEST("oldest", "createdAt", Sort.Direction.ASC,
+            PropertyReadModel::getCreatedAt, PropertySummaryDto::getCreatedAt, LocalDateTime::parse),
+    PRICE_ASC("price_asc", "price", Sort.Direction.ASC,
+            PropertyReadModel::getPrice, PropertySummaryDto::getPrice, BigDecimal::new),
+    PRICE_DESC("price_desc", "price", Sort.Direction.DESC,
+            PropertyReadModel::getPrice, PropertySummaryDto::getPrice, BigDecimal::new);
+
+    private static final String SEPARATOR = "|";
+
+    private final String parameterValue;
+    private final String key;
+    private final Sort.Direction direction;
+    private final Function<PropertyReadModel, Object> keyOf;
+    private final Function<PropertySummaryDto, Object> summaryKeyOf;
+    private final Function<String, Object> parseKey;
+
+    public static PropertySort from(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        for (PropertySort sort : values()) {
+            if (sort.parameterValue.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new InvalidRequestException("Unsupported sort: " + value);
+    }
+
+    public Sort sort() {
+        return Sort.by(new Sort.Order(direction, key), new Sort.Order(direction, "id"));
+    }
+
+    public String encode(PropertyReadModel last) {
+        return encode(keyOf.apply(last), last.getId());
+    }
+
+    public String encode(PropertySummaryDto last) {
+        return encode(summaryKeyOf.apply(last), last.getId());
+    }
+
+    // Row of a ?fields= read, which always selects id and the sort key
+    public String encode(Map<String, Object> row) {
+        return encode(row.get(key), (UUID) row.get("id"));
+    }
+
+    private static String encode(Object value, UUID id) {
+        String raw = (value instanceof BigDecimal decimal ? decimal.toPlainString() : value) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ScrollPosition position(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(key, parseKey.apply(raw.substring(0, separator)));
+            keys.put("id", UUID.fromString(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException ex) {
+            // also a cursor issued under a different sort
+            throw new InvalidRequestException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
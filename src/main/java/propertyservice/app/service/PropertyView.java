@@ -0,0 +1,27 @@
+package propertyservice.app.service;
+
+import propertyservice.app.exeption.InvalidRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Representation returned by the list endpoints (?view=)
+@Getter
+@RequiredArgsConstructor
+public enum PropertyView {
+    FULL("full"),
+    SUMMARY("summary");
+
+    private final String parameterValue;
+
+    public static PropertyView from(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        for (PropertyView view : values()) {
+            if (view.parameterValue.equalsIgnoreCase(value)) {
+                return view;
+            }
+        }
+        throw new InvalidRequestException("Unsupported view: " + value);
+    }
+}
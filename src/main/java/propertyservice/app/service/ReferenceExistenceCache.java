@@ -0,0 +1,82 @@
+package propertyservice.app.service;
+
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.CityDto;
+import propertyservice.app.dto.PropertyTypeDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Existence checks of agents, cities and property types, answered from the agentExists, cityExists and
+ * propertyTypeExists caches (see CacheConfig) and asking the remote service only on a miss. With
+ * app.cache.reference.preload the full city and property type lists are loaded once the application is up,
+ * so writes referring to them never wait on those services.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class ReferenceExistenceCache {
+
+    private final CacheManager cacheManager;
+    private final CityServiceClient cityServiceClient;
+    private final PropertyTypeServiceClient propertyTypeServiceClient;
+
+    @Value("${app.cache.reference.preload:false}")
+    private boolean preload;
+
+    Boolean agentExists(UUID agentId) {
+        return exists(CacheConfig.AGENT_EXISTS, agentId);
+    }
+
+    Boolean cityExists(UUID cityId) {
+        return exists(CacheConfig.CITY_EXISTS, cityId);
+    }
+
+    Boolean propertyTypeExists(UUID propertyTypeId) {
+        return exists(CacheConfig.PROPERTY_TYPE_EXISTS, propertyTypeId);
+    }
+
+    // A miss is loaded through the cache's loader, a null answer comes back as null and is not kept
+    Boolean exists(String cacheName, UUID id) {
+        Cache.ValueWrapper value = cache(cacheName).get(id);
+        return value != null ? (Boolean) value.get() : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (preload) {
+            preload(CacheConfig.CITY_EXISTS, "cities", cityServiceClient::getAllCities, CityDto::getId);
+            preload(CacheConfig.PROPERTY_TYPE_EXISTS, "property types",
+                    propertyTypeServiceClient::getAllPropertyTypes, PropertyTypeDto::getId);
+        }
+    }
+
+    // Best effort: without the list, ids are still looked up one by one on first use
+    private <T> void preload(String cacheName, String what, Supplier<List<T>> all, Function<T, UUID> id) {
+        try {
+            List<T> items = all.get();
+            items.stream().map(id).filter(Objects::nonNull).forEach(key -> cache(cacheName).put(key, Boolean.TRUE));
+            log.info("Preloaded {} {}", items.size(), what);
+        } catch (RuntimeException ex) {
+            log.warn("Could not preload {}, they are looked up on first use", what, ex);
+        }
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "Cache not configured: " + name);
+    }
+}
@@ -0,0 +1,10 @@
+package propertyservice.app.service;
+
+// A response body already written by Jackson, with its gzip encoding when it is large enough to be worth it,
+// and the version (ETag) of the data it was written from
+public record SerializedJson(byte[] json, byte[] gzip, String nextCursor, String version) {
+
+    public int size() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,86 @@
+package propertyservice.app.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    void call_WhenFastWithTheLimitInUse_ShouldRaiseTheLimitUpToMax() {
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 3, Duration.ofSeconds(1), 0, Duration.ZERO);
+
+        // One call in flight is half of the limit of 2
+        limit.call(() -> true);
+        assertEquals(3, limit.limit());
+        limit.call(() -> true);
+        assertEquals(3, limit.limit());
+    }
+
+    @Test
+    void call_WhenSlowOrFailing_ShouldBackOffDownToMin() {
+        AdaptiveConcurrencyLimit limit = limit(10, 4, 20, Duration.ofMillis(10), 0, Duration.ZERO);
+
+        limit.call(() -> {
+            sleep(50);
+            return true;
+        });
+        assertEquals(5, limit.limit());
+        assertThrows(IllegalStateException.class, () -> limit.call(() -> {
+            throw new IllegalStateException("Connection refused");
+        }));
+        assertEquals(4, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void call_OverTheLimit_ShouldQueueUpToMaxWaitThenShed() throws Exception {
+        AdaptiveConcurrencyLimit limit = limit(1, 1, 1, Duration.ofSeconds(1), 1, Duration.ofSeconds(5));
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> limit.call(() -> {
+            inCall.countDown();
+            await(release);
+            return true;
+        }));
+        assertTrue(inCall.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> limit.call(() -> true));
+        while (limit.queued() == 0) {
+            Thread.sleep(5);
+        }
+
+        // The queue of one is taken, so a third call is shed at once
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limit.call(() -> true));
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limit.queued());
+    }
+
+    private static AdaptiveConcurrencyLimit limit(int initial, int min, int max, Duration latencyThreshold,
+                                                  int maxQueue, Duration maxWait) {
+        return new AdaptiveConcurrencyLimit("agent-service", initial, min, max, latencyThreshold, 0.5, maxQueue, maxWait);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package propertyservice.app.client;
+
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExistenceBatchTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // Stand-in for the services: the batch endpoint knows every id but the unknown one
+    private final UUID unknownId = UUID.randomUUID();
+    private final List<Set<UUID>> batchCalls = new CopyOnWriteArrayList<>();
+    private final List<UUID> singleCalls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void exists_WithSameIdInFlight_ShouldCallTheServiceOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExistenceBatch batch = batch(ids -> answer(ids), id -> {
+            singleCalls.add(id);
+            await(release);
+            return true;
+        }, Duration.ofMillis(5), 100);
+        UUID id = UUID.randomUUID();
+
+        CompletableFuture<Boolean> first = batch.exists(id);
+        Thread.sleep(50); // window over, the single call is waiting for release
+        CompletableFuture<Boolean> second = batch.exists(id);
+        release.countDown();
+
+        assertSame(first, second);
+        assertTrue(first.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(id), singleCalls);
+        assertTrue(batchCalls.isEmpty());
+    }
+
+    @Test
+    void exists_WithDistinctIdsInOneWindow_ShouldSendOneBatchCall() throws Exception {
+        ExistenceBatch batch = batch(this::answer, this::single, Duration.ofMillis(50), 100);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        List<CompletableFuture<Boolean>> results = List.of(batch.exists(first), batch.exists(second),
+                batch.exists(unknownId), batch.exists(first));
+
+        assertEquals(List.of(true, true, false, true), join(results));
+        assertEquals(List.of(Set.of(first, second, unknownId)), batchCalls);
+        assertTrue(singleCalls.isEmpty());
+    }
+
+    @Test
+    void exists_WithMaxSizeIdsPending_ShouldNotWaitForTheWindow() throws Exception {
+        ExistenceBatch batch = batch(this::answer, this::single, Duration.ofHours(1), 3);
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(batch.exists(UUID.randomUUID()));
+        }
+
+        assertEquals(List.of(true, true, true), join(results));
+        assertEquals(1, batchCalls.size());
+    }
+
+    @Test
+    void exists_WhenBatchEndpointIsMissing_ShouldFallBackToSingleCalls() throws Exception {
+        ExistenceBatch batch = batch(ids -> {
+            batchCalls.add(Set.copyOf(ids));
+            throw notFound();
+        }, this::single, Duration.ofMillis(50), 100);
+        UUID first = UUID.randomUUID();
+
+        assertEquals(List.of(true, false), join(List.of(batch.exists(first), batch.exists(unknownId))));
+        assertEquals(List.of(true, true), join(List.of(batch.exists(UUID.randomUUID()), batch.exists(first))));
+
+        // Asked once, then never again
+        assertEquals(1, batchCalls.size());
+        assertEquals(4, singleCalls.size());
+    }
+
+    @Test
+    void exists_WhenTheServiceFails_ShouldFailEveryWaitingLookup() {
+        ExistenceBatch batch = batch(ids -> {
+            throw new IllegalStateException("Connection refused");
+        }, this::single, Duration.ofMillis(50), 100);
+
+        CompletableFuture<Boolean> first = batch.exists(UUID.randomUUID());
+        CompletableFuture<Boolean> second = batch.exists(UUID.randomUUID());
+
+        Exception ex = assertThrows(Exception.class, () -> first.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertThrows(Exception.class, () -> second.get(1, TimeUnit.SECONDS));
+    }
+
+    private ExistenceBatch batch(Function<Collection<UUID>, Map<UUID, Boolean>> batchCall,
+                                 Function<UUID, Boolean> singleCall, Duration window, int maxSize) {
+        return new ExistenceBatch("test", batchCall, singleCall, window, maxSize, scheduler, executor);
+    }
+
+    private Map<UUID, Boolean> answer(Collection<UUID> ids) {
+        batchCalls.add(Set.copyOf(ids));
+        Map<UUID, Boolean> answers = new HashMap<>();
+        ids.forEach(id -> answers.put(id, !unknownId.equals(id)));
+        return answers;
+    }
+
+    private Boolean single(UUID id) {
+        singleCalls.add(id);
+        return !unknownId.equals(id);
+    }
+
+    private static List<Boolean> join(List<CompletableFuture<Boolean>> results) throws Exception {
+        List<Boolean> answers = new ArrayList<>();
+        for (CompletableFuture<Boolean> result : results) {
+            answers.add(result.get(1, TimeUnit.SECONDS));
+        }
+        return answers;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FeignException notFound() {
+        Request request = Request.create(Request.HttpMethod.POST, "/api/v1/agents/exists", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("Not Found", request, null, Map.of());
+    }
+}
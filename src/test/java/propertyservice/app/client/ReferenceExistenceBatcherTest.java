@@ -0,0 +1,90 @@
+package propertyservice.app.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceExistenceBatcherTest {
+
+    @Mock
+    private AgentServiceClient agentServiceClient;
+
+    @Mock
+    private CityServiceClient cityServiceClient;
+
+    @Mock
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    private ReferenceExistenceBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void agentExists_InLastAnswerMode_ShouldAnswerFromTheLastAnswerWhileTheServiceIsDown() {
+        batcher = batcher(ReferenceExistenceBatcher.DegradedMode.LAST_ANSWER);
+        UUID knownId = UUID.randomUUID();
+        UUID newId = UUID.randomUUID();
+        when(agentServiceClient.agentExists(knownId)).thenReturn(false)
+                .thenThrow(new IllegalStateException("Connection refused"));
+        when(agentServiceClient.agentExists(newId)).thenThrow(new IllegalStateException("Connection refused"));
+
+        assertEquals(Boolean.FALSE, batcher.agentExists(knownId));
+        assertEquals(Boolean.FALSE, batcher.agentExists(knownId));
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> batcher.agentExists(newId));
+        assertEquals("Connection refused", ex.getMessage());
+    }
+
+    @Test
+    void agentExists_InFailFastMode_ShouldRethrow() {
+        batcher = batcher(ReferenceExistenceBatcher.DegradedMode.FAIL_FAST);
+        UUID id = UUID.randomUUID();
+        when(agentServiceClient.agentExists(id)).thenReturn(true)
+                .thenThrow(new IllegalStateException("Connection refused"));
+
+        assertEquals(Boolean.TRUE, batcher.agentExists(id));
+        assertThrows(IllegalStateException.class, () -> batcher.agentExists(id));
+    }
+
+    @Test
+    void propertyTypeExists_WhenTheCallerIsInterrupted_ShouldStopWaitingAndKeepTheInterrupt() throws Exception {
+        batcher = batcher(ReferenceExistenceBatcher.DegradedMode.FAIL_FAST);
+        UUID id = UUID.randomUUID();
+        when(propertyTypeServiceClient.propertyTypeExists(id)).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return true;
+        });
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicBoolean interruptKept = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            assertThrows(IllegalStateException.class, () -> batcher.propertyTypeExists(id));
+            interruptKept.set(Thread.currentThread().isInterrupted());
+            stopped.countDown();
+        });
+        caller.start();
+        Thread.sleep(100);
+
+        caller.interrupt();
+
+        assertTrue(stopped.await(1, TimeUnit.SECONDS));
+        assertTrue(interruptKept.get());
+    }
+
+    private ReferenceExistenceBatcher batcher(ReferenceExistenceBatcher.DegradedMode degradedMode) {
+        return ReferenceExistenceBatchers.create(agentServiceClient, cityServiceClient, propertyTypeServiceClient,
+                degradedMode);
+    }
+}
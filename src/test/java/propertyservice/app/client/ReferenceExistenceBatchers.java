@@ -0,0 +1,36 @@
+package propertyservice.app.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+// ReferenceExistenceBatcher with a permissive guard and no hedging, for tests outside this package too
+public final class ReferenceExistenceBatchers {
+
+    private ReferenceExistenceBatchers() {
+    }
+
+    public static ReferenceExistenceBatcher create(AgentServiceClient agentServiceClient,
+                                                   CityServiceClient cityServiceClient,
+                                                   PropertyTypeServiceClient propertyTypeServiceClient,
+                                                   ReferenceExistenceBatcher.DegradedMode degradedMode) {
+        ReferenceServiceGuard guard = new ReferenceServiceGuard(50, Duration.ofSeconds(1), 100, 20, 10,
+                Duration.ofSeconds(10), 3,
+                new ConcurrencyLimits(10, 2, 50, Duration.ofSeconds(1), 0.9, 10, Duration.ZERO, noMeterRegistry()),
+                noMeterRegistry());
+        RequestHedger hedger = new RequestHedger(false, List.of(), 0.95, 10, Duration.ZERO, 20, false, noMeterRegistry());
+        return new ReferenceExistenceBatcher(agentServiceClient, cityServiceClient, propertyTypeServiceClient, guard, hedger,
+                Duration.ofMillis(1), 100, 2, degradedMode, Duration.ofHours(1), 100, false);
+    }
+
+    public static void shutdown(ReferenceExistenceBatcher batcher) {
+        batcher.shutdown();
+    }
+
+    private static ObjectProvider<MeterRegistry> noMeterRegistry() {
+        return new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class);
+    }
+}
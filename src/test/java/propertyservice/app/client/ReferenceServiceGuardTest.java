@@ -0,0 +1,92 @@
+package propertyservice.app.client;
+
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceServiceGuardTest {
+
+    private static final String SERVICE = ReferenceServiceGuard.AGENT_SERVICE;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Opens after 4 calls with half of them failed, one call at a time and none waiting
+    private final ReferenceServiceGuard guard = new ReferenceServiceGuard(50, Duration.ofSeconds(1), 100, 4, 4,
+            Duration.ofMinutes(1), 1,
+            new ConcurrencyLimits(1, 1, 1, Duration.ofSeconds(1), 0.9, 0, Duration.ZERO, meterRegistry()),
+            meterRegistry());
+
+    private ObjectProvider<MeterRegistry> meterRegistry() {
+        return new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class);
+    }
+
+    @Test
+    void call_WhenTheServiceKeepsFailing_ShouldOpenAndStopCalling() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.call(SERVICE, () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("Connection refused");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitBreaker(SERVICE).getState());
+        assertThrows(CallNotPermittedException.class, () -> guard.call(SERVICE, calls::incrementAndGet));
+        assertEquals(4, calls.get());
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.not.permitted.calls")
+                .tag("name", SERVICE).counter().count());
+        // Other services keep their own breaker
+        assertEquals(Boolean.TRUE, guard.call(ReferenceServiceGuard.CITY_SERVICE, () -> true));
+    }
+
+    @Test
+    void call_WithClientErrors_ShouldNotOpen() {
+        Request request = Request.create(Request.HttpMethod.POST, "/api/v1/agents/exists", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(FeignException.NotFound.class, () -> guard.call(SERVICE, () -> {
+                throw new FeignException.NotFound("Not Found", request, null, Map.of());
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitBreaker(SERVICE).getState());
+    }
+
+    @Test
+    void call_WhenTheLimitIsReached_ShouldShedWithoutWaiting() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> guard.call(SERVICE, () -> {
+            inCall.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }));
+        assertTrue(inCall.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> guard.call(SERVICE, () -> true));
+        release.countDown();
+
+        assertTrue(slow.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("reference.client.rejected.calls").tag("name", SERVICE).counter().count());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitBreaker(SERVICE).getState());
+    }
+}
@@ -0,0 +1,133 @@
+package propertyservice.app.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private static final String SERVICE = ReferenceServiceGuard.CITY_SERVICE;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RequestHedger hedger;
+
+    @AfterEach
+    void tearDown() {
+        hedger.shutdown();
+    }
+
+    @Test
+    void call_SlowerThanUsual_ShouldSendAHedgeAndTakeTheFirstAnswer() {
+        hedger = hedger(100);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+
+        long start = System.nanoTime();
+        Boolean exists = hedger.call(SERVICE, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(2000);
+                return false;
+            }
+            return true;
+        });
+
+        assertEquals(Boolean.TRUE, exists);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1.0, meterRegistry.get("reference.client.hedges").tag("name", SERVICE).counter().count());
+        assertEquals(1.0, meterRegistry.get("reference.client.hedge.wins").tag("name", SERVICE).counter().count());
+    }
+
+    @Test
+    void call_WithoutBudget_ShouldWaitForTheFirstAttempt() {
+        hedger = hedger(0);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+
+        Boolean exists = hedger.call(SERVICE, () -> {
+            attempts.incrementAndGet();
+            sleep(50);
+            return true;
+        });
+
+        assertEquals(Boolean.TRUE, exists);
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, meterRegistry.get("reference.client.hedges.skipped").tag("name", SERVICE).counter().count());
+    }
+
+    @Test
+    void call_WhenBothAttemptsFail_ShouldThrow() {
+        hedger = hedger(100);
+        warmUp();
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> hedger.call(SERVICE, () -> {
+            sleep(50);
+            throw new IllegalStateException("Connection refused");
+        }));
+        assertEquals("Connection refused", ex.getMessage());
+    }
+
+    @Test
+    void call_WhenTheCallerIsInterrupted_ShouldStopWaitingAndKeepTheInterrupt() throws Exception {
+        hedger = hedger(100);
+        warmUp();
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicBoolean interruptKept = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            assertThrows(IllegalStateException.class, () -> hedger.call(SERVICE, () -> {
+                sleep(2000);
+                return true;
+            }));
+            interruptKept.set(Thread.currentThread().isInterrupted());
+            stopped.countDown();
+        });
+        caller.start();
+        // Past the hedge delay, so both attempts are in flight
+        Thread.sleep(100);
+
+        caller.interrupt();
+
+        assertTrue(stopped.await(1, TimeUnit.SECONDS));
+        assertTrue(interruptKept.get());
+    }
+
+    @Test
+    void call_ForAServiceThatIsNotHedged_ShouldCallOnTheCallingThread() {
+        hedger = hedger(100);
+        Thread caller = Thread.currentThread();
+
+        assertEquals(Boolean.TRUE, hedger.call(ReferenceServiceGuard.AGENT_SERVICE,
+                () -> Thread.currentThread() == caller));
+    }
+
+    private RequestHedger hedger(double budgetPercent) {
+        return new RequestHedger(true, List.of(SERVICE), 0.95, budgetPercent, Duration.ofMillis(10), 5, false,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+    }
+
+    // Fast answers, so the hedge delay is the 10ms minimum
+    private void warmUp() {
+        for (int i = 0; i < 5; i++) {
+            hedger.call(SERVICE, () -> true);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
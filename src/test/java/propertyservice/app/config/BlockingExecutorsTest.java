@@ -0,0 +1,55 @@
+package propertyservice.app.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockingExecutorsTest {
+
+    @Test
+    void fixed_ShouldUseVirtualThreadsOnlyWhenEnabled() throws Exception {
+        ExecutorService platform = BlockingExecutors.fixed("platform-", 2, false);
+        ExecutorService virtual = BlockingExecutors.fixed("virtual-", 2, true);
+        try {
+            Thread platformThread = platform.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            Thread virtualThread = virtual.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertFalse(platformThread.isVirtual());
+            assertTrue(platformThread.isDaemon());
+            assertEquals("platform-1", platformThread.getName());
+            assertTrue(virtualThread.isVirtual());
+            assertEquals("virtual-1", virtualThread.getName());
+        } finally {
+            platform.shutdownNow();
+            virtual.shutdownNow();
+        }
+    }
+
+    @Test
+    void bounded_WhenEveryThreadIsBusyAndTheQueueIsFull_ShouldRejectTasks() {
+        ExecutorService executor = BlockingExecutors.bounded("bounded-", 1, 1, false);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+            executor.execute(() -> awaitQuietly(release));
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -8,18 +8,29 @@ import propertyservice.app.dto.PropertyCreateDto;
 import propertyservice.app.dto.PropertyDto;
 import propertyservice.app.dto.PropertyUpdateDto;
 import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyImage;
 import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.repository.PropertyReadModelRepository;
 import propertyservice.app.repository.PropertyRepository;
+import propertyservice.app.search.PropertySearchIndexRebuilder;
+import propertyservice.app.service.PropertyReadModelProjector;
+import propertyservice.app.service.PropertyReadModelRebuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -43,6 +54,15 @@ class PropertyRestControllerIntegrationTest {
     @Autowired
     private PropertyRepository propertyRepository;
 
+    @Autowired
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    @Autowired
+    private PropertyReadModelProjector propertyReadModelProjector;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @MockitoBean
     private AgentServiceClient agentServiceClient;
 
@@ -55,6 +75,15 @@ class PropertyRestControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PropertySearchIndexRebuilder propertySearchIndexRebuilder;
+
+    @Autowired
+    private PropertyReadModelRebuilder propertyReadModelRebuilder;
+
     private UUID agentId;
     private UUID cityId;
     private UUID propertyTypeId;
@@ -63,6 +92,8 @@ class PropertyRestControllerIntegrationTest {
     @BeforeEach
     void setUp() {
         propertyRepository.deleteAll();
+        propertyReadModelRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
 
         agentId = UUID.randomUUID();
         cityId = UUID.randomUUID();
@@ -87,7 +118,7 @@ class PropertyRestControllerIntegrationTest {
                 .isFeatured(false)
                 .build();
 
-        existingProperty = propertyRepository.save(existingProperty);
+        existingProperty = save(existingProperty);
     }
 
     @Test
@@ -101,7 +132,7 @@ class PropertyRestControllerIntegrationTest {
                 .propertyTypeId(propertyTypeId)
                 .status(PropertyStatus.FOR_SALE)
                 .build();
-        propertyRepository.save(property2);
+        save(property2);
 
         mockMvc.perform(get("/api/v1/properties"))
                 .andExpect(status().isOk())
@@ -111,6 +142,39 @@ class PropertyRestControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].title").exists());
     }
 
+    @Test
+    void getPropertiesByCity_WithLimit_ShouldWalkAllPagesByCursor() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            save(Property.builder()
+                    .title("Paged Property " + i)
+                    .price(new BigDecimal("100000.00"))
+                    .agentId(agentId)
+                    .cityId(cityId)
+                    .propertyTypeId(propertyTypeId)
+                    .status(PropertyStatus.FOR_SALE)
+                    .build());
+        }
+
+        String firstCursor = mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId).param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(header().exists(ResponseHelper.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(ResponseHelper.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId)
+                        .param("limit", "3")
+                        .param("cursor", firstCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist(ResponseHelper.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllProperties_WithMalformedCursor_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllProperties_WithSearchParams_ShouldReturnFilteredProperties() throws Exception {
         Property property2 = Property.builder()
@@ -122,7 +186,8 @@ class PropertyRestControllerIntegrationTest {
                 .propertyTypeId(propertyTypeId)
                 .status(PropertyStatus.FOR_SALE)
                 .build();
-        propertyRepository.save(property2);
+        save(property2);
+        propertySearchIndexRebuilder.rebuild();
 
         mockMvc.perform(get("/api/v1/properties")
                         .param("search", "Luxury")
@@ -132,6 +197,70 @@ class PropertyRestControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].title").value("Luxury Villa"));
     }
 
+    @Test
+    void getAllProperties_WithSummaryView_ShouldReturnCardsWithPrimaryImage() throws Exception {
+        existingProperty.getImages().add(PropertyImage.builder()
+                .property(existingProperty)
+                .imageUrl("http://example.com/front.jpg")
+                .isPrimary(true)
+                .build());
+        save(existingProperty);
+
+        mockMvc.perform(get("/api/v1/properties").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Existing Property"))
+                .andExpect(jsonPath("$[0].bedrooms").value(2))
+                .andExpect(jsonPath("$[0].primaryImageUrl").value("http://example.com/front.jpg"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].features").doesNotExist());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the export reads on another thread, data must be committed
+    void exportProperties_AsNdjson_ShouldStreamOneLinePerProperty() throws Exception {
+        save(Property.builder()
+                .title("Second Property")
+                .price(new BigDecimal("200000.00"))
+                .agentId(agentId)
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .status(PropertyStatus.FOR_SALE)
+                .build());
+
+        MvcResult started = mockMvc.perform(get("/api/v1/properties/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Second Property", objectMapper.readValue(lines[0], PropertyDto.class).getTitle());
+        assertEquals("Existing Property", objectMapper.readValue(lines[1], PropertyDto.class).getTitle());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the export reads on another thread, data must be committed
+    void exportProperties_AsCsv_ShouldStreamHeaderAndRows() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/properties/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,title,"));
+        assertTrue(lines[1].startsWith(existingProperty.getId() + ",Existing Property,"));
+    }
+
     @Test
     void getPropertyById_WhenExists_ShouldReturnProperty() throws Exception {
         mockMvc.perform(get("/api/v1/properties/{id}", existingProperty.getId()))
@@ -142,6 +271,55 @@ class PropertyRestControllerIntegrationTest {
                 .andExpect(jsonPath("$.bedrooms").value(2));
     }
 
+    @Test
+    void batchGetProperties_ShouldReturnPropertiesInRequestOrderAndListMissingIds() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        String body = "{\"ids\":[\"" + missingId + "\",\"" + existingProperty.getId() + "\"]}";
+
+        mockMvc.perform(post("/api/v1/properties/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(existingProperty.getId().toString()))
+                .andExpect(jsonPath("$.items[0].title").value("Existing Property"))
+                .andExpect(jsonPath("$.missingIds[0]").value(missingId.toString()));
+    }
+
+    @Test
+    void getPropertyById_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        mockMvc.perform(get("/api/v1/properties/{id}", existingProperty.getId()).param("fields", "title,price,imageUrls"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Existing Property"))
+                .andExpect(jsonPath("$.price").value(150000.00))
+                .andExpect(jsonPath("$.imageUrls").isArray())
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.description").doesNotExist());
+    }
+
+    @Test
+    void rebuildReadModel_ShouldServePropertiesWrittenOnlyToTheWriteSide() throws Exception {
+        Property unprojected = propertyRepository.save(Property.builder()
+                .title("Backfilled Property")
+                .price(new BigDecimal("90000.00"))
+                .agentId(agentId)
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .status(PropertyStatus.FOR_SALE)
+                .build());
+        mockMvc.perform(get("/api/v1/properties/{id}", unprojected.getId()))
+                .andExpect(status().isNotFound());
+
+        assertEquals(2, propertyReadModelRebuilder.rebuild());
+
+        mockMvc.perform(get("/api/v1/properties/{id}", unprojected.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Backfilled Property"));
+        mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
     @Test
     void getPropertyById_WhenNotExists_ShouldReturn404() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
@@ -200,10 +378,29 @@ class PropertyRestControllerIntegrationTest {
     }
 
     @Test
-    void createProperty_WhenAgentNotExists_ShouldReturn500() throws Exception {
+    void createProperty_WhenAgentNotExists_ShouldReturn400() throws Exception {
         when(agentServiceClient.agentExists(agentId)).thenReturn(false);
 
-        PropertyCreateDto createDto = PropertyCreateDto.builder()
+        mockMvc.perform(post("/api/v1/properties")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newPropertyDto())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Agent not found with id: " + agentId));
+    }
+
+    @Test
+    void createProperty_WhenCityServiceFails_ShouldReturn503() throws Exception {
+        when(cityServiceClient.cityExists(cityId)).thenThrow(new IllegalStateException("Connection refused"));
+
+        mockMvc.perform(post("/api/v1/properties")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newPropertyDto())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("City service unavailable: Connection refused"));
+    }
+
+    private PropertyCreateDto newPropertyDto() {
+        return PropertyCreateDto.builder()
                 .title("New Property")
                 .description("Description")
                 .price(new BigDecimal("200000.00"))
@@ -212,11 +409,6 @@ class PropertyRestControllerIntegrationTest {
                 .propertyTypeId(propertyTypeId)
                 .status(PropertyStatus.FOR_SALE)
                 .build();
-
-        mockMvc.perform(post("/api/v1/properties")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(createDto)))
-                .andExpect(status().isInternalServerError());
     }
 
     @Test
@@ -241,6 +433,36 @@ class PropertyRestControllerIntegrationTest {
         assertEquals(4, updated.getBedrooms());
     }
 
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // served entries are evicted once the update commits
+    void getPropertyById_WithETag_ShouldReturn304UntilPropertyChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/properties/{id}", existingProperty.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String listETag = mockMvc.perform(get("/api/v1/properties/agent/{agentId}", agentId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/properties/{id}", existingProperty.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/properties/agent/{agentId}", agentId).header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/v1/properties/{id}", existingProperty.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PropertyUpdateDto.builder().features(List.of("Pool")).build())))
+                .andExpect(status().isOk());
+
+        // Only the features changed, the row itself still has to get a new version
+        String changedETag = mockMvc.perform(get("/api/v1/properties/{id}", existingProperty.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changedETag);
+        mockMvc.perform(get("/api/v1/properties/agent/{agentId}", agentId).header(HttpHeaders.IF_NONE_MATCH, listETag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void updateProperty_WhenNotExists_ShouldReturn404() throws Exception {
         UUID nonExistentId = UUID.randomUUID();
@@ -292,7 +514,7 @@ class PropertyRestControllerIntegrationTest {
     @Test
     void getFeaturedProperties_ShouldReturnOnlyFeaturedProperties() throws Exception {
         existingProperty.setIsFeatured(true);
-        propertyRepository.save(existingProperty);
+        save(existingProperty);
 
         Property property2 = Property.builder()
                 .title("Non-Featured")
@@ -304,7 +526,7 @@ class PropertyRestControllerIntegrationTest {
                 .status(PropertyStatus.FOR_SALE)
                 .isFeatured(false)
                 .build();
-        propertyRepository.save(property2);
+        save(property2);
 
         Property property3 = Property.builder()
                 .title("Featured Property")
@@ -316,7 +538,7 @@ class PropertyRestControllerIntegrationTest {
                 .status(PropertyStatus.FOR_SALE)
                 .isFeatured(true)
                 .build();
-        propertyRepository.save(property3);
+        save(property3);
 
         mockMvc.perform(get("/api/v1/properties/featured"))
                 .andExpect(status().isOk())
@@ -362,7 +584,7 @@ class PropertyRestControllerIntegrationTest {
                 .propertyTypeId(propertyTypeId)
                 .status(PropertyStatus.FOR_SALE)
                 .build();
-        propertyRepository.save(property2);
+        save(property2);
 
         Property property3 = Property.builder()
                 .title("Other Agent Property")
@@ -373,7 +595,7 @@ class PropertyRestControllerIntegrationTest {
                 .propertyTypeId(propertyTypeId)
                 .status(PropertyStatus.FOR_SALE)
                 .build();
-        propertyRepository.save(property3);
+        save(property3);
 
         mockMvc.perform(get("/api/v1/properties/agent/{agentId}", agentId))
                 .andExpect(status().isOk())
@@ -383,6 +605,16 @@ class PropertyRestControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].agentId").value(agentId.toString()));
     }
 
+    @Test
+    void getPropertiesByCity_WithCursorSpellingASummaryKey_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId).param("view", "summary"))
+                .andExpect(status().isOk());
+
+        // Full and summary pages are cached side by side; this cursor must not reach the summary page
+        mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId).param("cursor", "summary:null"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getPropertiesByCity_ShouldReturnPropertiesForCity() throws Exception {
         UUID differentCityId = UUID.randomUUID();
@@ -395,7 +627,7 @@ class PropertyRestControllerIntegrationTest {
                 .propertyTypeId(propertyTypeId)
                 .status(PropertyStatus.FOR_SALE)
                 .build();
-        propertyRepository.save(property2);
+        save(property2);
 
         Property property3 = Property.builder()
                 .title("Other City Property")
@@ -406,7 +638,7 @@ class PropertyRestControllerIntegrationTest {
                 .propertyTypeId(propertyTypeId)
                 .status(PropertyStatus.FOR_SALE)
                 .build();
-        propertyRepository.save(property3);
+        save(property3);
 
         mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId))
                 .andExpect(status().isOk())
@@ -466,6 +698,13 @@ class PropertyRestControllerIntegrationTest {
         Property updated = propertyRepository.findById(existingProperty.getId()).orElseThrow();
         assertEquals(2, updated.getFeatures().size());
     }
-}
-
 
+    // Seeds the write side and projects the row the way PropertyService does, in the test's transaction if it has one
+    private Property save(Property property) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Property saved = propertyRepository.save(property);
+            propertyReadModelProjector.project(saved);
+            return saved;
+        });
+    }
+}
@@ -2,32 +2,74 @@ package propertyservice.app.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import propertyservice.app.dto.AgentDto;
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.dto.ExpandedPropertyDto;
+import propertyservice.app.dto.FacetCountsDto;
+import propertyservice.app.dto.PropertyBatchDto;
+import propertyservice.app.dto.PropertyBatchGetRequest;
+import propertyservice.app.dto.PropertyBulkItemDto;
+import propertyservice.app.dto.PropertyBulkChanges;
+import propertyservice.app.dto.PropertyBulkFilter;
+import propertyservice.app.dto.PropertyBulkResultDto;
+import propertyservice.app.dto.PropertyBulkUpdateRequest;
+import propertyservice.app.dto.PropertyBulkUpdateResultDto;
 import propertyservice.app.dto.PropertyCreateDto;
 import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.dto.PropertyImportJobDto;
+import propertyservice.app.dto.PropertySearchCriteria;
+import propertyservice.app.dto.PropertySummaryDto;
 import propertyservice.app.dto.PropertyUpdateDto;
+import propertyservice.app.entity.ImportStatus;
 import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.exeption.InvalidRequestException;
 import propertyservice.app.exeption.PropertyNotFoundException;
+import propertyservice.app.search.FacetQuery;
+import propertyservice.app.search.PropertySearchIndexRebuilder;
+import propertyservice.app.service.PropertyBatchService;
+import propertyservice.app.service.PropertyBulkService;
+import propertyservice.app.service.PropertyBulkUpdateService;
+import propertyservice.app.service.PropertyExpander;
+import propertyservice.app.service.PropertyExpansions;
+import propertyservice.app.service.PropertyExportService;
+import propertyservice.app.service.PropertyFields;
+import propertyservice.app.service.PropertyImportService;
+import propertyservice.app.service.PageCacheGenerations;
+import propertyservice.app.service.PropertyJsonCache;
+import propertyservice.app.service.PropertyReadModelRebuilder;
 import propertyservice.app.service.PropertyService;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// The web slice runs without caching (no-op CacheManager), so PropertyJsonCache serializes on every call
 @WebMvcTest(PropertyRestController.class)
+@Import({PropertyJsonCache.class, PageCacheGenerations.class})
 class PropertyRestControllerTest {
 
     @Autowired
@@ -36,6 +78,30 @@ class PropertyRestControllerTest {
     @MockitoBean
     private PropertyService propertyService;
 
+    @MockitoBean
+    private PropertyExportService propertyExportService;
+
+    @MockitoBean
+    private PropertySearchIndexRebuilder propertySearchIndexRebuilder;
+
+    @MockitoBean
+    private PropertyReadModelRebuilder propertyReadModelRebuilder;
+
+    @MockitoBean
+    private PropertyBatchService propertyBatchService;
+
+    @MockitoBean
+    private PropertyBulkService propertyBulkService;
+
+    @MockitoBean
+    private PropertyBulkUpdateService propertyBulkUpdateService;
+
+    @MockitoBean
+    private PropertyImportService propertyImportService;
+
+    @MockitoBean
+    private PropertyExpander propertyExpander;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -49,14 +115,38 @@ class PropertyRestControllerTest {
         PropertyDto propertyDto = createPropertyDto();
         List<PropertyDto> properties = Collections.singletonList(propertyDto);
         
-        when(propertyService.getAllProperties()).thenReturn(properties);
+        when(propertyService.getAllProperties(null, null)).thenReturn(page(properties, null));
 
         mockMvc.perform(get("/api/v1/properties"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(propertyId.toString()));
+                .andExpect(jsonPath("$[0].id").value(propertyId.toString()))
+                .andExpect(header().doesNotExist(ResponseHelper.NEXT_CURSOR_HEADER));
+
+        verify(propertyService, times(1)).getAllProperties(null, null);
+    }
+
+    @Test
+    void getAllProperties_WithCursorAndLimit_ShouldReturnNextCursorHeader() throws Exception {
+        List<PropertyDto> properties = Collections.singletonList(createPropertyDto());
+
+        when(propertyService.getAllProperties("abc", 1)).thenReturn(page(properties, "def"));
 
-        verify(propertyService, times(1)).getAllProperties();
+        mockMvc.perform(get("/api/v1/properties")
+                        .param("cursor", "abc")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(ResponseHelper.NEXT_CURSOR_HEADER, "def"));
+    }
+
+    @Test
+    void getAllProperties_WithInvalidCursor_ShouldReturn400() throws Exception {
+        when(propertyService.getAllProperties("bad", null))
+                .thenThrow(new InvalidRequestException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/api/v1/properties").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -64,8 +154,14 @@ class PropertyRestControllerTest {
         PropertyDto propertyDto = createPropertyDto();
         List<PropertyDto> properties = Collections.singletonList(propertyDto);
         
-        when(propertyService.searchProperties(eq("test"), eq(cityId), eq(propertyTypeId), any(BigDecimal.class)))
-                .thenReturn(properties);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder()
+                .search("test")
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .maxPrice(new BigDecimal("100000"))
+                .build();
+        when(propertyService.searchProperties(eq(criteria), isNull(), isNull()))
+                .thenReturn(page(properties, null));
 
         mockMvc.perform(get("/api/v1/properties")
                         .param("search", "test")
@@ -74,7 +170,215 @@ class PropertyRestControllerTest {
                         .param("maxPrice", "100000"))
                 .andExpect(status().isOk());
 
-        verify(propertyService, times(1)).searchProperties(eq("test"), eq(cityId), eq(propertyTypeId), any(BigDecimal.class));
+        verify(propertyService, times(1)).searchProperties(eq(criteria), isNull(), isNull());
+    }
+
+    @Test
+    void getAllProperties_WithRangeFiltersAndSort_ShouldBindEveryCriterion() throws Exception {
+        when(propertyService.searchProperties(any(PropertySearchCriteria.class), isNull(), eq(10)))
+                .thenReturn(page(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/api/v1/properties")
+                        .param("minPrice", "100000")
+                        .param("minBedrooms", "2")
+                        .param("maxBedrooms", "4")
+                        .param("minBathrooms", "1")
+                        .param("maxSquareFeet", "2500")
+                        .param("status", "FOR_RENT")
+                        .param("isFeatured", "true")
+                        .param("sort", "price_asc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk());
+
+        verify(propertyService).searchProperties(eq(PropertySearchCriteria.builder()
+                .minPrice(new BigDecimal("100000"))
+                .minBedrooms(2)
+                .maxBedrooms(4)
+                .minBathrooms(1)
+                .maxSquareFeet(2500)
+                .status(PropertyStatus.FOR_RENT)
+                .isFeatured(true)
+                .sort("price_asc")
+                .build()), isNull(), eq(10));
+        verify(propertyService, never()).getAllProperties(any(), any());
+    }
+
+    @Test
+    void getAllProperties_WithNonNumericFilter_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties").param("minBedrooms", "many"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyService);
+    }
+
+    @Test
+    void getFacetCounts_WithMultiSelect_ShouldPassEverySelectedValue() throws Exception {
+        UUID otherCityId = UUID.randomUUID();
+        when(propertyService.getFacetCounts(any(FacetQuery.class)))
+                .thenReturn(FacetCountsDto.builder()
+                        .total(3)
+                        .facets(Map.of("status", Map.of("FOR_SALE", 3L)))
+                        .build());
+
+        mockMvc.perform(get("/api/v1/properties/facets")
+                        .param("cityId", cityId.toString(), otherCityId.toString())
+                        .param("status", "FOR_SALE")
+                        .param("bedrooms", "2", "3")
+                        .param("maxPrice", "500000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.facets.status.FOR_SALE").value(3));
+
+        ArgumentCaptor<FacetQuery> query = ArgumentCaptor.forClass(FacetQuery.class);
+        verify(propertyService).getFacetCounts(query.capture());
+        assertEquals(List.of(cityId, otherCityId), query.getValue().getCityIds());
+        assertEquals(List.of(PropertyStatus.FOR_SALE), query.getValue().getStatuses());
+        assertEquals(List.of(2, 3), query.getValue().getBedrooms());
+        assertEquals(0, new BigDecimal("500000").compareTo(query.getValue().getMaxPrice()));
+    }
+
+    @Test
+    void getFacetCounts_WithUnknownStatus_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties/facets").param("status", "HAUNTED"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyService);
+    }
+
+    @Test
+    void exportProperties_WithUnsupportedFormat_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyExportService);
+    }
+
+    @Test
+    void rebuildSearchIndex_ShouldReturn202() throws Exception {
+        mockMvc.perform(post("/api/v1/properties/search-index/rebuild"))
+                .andExpect(status().isAccepted());
+
+        verify(propertySearchIndexRebuilder, times(1)).rebuildAsync();
+    }
+
+    @Test
+    void rebuildReadModel_ShouldReturn202() throws Exception {
+        mockMvc.perform(post("/api/v1/properties/read-model/rebuild"))
+                .andExpect(status().isAccepted());
+
+        verify(propertyReadModelRebuilder, times(1)).rebuildAsync();
+    }
+
+    @Test
+    void batchGetProperties_ShouldReturnItemsAndMissingIds() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        when(propertyBatchService.getProperties(List.of(propertyId, missingId))).thenReturn(PropertyBatchDto.builder()
+                .items(List.of(createPropertyDto()))
+                .missingIds(List.of(missingId))
+                .build());
+
+        mockMvc.perform(post("/api/v1/properties/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PropertyBatchGetRequest(List.of(propertyId, missingId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(propertyId.toString()))
+                .andExpect(jsonPath("$.missingIds[0]").value(missingId.toString()));
+    }
+
+    @Test
+    void batchGetProperties_WithoutIds_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/v1/properties/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyBatchService);
+    }
+
+    @Test
+    void createProperties_ShouldReturnOneResultPerItem() throws Exception {
+        when(propertyBulkService.createProperties(any())).thenReturn(PropertyBulkResultDto.builder()
+                .created(1)
+                .failed(1)
+                .items(List.of(PropertyBulkItemDto.builder().index(0).id(propertyId).build(),
+                        PropertyBulkItemDto.builder().index(1).error("title: Title is required").build()))
+                .build());
+        PropertyCreateDto valid = PropertyCreateDto.builder()
+                .title("New Property")
+                .price(new BigDecimal("100000.00"))
+                .agentId(agentId)
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .build();
+        // Invalid items are reported in the result instead of failing the whole request
+        PropertyCreateDto invalid = PropertyCreateDto.builder().price(new BigDecimal("1")).build();
+
+        mockMvc.perform(post("/api/v1/properties/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(propertyId.toString()))
+                .andExpect(jsonPath("$.items[1].error").value("title: Title is required"));
+    }
+
+    @Test
+    void updateProperties_ShouldReturnAffectedCount() throws Exception {
+        when(propertyBulkUpdateService.updateProperties(any()))
+                .thenReturn(PropertyBulkUpdateResultDto.builder().affected(3).build());
+        PropertyBulkUpdateRequest request = PropertyBulkUpdateRequest.builder()
+                .filter(PropertyBulkFilter.builder().agentId(agentId).build())
+                .changes(PropertyBulkChanges.builder().status(PropertyStatus.SOLD).build())
+                .build();
+
+        mockMvc.perform(patch("/api/v1/properties/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+
+    @Test
+    void updateProperties_WithInvalidPriceChange_ShouldReturn400() throws Exception {
+        PropertyBulkUpdateRequest request = PropertyBulkUpdateRequest.builder()
+                .filter(PropertyBulkFilter.builder().agentId(agentId).build())
+                .changes(PropertyBulkChanges.builder().priceChangePercent(new BigDecimal("-100")).build())
+                .build();
+
+        mockMvc.perform(patch("/api/v1/properties/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(propertyBulkUpdateService);
+    }
+
+    @Test
+    void importProperties_ShouldStartJobAndReturn202() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        MockMultipartFile file = new MockMultipartFile("file", "listings.csv", "text/csv",
+                "title,price,agentId,cityId,propertyTypeId\n".getBytes());
+        when(propertyImportService.startImport(any(), isNull())).thenReturn(PropertyImportJobDto.builder()
+                .id(jobId)
+                .fileName("listings.csv")
+                .format("csv")
+                .status(ImportStatus.RUNNING)
+                .errors(List.of())
+                .build());
+
+        mockMvc.perform(multipart("/api/v1/properties/import").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(jobId.toString()))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    void getImportJob_WhenNotFound_ShouldReturn404() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(propertyImportService.getJob(jobId))
+                .thenThrow(new PropertyNotFoundException("Import job not found with id: " + jobId));
+
+        mockMvc.perform(get("/api/v1/properties/import/{jobId}", jobId))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -91,6 +395,95 @@ class PropertyRestControllerTest {
         verify(propertyService, times(1)).getPropertyById(propertyId);
     }
 
+    @Test
+    void getPropertyById_ShouldSendETagAndCacheControl() throws Exception {
+        when(propertyService.getPropertyById(propertyId)).thenReturn(createPropertyDto());
+
+        mockMvc.perform(get("/api/v1/properties/{id}", propertyId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"1-")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        verify(propertyService, never()).getPropertyVersion(any());
+    }
+
+    @Test
+    void getPropertyById_WhenETagMatches_ShouldReturn304() throws Exception {
+        when(propertyService.getPropertyById(propertyId)).thenReturn(createPropertyDto());
+        String etag = mockMvc.perform(get("/api/v1/properties/{id}", propertyId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/properties/{id}", propertyId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getPropertiesByCity_WhenETagMatches_ShouldReturn304() throws Exception {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().cityId(cityId).build();
+        when(propertyService.getListVersion(criteria)).thenReturn("3-xyz");
+        when(propertyService.searchProperties(criteria, null, null)).thenReturn(page(List.of(createPropertyDto()), null));
+
+        mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId).header(HttpHeaders.IF_NONE_MATCH, "\"2-xyz\", \"3-xyz\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getFeaturedProperties_WhenGzipAccepted_ShouldSendCompressedJson() throws Exception {
+        List<PropertyDto> properties = Collections.nCopies(10, createPropertyDto());
+        when(propertyService.searchProperties(featured(), null, null)).thenReturn(page(properties, "next"));
+
+        byte[] body = mockMvc.perform(get("/api/v1/properties/featured").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(ResponseHelper.NEXT_CURSOR_HEADER, "next"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(10, objectMapper.readValue(gzip, PropertyDto[].class).length);
+        }
+    }
+
+    @Test
+    void getFeaturedProperties_ShouldSendEachContentCodingUnderItsOwnETag() throws Exception {
+        when(propertyService.getListVersion(featured())).thenReturn("3-xyz");
+        when(propertyService.searchProperties(featured(), null, null))
+                .thenReturn(page(Collections.nCopies(10, createPropertyDto()), null));
+
+        mockMvc.perform(get("/api/v1/properties/featured").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-xyz-gzip\""));
+        mockMvc.perform(get("/api/v1/properties/featured"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-xyz\""));
+
+        // A plain copy does not validate a gzipped response, nor the other way round
+        mockMvc.perform(get("/api/v1/properties/featured")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3-xyz\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        mockMvc.perform(get("/api/v1/properties/featured").header(HttpHeaders.IF_NONE_MATCH, "\"3-xyz-gzip\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/v1/properties/featured")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3-xyz-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void getFeaturedProperties_WhenGzipRefused_ShouldSendPlainJson() throws Exception {
+        List<PropertyDto> properties = Collections.nCopies(10, createPropertyDto());
+        when(propertyService.searchProperties(featured(), null, null)).thenReturn(page(properties, null));
+
+        mockMvc.perform(get("/api/v1/properties/featured").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.length()").value(10));
+    }
+
     @Test
     void getPropertyById_WhenNotExists_ShouldReturn404() throws Exception {
         when(propertyService.getPropertyById(propertyId))
@@ -205,14 +598,126 @@ class PropertyRestControllerTest {
         propertyDto.setIsFeatured(true);
         List<PropertyDto> properties = List.of(propertyDto);
         
-        when(propertyService.getFeaturedProperties()).thenReturn(properties);
+        when(propertyService.searchProperties(featured(), null, null)).thenReturn(page(properties, null));
 
         mockMvc.perform(get("/api/v1/properties/featured"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].isFeatured").value(true));
 
-        verify(propertyService, times(1)).getFeaturedProperties();
+        verify(propertyService, times(1)).searchProperties(featured(), null, null);
+    }
+
+    @Test
+    void getPropertiesByCity_WithSummaryView_ShouldReturnSummaryCards() throws Exception {
+        PropertySummaryDto summary = PropertySummaryDto.builder()
+                .id(UUID.randomUUID())
+                .title("Card")
+                .primaryImageUrl("http://example.com/primary.jpg")
+                .build();
+        when(propertyService.searchPropertySummaries(PropertySearchCriteria.builder().cityId(cityId).build(), null, null)).thenReturn(page(List.of(summary), "next"));
+
+        mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId).param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseHelper.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].primaryImageUrl").value("http://example.com/primary.jpg"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        verify(propertyService, never()).searchProperties(any(), any(), any());
+    }
+
+    @Test
+    void getAllProperties_WithSummaryViewAndFilters_ShouldSearchSummaries() throws Exception {
+        when(propertyService.searchPropertySummaries(any(PropertySearchCriteria.class), isNull(), isNull()))
+                .thenReturn(page(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/api/v1/properties").param("cityId", cityId.toString()).param("view", "summary"))
+                .andExpect(status().isOk());
+
+        verify(propertyService).searchPropertySummaries(
+                eq(PropertySearchCriteria.builder().cityId(cityId).build()), isNull(), isNull());
+    }
+
+    @Test
+    void getFeaturedProperties_WithUnknownView_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties/featured").param("view", "compact"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyService);
+    }
+
+    @Test
+    void getPropertiesByAgent_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        when(propertyService.searchPropertyFields(any(PropertySearchCriteria.class), any(PropertyFields.class),
+                isNull(), isNull())).thenReturn(page(List.of(Map.<String, Object>of("title", "Villa")), null));
+
+        mockMvc.perform(get("/api/v1/properties/agent/{agentId}", agentId).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Villa"))
+                .andExpect(jsonPath("$[0].price").doesNotExist());
+
+        verify(propertyService).searchPropertyFields(eq(PropertySearchCriteria.builder().agentId(agentId).build()),
+                any(PropertyFields.class), isNull(), isNull());
+    }
+
+    @Test
+    void getPropertyById_WithFields_ShouldReturnOnlySelectedFields() throws Exception {
+        when(propertyService.getPropertyFields(eq(propertyId), any(PropertyFields.class)))
+                .thenReturn(Map.of("id", propertyId, "price", 100000));
+
+        mockMvc.perform(get("/api/v1/properties/{id}", propertyId).param("fields", "id,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(100000))
+                .andExpect(jsonPath("$.title").doesNotExist());
+
+        verify(propertyService, never()).getPropertyById(any());
+    }
+
+    @Test
+    void getAllProperties_WithUnknownField_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyService);
+    }
+
+    @Test
+    void getAllProperties_WithFieldsAndSummaryView_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties").param("fields", "id").param("view", "summary"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyService);
+    }
+
+    @Test
+    void getPropertiesByCity_WithExpand_ShouldEmbedReferencesWithoutETag() throws Exception {
+        PropertyDto property = PropertyDto.builder().id(propertyId).title("Villa").agentId(agentId).cityId(cityId).build();
+        CursorPage<PropertyDto> properties = page(List.of(property), "next");
+        when(propertyService.getPropertiesByCity(cityId, null, null)).thenReturn(properties);
+        when(propertyExpander.expand(eq(properties), any(PropertyExpansions.class))).thenReturn(page(List.of(
+                ExpandedPropertyDto.builder()
+                        .property(property)
+                        .agent(AgentDto.builder().id(agentId).firstName("Jane").build())
+                        .build()), "next"));
+
+        mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId).param("expand", "agent"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ResponseHelper.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$[0].title").value("Villa"))
+                .andExpect(jsonPath("$[0].agentId").value(agentId.toString()))
+                .andExpect(jsonPath("$[0].agent.firstName").value("Jane"))
+                .andExpect(jsonPath("$[0].city").doesNotExist());
+    }
+
+    @Test
+    void getAllProperties_WithUnknownExpansionOrExpandAndFields_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/properties").param("expand", "owner"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/properties/{id}", propertyId).param("expand", "city").param("fields", "id"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyService, propertyExpander);
     }
 
     @Test
@@ -230,14 +735,14 @@ class PropertyRestControllerTest {
         PropertyDto propertyDto = createPropertyDto();
         List<PropertyDto> properties = Collections.singletonList(propertyDto);
         
-        when(propertyService.getPropertiesByAgent(agentId)).thenReturn(properties);
+        when(propertyService.searchProperties(PropertySearchCriteria.builder().agentId(agentId).build(), null, null)).thenReturn(page(properties, null));
 
         mockMvc.perform(get("/api/v1/properties/agent/{agentId}", agentId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].agentId").value(agentId.toString()));
 
-        verify(propertyService, times(1)).getPropertiesByAgent(agentId);
+        verify(propertyService, times(1)).searchProperties(PropertySearchCriteria.builder().agentId(agentId).build(), null, null);
     }
 
     @Test
@@ -245,14 +750,15 @@ class PropertyRestControllerTest {
         PropertyDto propertyDto = createPropertyDto();
         List<PropertyDto> properties = Collections.singletonList(propertyDto);
         
-        when(propertyService.getPropertiesByCity(cityId)).thenReturn(properties);
+        when(propertyService.searchProperties(PropertySearchCriteria.builder().cityId(cityId).build(), null, null))
+                .thenReturn(page(properties, null));
 
         mockMvc.perform(get("/api/v1/properties/city/{cityId}", cityId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].cityId").value(cityId.toString()));
 
-        verify(propertyService, times(1)).getPropertiesByCity(cityId);
+        verify(propertyService, times(1)).searchProperties(PropertySearchCriteria.builder().cityId(cityId).build(), null, null);
     }
 
     private PropertyDto createPropertyDto() {
@@ -274,5 +780,12 @@ class PropertyRestControllerTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
     }
-}
 
+    private static PropertySearchCriteria featured() {
+        return PropertySearchCriteria.builder().isFeatured(true).build();
+    }
+
+    private static <T> CursorPage<T> page(List<T> items, String nextCursor) {
+        return CursorPage.<T>builder().items(items).nextCursor(nextCursor).build();
+    }
+}
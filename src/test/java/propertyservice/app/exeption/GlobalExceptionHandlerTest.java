@@ -59,6 +59,18 @@ class GlobalExceptionHandlerTest {
         assertEquals("400", response.getBody().get("status"));
     }
 
+    @Test
+    void handleServiceUnavailableException_ShouldReturn503() {
+        ServiceUnavailableException exception = new ServiceUnavailableException("City check did not answer within 2000ms");
+
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handleServiceUnavailableException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("City check did not answer within 2000ms", response.getBody().get("message"));
+        assertEquals("503", response.getBody().get("status"));
+    }
+
     @Test
     void handleGenericException_ShouldReturn500() {
         Exception exception = new RuntimeException("Internal server error");
@@ -0,0 +1,330 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.dto.PropertySearchCriteria;
+import propertyservice.app.dto.PropertySummaryDto;
+import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.service.PageCursor;
+import propertyservice.app.service.PropertySort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+class PropertyReadModelRepositoryIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+    private int created;
+
+    private UUID agentId;
+    private UUID cityId;
+    private UUID propertyTypeId;
+    private PropertyReadModel row;
+
+    @BeforeEach
+    void setUp() {
+        agentId = UUID.randomUUID();
+        cityId = UUID.randomUUID();
+        propertyTypeId = UUID.randomUUID();
+
+        row = persist(PropertyReadModel.builder()
+                .id(UUID.randomUUID())
+                .title("Test Property")
+                .description("Test Description")
+                .price(new BigDecimal("100000.00"))
+                .agentId(agentId)
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .status(PropertyStatus.FOR_SALE)
+                .bedrooms(3)
+                .bathrooms(2)
+                .squareFeet(1500)
+                .address("123 Test St")
+                .isFeatured(false)
+                .primaryImageUrl("http://example.com/primary.jpg")
+                .imageUrls(List.of("http://example.com/primary.jpg", "http://example.com/secondary.jpg"))
+                .features(List.of("Pool", "Garage"))
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    void findById_ShouldRoundTripEmbeddedCollections() {
+        entityManager.clear();
+
+        PropertyReadModel found = propertyReadModelRepository.findById(row.getId()).orElseThrow();
+
+        assertEquals(List.of("http://example.com/primary.jpg", "http://example.com/secondary.jpg"), found.getImageUrls());
+        assertEquals(List.of("Pool", "Garage"), found.getFeatures());
+        assertEquals("http://example.com/primary.jpg", found.getPrimaryImageUrl());
+        assertFalse(found.isNew());
+    }
+
+    @Test
+    void findByAgentId_ShouldReturnRowsForAgent() {
+        persist(row("Agent Property", "150000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false));
+        PropertyReadModel other = row("Other Agent Property", "250000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false);
+        other.setAgentId(UUID.randomUUID());
+        persist(other);
+        entityManager.flush();
+
+        List<PropertyReadModel> rows = propertyReadModelRepository.findByAgentId(
+                agentId, ScrollPosition.keyset(), PageCursor.SORT, Limit.of(10)).getContent();
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().allMatch(r -> r.getAgentId().equals(agentId)));
+    }
+
+    @Test
+    void findByIsFeaturedTrue_ShouldReturnOnlyFeaturedRows() {
+        persist(row("Featured", "120000.00", 1, 1, 500, PropertyStatus.FOR_SALE, true));
+        entityManager.flush();
+
+        List<PropertyReadModel> rows = propertyReadModelRepository.findByIsFeaturedTrue(
+                ScrollPosition.keyset(), PageCursor.SORT, Limit.of(10)).getContent();
+
+        assertEquals(List.of("Featured"), rows.stream().map(PropertyReadModel::getTitle).toList());
+    }
+
+    @Test
+    void findByCityId_ShouldSeekPastCursorWithoutOverlap() {
+        for (int i = 0; i < 4; i++) {
+            persist(row("Paged Property " + i, "100000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false));
+        }
+        entityManager.flush();
+
+        Window<PropertyReadModel> first = propertyReadModelRepository.findByCityId(
+                cityId, ScrollPosition.keyset(), PageCursor.SORT, Limit.of(3));
+        assertEquals(3, first.size());
+        assertTrue(first.hasNext());
+
+        PageCursor cursor = PageCursor.decode(PageCursor.of(first.getContent().get(2)).encode());
+        Window<PropertyReadModel> second = propertyReadModelRepository.findByCityId(
+                cityId, PageCursor.position(cursor), PageCursor.SORT, Limit.of(3));
+        assertEquals(2, second.size());
+        assertFalse(second.hasNext());
+        assertTrue(second.getContent().stream().noneMatch(first.getContent()::contains));
+    }
+
+    @Test
+    void searchProperties_AfterCursor_ShouldReturnOlderRowsOnly() {
+        PropertyReadModel older = row("Older Villa", "100000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false);
+        older.setCreatedAt(row.getCreatedAt().minusDays(1));
+        persist(older);
+        entityManager.flush();
+
+        Window<PropertyReadModel> results = propertyReadModelRepository.findBy(
+                PropertySpecifications.matching(PropertySearchCriteria.builder().cityId(cityId).build()),
+                query -> query.sortBy(PropertySort.NEWEST.sort()).limit(10)
+                        .scroll(PropertySort.NEWEST.position(PropertySort.NEWEST.encode(row))));
+
+        assertEquals(List.of("Older Villa"), results.stream().map(PropertyReadModel::getTitle).toList());
+    }
+
+    @Test
+    void searchProperties_WithRangeStatusAndFeaturedFilters_ShouldOnlyMatchWithinBounds() {
+        PropertyReadModel matching = persist(row("Matching", "200000.00", 3, 2, 1400, PropertyStatus.FOR_RENT, true));
+        persist(row("Too Few Bedrooms", "200000.00", 1, 2, 1400, PropertyStatus.FOR_RENT, true));
+        persist(row("Too Large", "200000.00", 3, 2, 4000, PropertyStatus.FOR_RENT, true));
+        persist(row("Wrong Status", "200000.00", 3, 2, 1400, PropertyStatus.SOLD, true));
+        persist(row("Not Featured", "200000.00", 3, 2, 1400, PropertyStatus.FOR_RENT, false));
+        persist(row("Too Cheap", "90000.00", 3, 2, 1400, PropertyStatus.FOR_RENT, true));
+        entityManager.flush();
+
+        List<PropertyReadModel> results = propertyReadModelRepository.findAll(PropertySpecifications.matching(
+                PropertySearchCriteria.builder()
+                        .minPrice(new BigDecimal("150000.00"))
+                        .minBedrooms(2)
+                        .maxBedrooms(4)
+                        .minBathrooms(2)
+                        .minSquareFeet(1000)
+                        .maxSquareFeet(2000)
+                        .status(PropertyStatus.FOR_RENT)
+                        .isFeatured(true)
+                        .build()));
+
+        assertEquals(List.of(matching.getId()), results.stream().map(PropertyReadModel::getId).toList());
+    }
+
+    @Test
+    void searchProperties_SortedByPriceAscending_ShouldPageWithoutOverlap() {
+        persist(row("Cheapest", "50000.00", 2, 1, 800, PropertyStatus.FOR_SALE, false));
+        persist(row("Middle A", "150000.00", 2, 1, 800, PropertyStatus.FOR_SALE, false));
+        persist(row("Middle B", "150000.00", 2, 1, 800, PropertyStatus.FOR_SALE, false));
+        persist(row("Priciest", "900000.00", 2, 1, 800, PropertyStatus.FOR_SALE, false));
+        entityManager.flush();
+        Specification<PropertyReadModel> inCity = PropertySpecifications.matching(
+                PropertySearchCriteria.builder().cityId(cityId).build());
+
+        Window<PropertyReadModel> first = propertyReadModelRepository.findBy(inCity, query -> query
+                .sortBy(PropertySort.PRICE_ASC.sort()).limit(3).scroll(PropertySort.PRICE_ASC.position(null)));
+        String cursor = PropertySort.PRICE_ASC.encode(first.getContent().get(2));
+        Window<PropertyReadModel> second = propertyReadModelRepository.findBy(inCity, query -> query
+                .sortBy(PropertySort.PRICE_ASC.sort()).limit(3).scroll(PropertySort.PRICE_ASC.position(cursor)));
+
+        assertEquals("Cheapest", first.getContent().get(0).getTitle());
+        assertTrue(first.hasNext());
+        assertEquals(2, second.size());
+        assertEquals("Priciest", second.getContent().get(1).getTitle());
+        assertTrue(second.getContent().stream().noneMatch(first.getContent()::contains));
+    }
+
+    @Test
+    void findSummaries_ShouldProjectCardColumnsWithPrimaryImage() {
+        PropertyReadModel withoutImages = persist(row("No Images", "90000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PropertySummaryDto> summaries = propertyReadModelRepository.findSummaries(
+                PropertySpecifications.matching(PropertySearchCriteria.builder().cityId(cityId).build()),
+                PropertySort.PRICE_DESC.sort(), ScrollPosition.keyset(), Limit.of(10));
+
+        assertEquals(2, summaries.size());
+        PropertySummaryDto card = summaries.get(0);
+        assertEquals(row.getId(), card.getId());
+        assertEquals("Test Property", card.getTitle());
+        assertEquals(0, new BigDecimal("100000.00").compareTo(card.getPrice()));
+        assertEquals(cityId, card.getCityId());
+        assertEquals(3, card.getBedrooms());
+        assertEquals(2, card.getBathrooms());
+        assertEquals("http://example.com/primary.jpg", card.getPrimaryImageUrl());
+        assertNotNull(card.getCreatedAt());
+        assertEquals(withoutImages.getId(), summaries.get(1).getId());
+        assertNull(summaries.get(1).getPrimaryImageUrl());
+    }
+
+    @Test
+    void findSummaries_AfterKeysetPosition_ShouldSeekPastCursor() {
+        persist(row("Cheaper", "50000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false));
+        persist(row("Pricier", "150000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false));
+        entityManager.flush();
+
+        List<PropertySummaryDto> after = propertyReadModelRepository.findSummaries(
+                PropertySpecifications.matching(PropertySearchCriteria.builder().agentId(agentId).build()),
+                PropertySort.PRICE_ASC.sort(), PropertySort.PRICE_ASC.position(PropertySort.PRICE_ASC.encode(row)),
+                Limit.of(10));
+
+        assertEquals(List.of("Pricier"), after.stream().map(PropertySummaryDto::getTitle).toList());
+    }
+
+    @Test
+    void findSummariesByIdIn_ShouldReturnOnlyRequestedIds() {
+        persist(row("Other", "50000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false));
+        entityManager.flush();
+
+        List<PropertySummaryDto> summaries = propertyReadModelRepository.findSummariesByIdIn(List.of(row.getId()));
+
+        assertEquals(List.of(row.getId()), summaries.stream().map(PropertySummaryDto::getId).toList());
+        assertTrue(propertyReadModelRepository.findSummariesByIdIn(List.of()).isEmpty());
+    }
+
+    @Test
+    void findAttributes_ShouldSelectRequestedAttributesIncludingCollections() {
+        persist(row("Cheaper", "50000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Map<String, Object>> rows = propertyReadModelRepository.findAttributes(
+                PropertySpecifications.matching(PropertySearchCriteria.builder().cityId(cityId).build()),
+                PropertySort.PRICE_ASC.sort(), ScrollPosition.keyset(), Limit.of(10),
+                List.of("id", "price", "title", "features"));
+
+        assertEquals(2, rows.size());
+        assertEquals(List.of("id", "price", "title", "features"), List.copyOf(rows.get(0).keySet()));
+        assertEquals("Cheaper", rows.get(0).get("title"));
+        assertEquals(row.getId(), rows.get(1).get("id"));
+        assertEquals(List.of("Pool", "Garage"), rows.get(1).get("features"));
+    }
+
+    @Test
+    void findVersion_ShouldCountMatchesAndTrackLatestUpdate() {
+        PropertyReadModel other = row("Other", "50000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false);
+        other.setUpdatedAt(now.plusDays(1));
+        persist(other);
+        entityManager.flush();
+
+        PropertyVersion version = propertyReadModelRepository.findVersion(
+                PropertySpecifications.matching(PropertySearchCriteria.builder().agentId(agentId).build()));
+        assertEquals(2, version.count());
+        assertEquals(other.getUpdatedAt(), version.lastUpdatedAt());
+
+        PropertyVersion none = propertyReadModelRepository.findVersion(PropertySpecifications.hasId(UUID.randomUUID()));
+        assertEquals(0, none.count());
+        assertNull(none.lastUpdatedAt());
+    }
+
+    @Test
+    void deleteOrphans_ShouldRemoveRowsWithoutProperty() {
+        Property property = entityManager.persist(Property.builder()
+                .title("Live")
+                .price(new BigDecimal("100000.00"))
+                .agentId(agentId)
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .status(PropertyStatus.FOR_SALE)
+                .build());
+        PropertyReadModel live = row("Live", "100000.00", 1, 1, 500, PropertyStatus.FOR_SALE, false);
+        live.setId(property.getId());
+        persist(live);
+        entityManager.flush();
+
+        assertEquals(1, propertyReadModelRepository.deleteOrphans());
+
+        entityManager.clear();
+        assertEquals(List.of(property.getId()),
+                propertyReadModelRepository.findAll().stream().map(PropertyReadModel::getId).toList());
+    }
+
+    private PropertyReadModel row(String title, String price, int bedrooms, int bathrooms, int squareFeet,
+                                  PropertyStatus status, boolean featured) {
+        return PropertyReadModel.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .price(new BigDecimal(price))
+                .agentId(agentId)
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .status(status)
+                .bedrooms(bedrooms)
+                .bathrooms(bathrooms)
+                .squareFeet(squareFeet)
+                .isFeatured(featured)
+                .build();
+    }
+
+    // Timestamps come from the write side, here every row is a second newer than the one before
+    private PropertyReadModel persist(PropertyReadModel readModel) {
+        if (readModel.getCreatedAt() == null) {
+            readModel.setCreatedAt(now.plusSeconds(created++));
+        }
+        if (readModel.getUpdatedAt() == null) {
+            readModel.setUpdatedAt(readModel.getCreatedAt());
+        }
+        return entityManager.persist(readModel);
+    }
+}
@@ -1,9 +1,13 @@
 package propertyservice.app.repository;
 
+import propertyservice.app.dto.PropertySearchCriteria;
 import propertyservice.app.entity.Property;
 import propertyservice.app.entity.PropertyFeature;
 import propertyservice.app.entity.PropertyImage;
 import propertyservice.app.entity.PropertyStatus;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +18,9 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -185,141 +191,6 @@ class PropertyRepositoryIntegrationTest {
         assertTrue(found.getFeatures().stream().anyMatch(f -> f.getFeatureName().equals("Garage")));
     }
 
-    @Test
-    void findByAgentId_ShouldReturnPropertiesForAgent() {
-        Property property2 = Property.builder()
-                .title("Agent Property")
-                .description("Description")
-                .price(new BigDecimal("150000.00"))
-                .agentId(agentId)
-                .cityId(cityId)
-                .propertyTypeId(propertyTypeId)
-                .status(PropertyStatus.FOR_SALE)
-                .build();
-        entityManager.persist(property2);
-
-        UUID differentAgentId = UUID.randomUUID();
-        Property property3 = Property.builder()
-                .title("Other Agent Property")
-                .description("Description")
-                .price(new BigDecimal("250000.00"))
-                .agentId(differentAgentId)
-                .cityId(cityId)
-                .propertyTypeId(propertyTypeId)
-                .status(PropertyStatus.FOR_SALE)
-                .build();
-        entityManager.persist(property3);
-        entityManager.flush();
-
-        List<Property> agentProperties = propertyRepository.findByAgentId(agentId);
-
-        assertNotNull(agentProperties);
-        assertEquals(2, agentProperties.size());
-        assertTrue(agentProperties.stream().allMatch(p -> p.getAgentId().equals(agentId)));
-    }
-
-    @Test
-    void findByCityId_ShouldReturnPropertiesForCity() {
-        Property property2 = Property.builder()
-                .title("City Property")
-                .description("Description")
-                .price(new BigDecimal("180000.00"))
-                .agentId(agentId)
-                .cityId(cityId)
-                .propertyTypeId(propertyTypeId)
-                .status(PropertyStatus.FOR_SALE)
-                .build();
-        entityManager.persist(property2);
-
-        UUID differentCityId = UUID.randomUUID();
-        Property property3 = Property.builder()
-                .title("Other City Property")
-                .description("Description")
-                .price(new BigDecimal("220000.00"))
-                .agentId(agentId)
-                .cityId(differentCityId)
-                .propertyTypeId(propertyTypeId)
-                .status(PropertyStatus.FOR_SALE)
-                .build();
-        entityManager.persist(property3);
-        entityManager.flush();
-
-        List<Property> cityProperties = propertyRepository.findByCityId(cityId);
-
-        assertNotNull(cityProperties);
-        assertEquals(2, cityProperties.size());
-        assertTrue(cityProperties.stream().allMatch(p -> p.getCityId().equals(cityId)));
-    }
-
-    @Test
-    void findByIsFeaturedTrue_ShouldReturnOnlyFeaturedProperties() {
-        property.setIsFeatured(true);
-        propertyRepository.save(property);
-
-        Property property2 = Property.builder()
-                .title("Non-Featured Property")
-                .description("Description")
-                .price(new BigDecimal("120000.00"))
-                .agentId(agentId)
-                .cityId(cityId)
-                .propertyTypeId(propertyTypeId)
-                .status(PropertyStatus.FOR_SALE)
-                .isFeatured(false)
-                .build();
-        entityManager.persist(property2);
-
-        Property property3 = Property.builder()
-                .title("Featured Property 2")
-                .description("Description")
-                .price(new BigDecimal("300000.00"))
-                .agentId(agentId)
-                .cityId(cityId)
-                .propertyTypeId(propertyTypeId)
-                .status(PropertyStatus.FOR_SALE)
-                .isFeatured(true)
-                .build();
-        entityManager.persist(property3);
-        entityManager.flush();
-
-        List<Property> featuredProperties = propertyRepository.findByIsFeaturedTrue();
-
-        assertNotNull(featuredProperties);
-        assertEquals(2, featuredProperties.size());
-        assertTrue(featuredProperties.stream().allMatch(Property::getIsFeatured));
-    }
-
-    @Test
-    void searchProperties_ByTitle_ShouldReturnMatchingProperties() {
-        Property property2 = Property.builder()
-                .title("Luxury Villa")
-                .description("Beautiful villa")
-                .price(new BigDecimal("500000.00"))
-                .agentId(agentId)
-                .cityId(cityId)
-                .propertyTypeId(propertyTypeId)
-                .status(PropertyStatus.FOR_SALE)
-                .build();
-        entityManager.persist(property2);
-
-        Property property3 = Property.builder()
-                .title("Small Apartment")
-                .description("Cozy apartment")
-                .price(new BigDecimal("80000.00"))
-                .agentId(agentId)
-                .cityId(cityId)
-                .propertyTypeId(propertyTypeId)
-                .status(PropertyStatus.FOR_SALE)
-                .build();
-        entityManager.persist(property3);
-        entityManager.flush();
-
-        List<Property> results = propertyRepository.searchProperties("Villa", null, null, null);
-
-        assertNotNull(results);
-        assertEquals(1, results.size());
-        assertEquals("Luxury Villa", results.get(0).getTitle());
-    }
-
     @Test
     void searchProperties_ByMaxPrice_ShouldReturnPropertiesBelowPrice() {
         Property property2 = Property.builder()
@@ -345,7 +216,8 @@ class PropertyRepositoryIntegrationTest {
         entityManager.persist(property3);
         entityManager.flush();
 
-        List<Property> results = propertyRepository.searchProperties(null, null, null, new BigDecimal("150000.00"));
+        List<Property> results = propertyRepository.findAll(PropertySpecifications.matching(
+                PropertySearchCriteria.builder().maxPrice(new BigDecimal("150000.00")).build()));
 
         assertNotNull(results);
         assertTrue(results.size() >= 2);
@@ -378,7 +250,8 @@ class PropertyRepositoryIntegrationTest {
         entityManager.persist(property3);
         entityManager.flush();
 
-        List<Property> results = propertyRepository.searchProperties(null, cityId, null, null);
+        List<Property> results = propertyRepository.findAll(PropertySpecifications.matching(
+                PropertySearchCriteria.builder().cityId(cityId).build()));
 
         assertNotNull(results);
         assertEquals(2, results.size());
@@ -411,11 +284,53 @@ class PropertyRepositoryIntegrationTest {
         entityManager.persist(property3);
         entityManager.flush();
 
-        List<Property> results = propertyRepository.searchProperties("Luxury", cityId, propertyTypeId, new BigDecimal("280000.00"));
+        List<Property> results = propertyRepository.findAll(PropertySpecifications.matching(PropertySearchCriteria.builder()
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .maxPrice(new BigDecimal("280000.00"))
+                .build()));
 
         assertNotNull(results);
-        assertEquals(1, results.size());
-        assertEquals("Luxury Apartment", results.get(0).getTitle());
+        assertEquals(2, results.size());
+        assertTrue(results.stream().anyMatch(p -> p.getTitle().equals("Luxury Apartment")));
+        assertTrue(results.stream().noneMatch(p -> p.getTitle().equals("Luxury House")));
+    }
+
+    @Test
+    void findCollectionsByPropertyIdIn_ShouldLoadEveryCollectionInOneQueryEach() {
+        List<UUID> ids = new ArrayList<>(List.of(propertyId));
+        for (int i = 0; i < 30; i++) {
+            Property other = Property.builder()
+                    .title("Other " + i)
+                    .price(new BigDecimal("100000.00"))
+                    .agentId(agentId)
+                    .cityId(cityId)
+                    .propertyTypeId(propertyTypeId)
+                    .status(PropertyStatus.FOR_SALE)
+                    .build();
+            other.getFeatures().add(PropertyFeature.builder().property(other).featureName("Feature " + i).build());
+            ids.add(entityManager.persist(other).getId());
+        }
+        property.getImages().add(PropertyImage.builder()
+                .property(property).imageUrl("http://example.com/second.jpg").displayOrder(1).build());
+        property.getImages().add(PropertyImage.builder()
+                .property(property).imageUrl("http://example.com/first.jpg").displayOrder(0).build());
+        entityManager.flush();
+        entityManager.clear();
+        List<Property> page = propertyRepository.findAllById(ids);
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PropertyCollections collections = propertyRepository.findCollectionsByPropertyIdIn(ids);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(List.of("http://example.com/first.jpg", "http://example.com/second.jpg"),
+                collections.imagesOf(propertyId).stream().map(PropertyImage::getImageUrl).toList());
+        assertTrue(collections.featuresOf(propertyId).isEmpty());
+        assertEquals(30, collections.features().size());
+        assertTrue(page.stream().noneMatch(loaded -> Hibernate.isInitialized(loaded.getFeatures())));
+        assertEquals(new PropertyCollections(Map.of(), Map.of()), propertyRepository.findCollectionsByPropertyIdIn(List.of()));
     }
 
     @Test
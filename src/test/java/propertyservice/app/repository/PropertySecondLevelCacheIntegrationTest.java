@@ -0,0 +1,125 @@
+package propertyservice.app.repository;
+
+import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyFeature;
+import propertyservice.app.entity.PropertyImage;
+import propertyservice.app.entity.PropertyStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The cache is only filled on commit, so every step runs in a transaction of its own
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PropertySecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private UUID propertyId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        propertyId = transaction.execute(status -> {
+            Property property = Property.builder()
+                    .title("Cached Property")
+                    .price(new BigDecimal("100000.00"))
+                    .agentId(UUID.randomUUID())
+                    .cityId(UUID.randomUUID())
+                    .propertyTypeId(UUID.randomUUID())
+                    .status(PropertyStatus.FOR_SALE)
+                    .build();
+            for (int i = 0; i < 2; i++) {
+                property.getImages().add(PropertyImage.builder()
+                        .property(property).imageUrl("http://example.com/" + i + ".jpg").displayOrder(i).build());
+                property.getFeatures().add(PropertyFeature.builder()
+                        .property(property).featureName("Feature " + i).build());
+            }
+            return propertyRepository.save(property).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> propertyRepository.deleteAll());
+    }
+
+    @Test
+    void findById_ShouldServeARepeatReadWithoutTouchingTheDatabase() {
+        load();
+        statistics.clear();
+
+        Property property = load();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, property.getImages().size());
+        assertEquals(2, property.getFeatures().size());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Property.CACHE_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Property.IMAGES_CACHE_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Property.FEATURES_CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void save_ShouldNotLeaveAStaleEntityOrCollectionInTheCache() {
+        load();
+        transaction.executeWithoutResult(status -> {
+            Property property = propertyRepository.findById(propertyId).orElseThrow();
+            property.setTitle("Renamed");
+            property.getImages().add(PropertyImage.builder()
+                    .property(property).imageUrl("http://example.com/2.jpg").displayOrder(2).build());
+            property.getFeatures().remove(0);
+        });
+
+        Property property = load();
+
+        assertEquals("Renamed", property.getTitle());
+        assertEquals(3, property.getImages().size());
+        assertEquals(1, property.getFeatures().size());
+    }
+
+    @Test
+    void delete_ShouldEvictTheProperty() {
+        load();
+        transaction.executeWithoutResult(status -> propertyRepository.deleteById(propertyId));
+
+        assertTrue(transaction.execute(status -> propertyRepository.findById(propertyId)).isEmpty());
+    }
+
+    // Loads the property and both collections the way the write paths do
+    private Property load() {
+        return transaction.execute(status -> {
+            Property property = propertyRepository.findById(propertyId).orElseThrow();
+            property.getImages().size();
+            property.getFeatures().size();
+            return property;
+        });
+    }
+}
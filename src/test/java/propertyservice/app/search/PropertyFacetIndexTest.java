@@ -0,0 +1,160 @@
+package propertyservice.app.search;
+
+import propertyservice.app.dto.FacetCountsDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.event.PropertyChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyFacetIndexTest {
+
+    private PropertyFacetIndex index;
+
+    private final UUID sofia = UUID.randomUUID();
+    private final UUID varna = UUID.randomUUID();
+    private final UUID house = UUID.randomUUID();
+    private final UUID apartment = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new PropertyFacetIndex();
+        ReflectionTestUtils.setField(index, "priceBucketBounds",
+                List.of(new BigDecimal("100000"), new BigDecimal("250000")));
+        index.init();
+    }
+
+    @Test
+    void count_WithoutFilters_ShouldCountEveryFacet() {
+        add(sofia, house, PropertyStatus.FOR_SALE, 3, 90000);
+        add(sofia, apartment, PropertyStatus.FOR_SALE, 2, 150000);
+        add(varna, house, PropertyStatus.FOR_RENT, 3, 300000);
+
+        FacetCountsDto counts = index.count(FacetQuery.builder().build(), null);
+
+        assertEquals(3, counts.getTotal());
+        assertEquals(Map.of(sofia.toString(), 2L, varna.toString(), 1L), counts.getFacets().get("cityId"));
+        assertEquals(Map.of("FOR_SALE", 2L, "FOR_RENT", 1L), counts.getFacets().get("status"));
+        assertEquals(Map.of("3", 2L, "2", 1L), counts.getFacets().get("bedrooms"));
+        assertEquals(List.of("0-100000", "100000-250000", "250000+"),
+                List.copyOf(counts.getFacets().get("priceBucket").keySet()));
+    }
+
+    @Test
+    void count_WithMultiSelect_ShouldOrWithinFacetAndIgnoreOwnSelection() {
+        add(sofia, house, PropertyStatus.FOR_SALE, 3, 90000);
+        add(sofia, apartment, PropertyStatus.FOR_RENT, 2, 150000);
+        add(varna, house, PropertyStatus.FOR_SALE, 3, 300000);
+        add(UUID.randomUUID(), house, PropertyStatus.FOR_SALE, 1, 50000);
+
+        FacetCountsDto counts = index.count(FacetQuery.builder()
+                .cityIds(List.of(sofia, varna))
+                .statuses(List.of(PropertyStatus.FOR_SALE))
+                .build(), null);
+
+        assertEquals(2, counts.getTotal());
+        // city counts ignore the city selection but honour the status one
+        assertEquals(3, counts.getFacets().get("cityId").size());
+        assertEquals(1L, counts.getFacets().get("cityId").get(sofia.toString()));
+        assertEquals(1L, counts.getFacets().get("cityId").get(varna.toString()));
+        // status counts ignore the status selection but honour the city one
+        assertEquals(Map.of("FOR_SALE", 2L, "FOR_RENT", 1L), counts.getFacets().get("status"));
+    }
+
+    @Test
+    void count_WithMaxPriceAndMatchingIds_ShouldApplyBothFilters() {
+        PropertyDto cheap = add(sofia, house, PropertyStatus.FOR_SALE, 3, 90000);
+        PropertyDto edge = add(sofia, house, PropertyStatus.FOR_SALE, 3, 120000);
+        add(sofia, house, PropertyStatus.FOR_SALE, 3, 180000);
+        add(sofia, house, PropertyStatus.FOR_SALE, 3, 300000);
+
+        assertEquals(2, index.count(FacetQuery.builder().maxPrice(new BigDecimal("120000")).build(), null).getTotal());
+        assertEquals(1, index.count(FacetQuery.builder().maxPrice(new BigDecimal("120000")).build(),
+                List.of(edge.getId(), UUID.randomUUID())).getTotal());
+        assertEquals(1, index.count(FacetQuery.builder().build(), List.of(cheap.getId())).getTotal());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldMoveUpdatedAndDropDeletedProperties() {
+        PropertyDto moved = add(sofia, house, PropertyStatus.FOR_SALE, 3, 90000);
+        PropertyDto deleted = add(sofia, house, PropertyStatus.FOR_SALE, 3, 90000);
+
+        PropertyDto updated = copy(moved);
+        updated.setCityId(varna);
+        updated.setStatus(PropertyStatus.SOLD);
+        index.onPropertyChanged(new PropertyChangedEvent(moved.getId(), moved, updated));
+        index.onPropertyChanged(new PropertyChangedEvent(deleted.getId(), deleted, null));
+
+        FacetCountsDto counts = index.count(FacetQuery.builder().build(), null);
+        assertEquals(1, counts.getTotal());
+        assertEquals(Map.of(varna.toString(), 1L), counts.getFacets().get("cityId"));
+        assertEquals(Map.of("SOLD", 1L), counts.getFacets().get("status"));
+    }
+
+    @Test
+    void upsert_ShouldReuseOrdinalsFreedByDeletes() {
+        PropertyDto first = add(sofia, house, PropertyStatus.FOR_SALE, 3, 90000);
+        index.onPropertyChanged(new PropertyChangedEvent(first.getId(), first, null));
+        add(varna, house, PropertyStatus.FOR_SALE, 3, 90000);
+
+        assertEquals(1, index.size());
+        assertEquals(Map.of(varna.toString(), 1L),
+                index.count(FacetQuery.builder().build(), null).getFacets().get("cityId"));
+    }
+
+    @Test
+    void finishRebuild_ShouldSwapInRebuiltStateAndReplayChangesMadeMeanwhile() {
+        add(sofia, house, PropertyStatus.FOR_SALE, 3, 90000); // not seen by the rebuild
+        PropertyDto seen = property(sofia, house, PropertyStatus.FOR_SALE, 2, 90000);
+
+        index.beginRebuild();
+        index.upsert(seen);
+        PropertyDto createdDuringRebuild = add(varna, apartment, PropertyStatus.FOR_RENT, 1, 500000);
+        assertEquals(2, index.size()); // counts are still served from the old state
+        index.finishRebuild();
+
+        FacetCountsDto counts = index.count(FacetQuery.builder().build(), null);
+        assertEquals(2, counts.getTotal());
+        assertEquals(1L, counts.getFacets().get("cityId").get(createdDuringRebuild.getCityId().toString()));
+        assertEquals(Map.of("2", 1L, "1", 1L), counts.getFacets().get("bedrooms"));
+    }
+
+    @Test
+    void count_WithUnknownSelectedValue_ShouldMatchNothing() {
+        add(sofia, house, PropertyStatus.FOR_SALE, 3, 90000);
+
+        assertEquals(0, index.count(FacetQuery.builder().priceBuckets(List.of("nope")).build(), null).getTotal());
+    }
+
+    private PropertyDto add(UUID cityId, UUID typeId, PropertyStatus status, int bedrooms, int price) {
+        PropertyDto dto = property(cityId, typeId, status, bedrooms, price);
+        index.onPropertyChanged(new PropertyChangedEvent(dto.getId(), null, dto));
+        return dto;
+    }
+
+    private PropertyDto property(UUID cityId, UUID typeId, PropertyStatus status, int bedrooms, int price) {
+        return PropertyDto.builder()
+                .id(UUID.randomUUID())
+                .cityId(cityId)
+                .propertyTypeId(typeId)
+                .status(status)
+                .bedrooms(bedrooms)
+                .price(BigDecimal.valueOf(price))
+                .build();
+    }
+
+    private PropertyDto copy(PropertyDto dto) {
+        PropertyDto copy = property(dto.getCityId(), dto.getPropertyTypeId(), dto.getStatus(), dto.getBedrooms(),
+                dto.getPrice().intValue());
+        copy.setId(dto.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,220 @@
+package propertyservice.app.search;
+
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.dto.PropertySearchCriteria;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.event.PropertyChangedEvent;
+import propertyservice.app.exeption.InvalidRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertySearchIndexTest {
+
+    private PropertySearchIndex index;
+
+    private final UUID cityId = UUID.randomUUID();
+    private final UUID propertyTypeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new PropertySearchIndex();
+        ReflectionTestUtils.setField(index, "indexDir", "");
+        ReflectionTestUtils.setField(index, "maxStaleSeconds", 1.0);
+        index.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchAboveDescriptionMatch() throws Exception {
+        PropertyDto inDescription = add("Family House", "Close to a villa park", "1 Main St", List.of(), 300000);
+        PropertyDto inTitle = add("Luxury Villa", "Sea view", "2 Main St", List.of(), 500000);
+
+        List<UUID> ids = index.search(text("villa"), null, 10).getIds();
+
+        assertEquals(List.of(inTitle.getId(), inDescription.getId()), ids);
+    }
+
+    @Test
+    void search_ShouldFoldCaseAndAccents() throws Exception {
+        PropertyDto chateau = add("Château Rouge", null, null, List.of(), 900000);
+
+        assertEquals(List.of(chateau.getId()), index.search(text("CHATEAU"), null, 10).getIds());
+    }
+
+    @Test
+    void search_ShouldMatchFeaturesAddressAndPrefixOfLastTerm() throws Exception {
+        PropertyDto pool = add("Apartment", null, "12 Harbour Road", List.of("Swimming Pool"), 200000);
+
+        assertEquals(List.of(pool.getId()), index.search(text("swimming"), null, 10).getIds());
+        assertEquals(List.of(pool.getId()), index.search(text("harbour ro"), null, 10).getIds());
+    }
+
+    @Test
+    void search_ShouldApplyCityTypeAndMaxPriceFilters() throws Exception {
+        PropertyDto cheap = add("Garden Flat", null, null, List.of(), 100000);
+        add("Garden House", null, null, List.of(), 400000);
+        PropertyDto otherCity = add("Garden Loft", null, null, List.of(), 90000, UUID.randomUUID());
+
+        assertEquals(List.of(cheap.getId()),
+                index.search(PropertySearchCriteria.builder().search("garden")
+                        .cityId(cityId).propertyTypeId(propertyTypeId).maxPrice(new BigDecimal("150000")).build(), null, 10).getIds());
+        assertTrue(index.search(PropertySearchCriteria.builder().search("garden").cityId(cityId).build(), null, 10).getIds().stream()
+                .noneMatch(otherCity.getId()::equals));
+    }
+
+    @Test
+    void search_ShouldApplyRangeStatusAndFeaturedFilters() throws Exception {
+        PropertyDto matching = add("Sunny Loft", null, null, List.of(), 200000);
+        PropertyDto tooCheap = add("Sunny Studio", null, null, List.of(), 50000);
+        tooCheap.setBedrooms(3);
+        index.onPropertyChanged(new PropertyChangedEvent(tooCheap.getId(), null, tooCheap));
+        PropertyDto sold = add("Sunny House", null, null, List.of(), 250000);
+        sold.setStatus(PropertyStatus.SOLD);
+        index.onPropertyChanged(new PropertyChangedEvent(sold.getId(), null, sold));
+        index.refresh();
+
+        List<UUID> ids = index.search(PropertySearchCriteria.builder().search("sunny")
+                .minPrice(new BigDecimal("100000"))
+                .minBedrooms(2)
+                .maxBedrooms(3)
+                .minSquareFeet(1000)
+                .status(PropertyStatus.FOR_SALE)
+                .isFeatured(false)
+                .build(), null, 10).getIds();
+
+        assertEquals(List.of(matching.getId()), ids);
+    }
+
+    @Test
+    void search_ShouldPageWithCursorWithoutOverlap() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            add("Cottage " + i, null, null, List.of(), 100000 + i);
+        }
+
+        SearchHits first = index.search(text("cottage"), null, 3);
+        SearchHits second = index.search(text("cottage"), first.getNextCursor(), 3);
+
+        assertEquals(3, first.getIds().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(2, second.getIds().size());
+        assertNull(second.getNextCursor());
+        assertTrue(second.getIds().stream().noneMatch(first.getIds()::contains));
+    }
+
+    @Test
+    void matchingIds_ShouldReturnEveryMatchBeyondOnePage() throws Exception {
+        Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            expected.add(add("Cottage " + i, null, null, List.of(), 100000 + i).getId());
+        }
+        add("Villa", null, null, List.of(), 100000);
+
+        assertEquals(expected, new HashSet<>(index.matchingIds("cottage")));
+        assertTrue(index.matchingIds("   ").isEmpty());
+    }
+
+    @Test
+    void onPropertyChanged_WithDelete_ShouldRemoveDocument() throws Exception {
+        PropertyDto villa = add("Villa", null, null, List.of(), 100000);
+
+        index.onPropertyChanged(new PropertyChangedEvent(villa.getId(), villa, null));
+        index.refresh();
+
+        assertTrue(index.search(text("villa"), null, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void finishRebuild_ShouldDropDocumentsNotSeenByRebuild() throws Exception {
+        PropertyDto kept = add("Villa Kept", null, null, List.of(), 100000);
+        add("Villa Gone", null, null, List.of(), 100000);
+
+        Thread.sleep(2); // generations are millisecond timestamps
+        long generation = index.beginRebuild();
+        index.upsert(kept, generation);
+        index.finishRebuild(generation);
+
+        assertEquals(List.of(kept.getId()), index.search(text("villa"), null, 10).getIds());
+    }
+
+    @Test
+    void rebuild_WhenAPropertyChangesAfterItsChunkWasRead_ShouldKeepTheLiveChange() throws Exception {
+        PropertyDto deleted = add("Villa Deleted", null, null, List.of(), 100000);
+        PropertyDto renamed = add("Villa Renamed", null, null, List.of(), 100000);
+
+        Thread.sleep(2); // generations are millisecond timestamps
+        long generation = index.beginRebuild();
+        // The chunk holding both rows was read before these two changes committed and is indexed after them
+        index.onPropertyChanged(new PropertyChangedEvent(deleted.getId(), deleted, null));
+        PropertyDto cottage = PropertyDto.builder()
+                .id(renamed.getId())
+                .title("Cottage")
+                .price(renamed.getPrice())
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .status(PropertyStatus.FOR_SALE)
+                .isFeatured(false)
+                .createdAt(renamed.getCreatedAt())
+                .build();
+        index.onPropertyChanged(new PropertyChangedEvent(renamed.getId(), renamed, cottage));
+        index.upsert(deleted, generation);
+        index.upsert(renamed, generation);
+        index.finishRebuild(generation);
+
+        assertTrue(index.search(text("villa"), null, 10).getIds().isEmpty());
+        assertEquals(List.of(renamed.getId()), index.search(text("cottage"), null, 10).getIds());
+    }
+
+    @Test
+    void search_WithMalformedCursor_ShouldThrowException() throws Exception {
+        add("Villa", null, null, List.of(), 100000);
+
+        assertThrows(InvalidRequestException.class, () -> index.search(text("villa"), "bogus", 10));
+    }
+
+    private PropertyDto add(String title, String description, String address, List<String> features, int price)
+            throws Exception {
+        return add(title, description, address, features, price, cityId);
+    }
+
+    private PropertyDto add(String title, String description, String address, List<String> features, int price,
+                            UUID city) throws Exception {
+        PropertyDto dto = PropertyDto.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .description(description)
+                .address(address)
+                .features(features)
+                .price(BigDecimal.valueOf(price))
+                .cityId(city)
+                .propertyTypeId(propertyTypeId)
+                .status(PropertyStatus.FOR_SALE)
+                .bedrooms(2)
+                .bathrooms(1)
+                .squareFeet(1200)
+                .isFeatured(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+        index.onPropertyChanged(new PropertyChangedEvent(dto.getId(), null, dto));
+        index.refresh();
+        return dto;
+    }
+
+    private PropertySearchCriteria text(String search) {
+        return PropertySearchCriteria.builder().search(search).build();
+    }
+}
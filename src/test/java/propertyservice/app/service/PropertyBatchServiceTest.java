@@ -0,0 +1,124 @@
+package propertyservice.app.service;
+
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.PropertyBatchDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyBatchServiceTest {
+
+    @Mock
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    private CaffeineCacheManager cacheManager;
+
+    private PropertyBatchService batchService;
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+    private final UUID missing = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CacheConfig.PROPERTY_BY_ID);
+        batchService = new PropertyBatchService(propertyReadModelRepository, cacheManager);
+        ReflectionTestUtils.setField(batchService, "maxIds", 5);
+        ReflectionTestUtils.setField(batchService, "chunkSize", 2);
+    }
+
+    @Test
+    void getProperties_ShouldKeepRequestOrderAndReportMissingIds() {
+        // The repository answers each chunk in reverse
+        when(propertyReadModelRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<PropertyReadModel> rows = new ArrayList<>(rowsOf(invocation.getArgument(0)));
+            Collections.reverse(rows);
+            return rows;
+        });
+
+        PropertyBatchDto batch = batchService.getProperties(List.of(third, first, missing, third));
+
+        assertEquals(List.of(third, first), batch.getItems().stream().map(PropertyDto::getId).toList());
+        assertEquals(List.of(missing), batch.getMissingIds());
+    }
+
+    @Test
+    void getProperties_ShouldLoadOnlyUncachedIdsInChunksWithoutCachingThem() {
+        PropertyDto cached = PropertyDto.builder().id(second).title("Cached").build();
+        cacheManager.getCache(CacheConfig.PROPERTY_BY_ID).put(second, cached);
+        when(propertyReadModelRepository.findAllById(any())).thenAnswer(invocation -> rowsOf(invocation.getArgument(0)));
+
+        PropertyBatchDto batch = batchService.getProperties(List.of(first, second, third, missing));
+
+        assertSame(cached, batch.getItems().get(1));
+        verify(propertyReadModelRepository).findAllById(List.of(first, third));
+        verify(propertyReadModelRepository).findAllById(List.of(missing));
+        verifyNoMoreInteractions(propertyReadModelRepository);
+        assertNull(cacheManager.getCache(CacheConfig.PROPERTY_BY_ID).get(first));
+        assertNull(cacheManager.getCache(CacheConfig.PROPERTY_BY_ID).get(third));
+    }
+
+    @Test
+    void getProperties_WhenAWriteEvictsAPropertyDuringTheRead_ShouldNotPutTheReadStateBack() {
+        when(propertyReadModelRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<PropertyReadModel> rows = rowsOf(invocation.getArgument(0));
+            // An update commits after the rows were read and PropertyCacheEvictor evicts the property
+            cacheManager.getCache(CacheConfig.PROPERTY_BY_ID).evict(first);
+            return rows;
+        });
+
+        PropertyBatchDto batch = batchService.getProperties(List.of(first));
+
+        assertEquals(List.of(first), batch.getItems().stream().map(PropertyDto::getId).toList());
+        assertNull(cacheManager.getCache(CacheConfig.PROPERTY_BY_ID).get(first));
+    }
+
+    @Test
+    void getProperties_WithTooManyDistinctIds_ShouldThrow() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        assertThrows(InvalidRequestException.class, () -> batchService.getProperties(ids));
+        verifyNoInteractions(propertyReadModelRepository);
+    }
+
+    private List<PropertyReadModel> rowsOf(Collection<UUID> ids) {
+        return ids.stream().filter(id -> !id.equals(missing)).map(this::row).toList();
+    }
+
+    private PropertyReadModel row(UUID id) {
+        return PropertyReadModel.builder()
+                .id(id)
+                .title("Property " + id)
+                .price(new BigDecimal("100000.00"))
+                .agentId(UUID.randomUUID())
+                .cityId(UUID.randomUUID())
+                .propertyTypeId(UUID.randomUUID())
+                .status(PropertyStatus.FOR_SALE)
+                .imageUrls(List.of())
+                .features(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package propertyservice.app.service;
+
+import propertyservice.app.client.AgentServiceClient;
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.dto.PropertyBulkItemDto;
+import propertyservice.app.dto.PropertyBulkResultDto;
+import propertyservice.app.dto.PropertyCreateDto;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import propertyservice.app.repository.PropertyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PropertyBulkCreateIntegrationTest {
+
+    @Autowired
+    private PropertyBulkService propertyBulkService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private AgentServiceClient agentServiceClient;
+
+    @MockitoBean
+    private CityServiceClient cityServiceClient;
+
+    @MockitoBean
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    private final UUID agentId = UUID.randomUUID();
+    private final UUID cityId = UUID.randomUUID();
+    private final UUID propertyTypeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        propertyReadModelRepository.deleteAll();
+        when(agentServiceClient.agentExists(any(UUID.class))).thenReturn(true);
+        when(cityServiceClient.cityExists(any(UUID.class))).thenReturn(true);
+        when(propertyTypeServiceClient.propertyTypeExists(any(UUID.class))).thenReturn(true);
+    }
+
+    @Test
+    void createProperties_ShouldCreateValidItemsAndReportTheOthers() {
+        UUID unknownCityId = UUID.randomUUID();
+        when(cityServiceClient.cityExists(unknownCityId)).thenReturn(false);
+        PropertyCreateDto unknownCity = item(0);
+        unknownCity.setCityId(unknownCityId);
+        PropertyCreateDto blankTitle = item(1);
+        blankTitle.setTitle(" ");
+
+        PropertyBulkResultDto result = propertyBulkService.createProperties(
+                List.of(item(2), unknownCity, blankTitle, item(3)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getFailed());
+        List<PropertyBulkItemDto> items = result.getItems();
+        assertEquals(List.of(0, 1, 2, 3), items.stream().map(PropertyBulkItemDto::getIndex).toList());
+        assertEquals("City not found with id: " + unknownCityId, items.get(1).getError());
+        assertTrue(items.get(2).getError().startsWith("title: "));
+        PropertyReadModel row = propertyReadModelRepository.findById(items.get(3).getId()).orElseThrow();
+        assertEquals("Property 3", row.getTitle());
+        assertEquals(List.of("http://example.com/3-0.jpg", "http://example.com/3-1.jpg"), row.getImageUrls());
+        assertEquals("http://example.com/3-0.jpg", row.getPrimaryImageUrl());
+        assertEquals(2, propertyRepository.count());
+        // Each distinct reference is checked once, not once per item
+        verify(agentServiceClient, times(1)).agentExists(agentId);
+        verify(cityServiceClient, times(1)).cityExists(cityId);
+    }
+
+    @Test
+    void createProperties_ShouldSendTheInsertsOfEachTableAsBatches() {
+        List<PropertyCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            dtos.add(item(i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PropertyBulkResultDto result = propertyBulkService.createProperties(dtos);
+        long statements = statistics.getPrepareStatementCount();
+        long loads = statistics.getEntityLoadCount();
+
+        assertEquals(20, result.getCreated());
+        assertEquals(20, propertyReadModelRepository.count());
+        // 140 rows over four tables, one batch per table and not a single read
+        assertEquals(4, statements);
+        assertEquals(0, loads);
+    }
+
+    @Test
+    void createProperties_WithTooManyItems_ShouldThrow() {
+        List<PropertyCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 5001; i++) {
+            dtos.add(item(i));
+        }
+
+        assertThrows(InvalidRequestException.class, () -> propertyBulkService.createProperties(dtos));
+        verifyNoInteractions(agentServiceClient);
+    }
+
+    private PropertyCreateDto item(int i) {
+        return PropertyCreateDto.builder()
+                .title("Property " + i)
+                .price(new BigDecimal("100000.00"))
+                .agentId(agentId)
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .status(PropertyStatus.FOR_SALE)
+                .imageUrls(List.of("http://example.com/" + i + "-0.jpg", "http://example.com/" + i + "-1.jpg"))
+                .features(List.of("Pool", "Garage"))
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package propertyservice.app.service;
+
+import propertyservice.app.client.AgentServiceClient;
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.dto.PropertyBulkChanges;
+import propertyservice.app.dto.PropertyBulkFilter;
+import propertyservice.app.dto.PropertyBulkUpdateRequest;
+import propertyservice.app.dto.PropertyCreateDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import propertyservice.app.repository.PropertyRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PropertyBulkUpdateIntegrationTest {
+
+    @Autowired
+    private PropertyBulkUpdateService propertyBulkUpdateService;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private AgentServiceClient agentServiceClient;
+
+    @MockitoBean
+    private CityServiceClient cityServiceClient;
+
+    @MockitoBean
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    private final UUID agentId = UUID.randomUUID();
+    private final UUID otherAgentId = UUID.randomUUID();
+    private final UUID cityId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        propertyReadModelRepository.deleteAll();
+        when(agentServiceClient.agentExists(any(UUID.class))).thenReturn(true);
+        when(cityServiceClient.cityExists(any(UUID.class))).thenReturn(true);
+        when(propertyTypeServiceClient.propertyTypeExists(any(UUID.class))).thenReturn(true);
+    }
+
+    @Test
+    void updateProperties_ShouldChangeOnlyMatchingRowsAndEvictTheirCacheEntries() {
+        PropertyDto forSale = create(agentId, PropertyStatus.FOR_SALE, "100000.00");
+        PropertyDto rented = create(agentId, PropertyStatus.FOR_RENT, "100000.00");
+        PropertyDto otherAgent = create(otherAgentId, PropertyStatus.FOR_SALE, "100000.00");
+        // Cached before the update, must not be served afterwards
+        assertEquals(PropertyStatus.FOR_SALE, propertyService.getPropertyById(forSale.getId()).getStatus());
+
+        int affected = propertyBulkUpdateService.updateProperties(request(
+                PropertyBulkFilter.builder().agentId(agentId).status(PropertyStatus.FOR_SALE).build(),
+                PropertyBulkChanges.builder().status(PropertyStatus.SOLD).build())).getAffected();
+
+        assertEquals(1, affected);
+        PropertyDto sold = propertyService.getPropertyById(forSale.getId());
+        assertEquals(PropertyStatus.SOLD, sold.getStatus());
+        assertTrue(sold.getUpdatedAt().isAfter(forSale.getUpdatedAt()));
+        assertEquals(PropertyStatus.SOLD, propertyRepository.findById(forSale.getId()).orElseThrow().getStatus());
+        assertEquals(PropertyStatus.FOR_RENT, propertyService.getPropertyById(rented.getId()).getStatus());
+        assertEquals(PropertyStatus.FOR_SALE, propertyService.getPropertyById(otherAgent.getId()).getStatus());
+    }
+
+    @Test
+    void updateProperties_ShouldReassignAgentAndChangePricesWithSetBasedStatements() {
+        List<UUID> ids = List.of(create(agentId, PropertyStatus.FOR_SALE, "200000.00").getId(),
+                create(agentId, PropertyStatus.FOR_SALE, "123456.78").getId(),
+                create(agentId, PropertyStatus.FOR_RENT, "1500.00").getId());
+        UUID newAgentId = UUID.randomUUID();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        int affected = propertyBulkUpdateService.updateProperties(request(
+                PropertyBulkFilter.builder().agentId(agentId).build(),
+                PropertyBulkChanges.builder().agentId(newAgentId).priceChangePercent(new BigDecimal("-10")).build()))
+                .getAffected();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(3, affected);
+        // One page: select matches, UPDATE properties, UPDATE read model, read back; independent of the number of rows
+        assertEquals(4, statements);
+        List<Property> properties = propertyRepository.findAllById(ids);
+        assertTrue(properties.stream().allMatch(property -> newAgentId.equals(property.getAgentId())));
+        List<PropertyReadModel> rows = propertyReadModelRepository.findAllById(ids);
+        assertEquals(List.of(new BigDecimal("1350.00"), new BigDecimal("111111.10"), new BigDecimal("180000.00")),
+                rows.stream().map(PropertyReadModel::getPrice).sorted().toList());
+        assertTrue(rows.stream().allMatch(row -> newAgentId.equals(row.getAgentId())));
+    }
+
+    @Test
+    void updateProperties_WhenMatchesSpanSeveralPages_ShouldChangeThemAllPageByPage() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(create(agentId, PropertyStatus.FOR_SALE, "100000.00").getId());
+        }
+        PropertyDto otherAgent = create(otherAgentId, PropertyStatus.FOR_SALE, "100000.00");
+        ids.forEach(propertyService::getPropertyById);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ReflectionTestUtils.setField(propertyBulkUpdateService, "chunkSize", 2);
+        try {
+            statistics.clear();
+            int affected = propertyBulkUpdateService.updateProperties(request(
+                    PropertyBulkFilter.builder().agentId(agentId).build(),
+                    PropertyBulkChanges.builder().status(PropertyStatus.SOLD).build())).getAffected();
+
+            assertEquals(5, affected);
+            // Three pages of four statements, the last one short so no empty page is read
+            assertEquals(12, statistics.getPrepareStatementCount());
+        } finally {
+            ReflectionTestUtils.setField(propertyBulkUpdateService, "chunkSize", 1000);
+        }
+        assertTrue(ids.stream().allMatch(id -> propertyService.getPropertyById(id).getStatus() == PropertyStatus.SOLD));
+        assertEquals(PropertyStatus.FOR_SALE, propertyService.getPropertyById(otherAgent.getId()).getStatus());
+    }
+
+    @Test
+    void updateProperties_WithoutFilterOrWithConflictingChanges_ShouldThrow() {
+        PropertyDto property = create(agentId, PropertyStatus.FOR_SALE, "100000.00");
+
+        assertThrows(InvalidRequestException.class, () -> propertyBulkUpdateService.updateProperties(request(
+                PropertyBulkFilter.builder().build(),
+                PropertyBulkChanges.builder().status(PropertyStatus.SOLD).build())));
+        assertThrows(InvalidRequestException.class, () -> propertyBulkUpdateService.updateProperties(request(
+                PropertyBulkFilter.builder().ids(List.of(property.getId())).build(),
+                PropertyBulkChanges.builder().price(BigDecimal.ONE).priceChangePercent(BigDecimal.TEN).build())));
+        UUID unknownAgentId = UUID.randomUUID();
+        when(agentServiceClient.agentExists(unknownAgentId)).thenReturn(false);
+        assertThrows(InvalidRequestException.class, () -> propertyBulkUpdateService.updateProperties(request(
+                PropertyBulkFilter.builder().ids(List.of(property.getId())).build(),
+                PropertyBulkChanges.builder().agentId(unknownAgentId).build())));
+        assertEquals(agentId, propertyReadModelRepository.findById(property.getId()).orElseThrow().getAgentId());
+    }
+
+    private PropertyDto create(UUID agentId, PropertyStatus status, String price) {
+        return propertyService.createProperty(PropertyCreateDto.builder()
+                .title("Property")
+                .price(new BigDecimal(price))
+                .agentId(agentId)
+                .cityId(cityId)
+                .propertyTypeId(UUID.randomUUID())
+                .status(status)
+                .build());
+    }
+
+    private static PropertyBulkUpdateRequest request(PropertyBulkFilter filter, PropertyBulkChanges changes) {
+        return PropertyBulkUpdateRequest.builder().filter(filter).changes(changes).build();
+    }
+}
@@ -0,0 +1,271 @@
+package propertyservice.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import propertyservice.app.client.AgentServiceClient;
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.dto.PropertySearchCriteria;
+import propertyservice.app.dto.PropertyUpdateDto;
+import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.exeption.PropertyNotFoundException;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import propertyservice.app.repository.PropertyRepository;
+import propertyservice.app.repository.PropertySpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PropertyCachingIntegrationTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PropertyJsonCache propertyJsonCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyReadModelRebuilder propertyReadModelRebuilder;
+
+    @Autowired
+    private PageCacheGenerations pageCacheGenerations;
+
+    @MockitoSpyBean
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    @MockitoBean
+    private AgentServiceClient agentServiceClient;
+
+    @MockitoBean
+    private CityServiceClient cityServiceClient;
+
+    @MockitoBean
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        when(cityServiceClient.cityExists(any(UUID.class))).thenReturn(true);
+
+        property = propertyRepository.save(Property.builder()
+                .title("Cached Property")
+                .price(new BigDecimal("100000.00"))
+                .agentId(UUID.randomUUID())
+                .cityId(UUID.randomUUID())
+                .propertyTypeId(UUID.randomUUID())
+                .status(PropertyStatus.FOR_SALE)
+                .build());
+        propertyReadModelRebuilder.rebuild();
+        clearInvocations(propertyReadModelRepository);
+    }
+
+    @Test
+    void getPropertyById_ShouldHitDatabaseOnlyOnce() {
+        propertyService.getPropertyById(property.getId());
+        propertyService.getPropertyById(property.getId());
+
+        verify(propertyReadModelRepository, times(1)).findById(property.getId());
+    }
+
+    @Test
+    void updateProperty_ShouldEvictPropertyAndBothCityLists() {
+        UUID oldCityId = property.getCityId();
+        UUID newCityId = UUID.randomUUID();
+        propertyService.getPropertyById(property.getId());
+        propertyService.getPropertiesByCity(oldCityId, null, null);
+        propertyService.getPropertiesByCity(newCityId, null, null);
+
+        propertyService.updateProperty(property.getId(), PropertyUpdateDto.builder()
+                .title("Renamed")
+                .cityId(newCityId)
+                .build());
+
+        assertEquals("Renamed", propertyService.getPropertyById(property.getId()).getTitle());
+        assertTrue(propertyService.getPropertiesByCity(oldCityId, null, null).getItems().isEmpty());
+        PropertyDto moved = propertyService.getPropertiesByCity(newCityId, null, null).getItems().get(0);
+        assertEquals("Renamed", moved.getTitle());
+    }
+
+    @Test
+    void toggleFeatured_ShouldOnlyEvictListsOfItsOwnCity() {
+        UUID otherCityId = UUID.randomUUID();
+        propertyService.getPropertiesByCity(otherCityId, null, null);
+        propertyService.getFeaturedProperties(null, null);
+
+        propertyService.toggleFeatured(property.getId());
+
+        assertNotNull(cacheManager.getCache(CacheConfig.PROPERTIES_BY_CITY)
+                .get(pageCacheGenerations.key(CacheConfig.PROPERTIES_BY_CITY, otherCityId, "full:null:null")));
+        assertEquals(1, propertyService.getFeaturedProperties(null, null).getItems().size());
+    }
+
+    @Test
+    void updateProperty_WhenAPageLoadedBeforeTheCommitIsStoredAfterIt_ShouldNotServeThatPage() {
+        UUID cityId = property.getCityId();
+        // Key taken and page read by a reader that started before the update committed
+        String staleKey = pageCacheGenerations.key(CacheConfig.PROPERTIES_BY_CITY, cityId, "full:null:null");
+        CursorPage<PropertyDto> stalePage = propertyService.getPropertiesByCity(cityId, null, null);
+        cacheManager.getCache(CacheConfig.PROPERTIES_BY_CITY).clear();
+
+        propertyService.updateProperty(property.getId(), PropertyUpdateDto.builder().title("Renamed").build());
+        cacheManager.getCache(CacheConfig.PROPERTIES_BY_CITY).put(staleKey, stalePage);
+
+        assertEquals("Renamed", propertyService.getPropertiesByCity(cityId, null, null).getItems().get(0).getTitle());
+    }
+
+    @Test
+    void rebuild_WhenAPropertyChangesAfterItsChunkWasRead_ShouldKeepTheLiveChange() {
+        // The rebuild has something to repair: the row is behind its property
+        PropertyReadModel behind = propertyReadModelRepository.findById(property.getId()).orElseThrow();
+        behind.setTitle("Stale Title");
+        propertyReadModelRepository.save(behind);
+        AtomicBoolean changed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (changed.compareAndSet(false, true)) {
+                // MySQL snapshots every table at the chunk's first read, H2 each row at its first read
+                propertyReadModelRepository.findVersion(PropertySpecifications.hasId(property.getId()));
+                CompletableFuture.runAsync(() -> propertyService.updateProperty(property.getId(),
+                        PropertyUpdateDto.builder().title("Live Title").build())).join();
+            }
+            // The repository is a proxy, the spy's default answer delegates to it
+            return mockingDetails(propertyReadModelRepository).getMockCreationSettings().getDefaultAnswer()
+                    .answer(invocation);
+        }).when(propertyReadModelRepository).findAllByIdIn(any());
+
+        propertyReadModelRebuilder.rebuild();
+
+        assertTrue(changed.get());
+        assertEquals("Live Title", propertyReadModelRepository.findById(property.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void propertyJsonCache_ShouldSerializeOnceUntilThePropertyChanges() throws Exception {
+        UUID cityId = property.getCityId();
+        UUID otherCityId = UUID.randomUUID();
+        SerializedJson first = propertyJsonCache.getProperty(property.getId(),
+                () -> propertyService.getPropertyById(property.getId()));
+        cityPage(cityId);
+        cityPage(otherCityId);
+
+        assertSame(first, propertyJsonCache.getProperty(property.getId(), () -> fail("served from the cache")));
+        assertEquals("Cached Property", objectMapper.readValue(first.json(), PropertyDto.class).getTitle());
+
+        propertyService.updateProperty(property.getId(), PropertyUpdateDto.builder().title("Renamed").build());
+
+        Cache json = cacheManager.getCache(CacheConfig.PROPERTY_JSON);
+        assertNull(json.get(CacheConfig.jsonKey(CacheConfig.PROPERTY_BY_ID, property.getId())));
+        assertNull(json.get(CacheConfig.jsonKey(CacheConfig.PROPERTIES_BY_CITY,
+                pageCacheGenerations.key(CacheConfig.PROPERTIES_BY_CITY, cityId, "full:null:null"))));
+        assertNotNull(json.get(CacheConfig.jsonKey(CacheConfig.PROPERTIES_BY_CITY,
+                pageCacheGenerations.key(CacheConfig.PROPERTIES_BY_CITY, otherCityId, "full:null:null"))));
+    }
+
+    @Test
+    void updateProperty_WhenAPageSerializedBeforeTheCommitIsStoredAfterIt_ShouldNotServeThatPage() throws Exception {
+        UUID cityId = property.getCityId();
+        // Key taken and page serialized by a reader that started before the update committed
+        String staleKey = CacheConfig.jsonKey(CacheConfig.PROPERTIES_BY_CITY,
+                pageCacheGenerations.key(CacheConfig.PROPERTIES_BY_CITY, cityId, "full:null:null"));
+        SerializedJson stalePage = cityPage(cityId);
+        Cache json = cacheManager.getCache(CacheConfig.PROPERTY_JSON);
+        json.clear();
+
+        propertyService.updateProperty(property.getId(), PropertyUpdateDto.builder().title("Renamed").build());
+        json.put(staleKey, stalePage);
+
+        assertEquals("Renamed", objectMapper.readValue(cityPage(cityId).json(), PropertyDto[].class)[0].getTitle());
+    }
+
+    @Test
+    void propertyJsonCache_ShouldGzipLargePagesAndKeepTheirCursor() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            propertyRepository.save(Property.builder()
+                    .title("Paged Property " + i)
+                    .price(new BigDecimal("100000.00"))
+                    .agentId(property.getAgentId())
+                    .cityId(property.getCityId())
+                    .propertyTypeId(property.getPropertyTypeId())
+                    .status(PropertyStatus.FOR_SALE)
+                    .build());
+        }
+        propertyReadModelRebuilder.rebuild();
+
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().agentId(property.getAgentId()).build();
+        SerializedJson page = propertyJsonCache.getPage(CacheConfig.PROPERTIES_BY_AGENT, property.getAgentId(), "full:null:5",
+                () -> propertyService.getListVersion(criteria), () -> propertyService.searchProperties(criteria, null, 5));
+
+        assertNotNull(page.nextCursor());
+        assertNotNull(page.gzip());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(page.gzip()))) {
+            assertArrayEquals(page.json(), gzip.readAllBytes());
+        }
+        assertEquals(5, objectMapper.readValue(page.json(), PropertyDto[].class).length);
+        assertEquals(propertyService.getListVersion(criteria), page.version());
+    }
+
+    @Test
+    void propertyJsonCache_ShouldVersionAPropertyByTheStateItHolds() throws Exception {
+        PropertyDto before = propertyService.getPropertyById(property.getId());
+        String versionBefore = propertyService.getPropertyVersion(property.getId());
+
+        propertyService.updateProperty(property.getId(), PropertyUpdateDto.builder().title("Renamed").build());
+        // A reader between the commit and the eviction still gets the old property from the object cache
+        cacheManager.getCache(CacheConfig.PROPERTY_BY_ID).put(property.getId(), before);
+        SerializedJson json = propertyJsonCache.getProperty(property.getId(),
+                () -> propertyService.getPropertyById(property.getId()));
+
+        assertEquals("Cached Property", objectMapper.readValue(json.json(), PropertyDto.class).getTitle());
+        assertEquals(versionBefore, json.version());
+        assertNotEquals(propertyService.getPropertyVersion(property.getId()), json.version());
+    }
+
+    @Test
+    void propertyJsonCache_WhenLoadFails_ShouldRethrowUnwrappedAndCacheNothing() {
+        UUID missing = UUID.randomUUID();
+
+        assertThrows(PropertyNotFoundException.class, () -> propertyJsonCache.getProperty(missing,
+                () -> propertyService.getPropertyById(missing)));
+        assertNull(cacheManager.getCache(CacheConfig.PROPERTY_JSON).get(CacheConfig.jsonKey(CacheConfig.PROPERTY_BY_ID, missing)));
+    }
+
+    private SerializedJson cityPage(UUID cityId) {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().cityId(cityId).build();
+        return propertyJsonCache.getPage(CacheConfig.PROPERTIES_BY_CITY, cityId, "full:null:null",
+                () -> propertyService.getListVersion(criteria), () -> propertyService.searchProperties(criteria, null, null));
+    }
+}
@@ -0,0 +1,139 @@
+package propertyservice.app.service;
+
+import feign.FeignException;
+import feign.Request;
+import propertyservice.app.client.AgentServiceClient;
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.dto.AgentDto;
+import propertyservice.app.dto.CityDto;
+import propertyservice.app.dto.ExpandedPropertyDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.dto.PropertyTypeDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PropertyExpanderIntegrationTest {
+
+    @Autowired
+    private PropertyExpander propertyExpander;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private AgentServiceClient agentServiceClient;
+
+    @MockitoBean
+    private CityServiceClient cityServiceClient;
+
+    @MockitoBean
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    @Test
+    void expand_ShouldFetchEachDistinctIdOnceAndInParallel() {
+        UUID agentId = UUID.randomUUID();
+        UUID firstCityId = UUID.randomUUID();
+        UUID secondCityId = UUID.randomUUID();
+        // Both cities answer only once both are being fetched, which cannot happen one after the other
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        when(cityServiceClient.getCity(any(UUID.class))).thenAnswer(invocation -> {
+            bothInFlight.countDown();
+            assertTrue(bothInFlight.await(5, TimeUnit.SECONDS));
+            UUID id = invocation.getArgument(0);
+            return CityDto.builder().id(id).name(id.equals(firstCityId) ? "Lisbon" : "Porto").build();
+        });
+        when(agentServiceClient.getAgent(agentId)).thenReturn(AgentDto.builder().id(agentId).firstName("Jane").build());
+        List<PropertyDto> page = List.of(property(agentId, firstCityId), property(agentId, secondCityId),
+                property(agentId, firstCityId));
+
+        List<ExpandedPropertyDto> expanded = propertyExpander.expand(page, PropertyExpansions.parse("agent,city"));
+
+        assertEquals(List.of("Lisbon", "Porto", "Lisbon"), expanded.stream().map(item -> item.getCity().getName()).toList());
+        assertTrue(expanded.stream().allMatch(item -> "Jane".equals(item.getAgent().getFirstName())));
+        assertTrue(expanded.stream().allMatch(item -> item.getPropertyType() == null));
+        assertSame(page.get(1), expanded.get(1).getProperty());
+        verify(agentServiceClient, times(1)).getAgent(agentId);
+        verify(cityServiceClient, times(2)).getCity(any(UUID.class));
+        verifyNoInteractions(propertyTypeServiceClient);
+
+        // Served from the cache the next time
+        propertyExpander.expand(page, PropertyExpansions.parse("agent,city"));
+        verify(agentServiceClient, times(1)).getAgent(agentId);
+        verify(cityServiceClient, times(2)).getCity(any(UUID.class));
+    }
+
+    @Test
+    void expand_WhenAReferenceIsUnknownOrItsServiceFails_ShouldLeaveItOut() {
+        UUID agentId = UUID.randomUUID();
+        UUID propertyTypeId = UUID.randomUUID();
+        Request request = Request.create(Request.HttpMethod.GET, "/api/v1/agents/" + agentId, Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(agentServiceClient.getAgent(agentId)).thenThrow(new FeignException.NotFound("Not Found", request, null, Map.of()));
+        when(propertyTypeServiceClient.getPropertyType(propertyTypeId)).thenThrow(new IllegalStateException("Connection refused"));
+        PropertyDto property = property(agentId, UUID.randomUUID());
+        property.setPropertyTypeId(propertyTypeId);
+
+        ExpandedPropertyDto expanded = propertyExpander.expand(property, PropertyExpansions.parse("agent,propertyType"));
+
+        assertSame(property, expanded.getProperty());
+        assertNull(expanded.getAgent());
+        assertNull(expanded.getPropertyType());
+    }
+
+    @Test
+    void expand_WhenFetchesAreRejectedOrLate_ShouldLeaveThemOutAndCancelThem() throws InterruptedException {
+        // One thread and room for one more fetch, so the third agent of the page is rejected
+        PropertyExpander expander = new PropertyExpander(cacheManager, 1, 1, false);
+        ReflectionTestUtils.setField(expander, "timeout", Duration.ofMillis(200));
+        UUID slowAgentId = UUID.randomUUID();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(agentServiceClient.getAgent(slowAgentId)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            throw new IllegalStateException("Read timed out");
+        });
+        UUID agentId = UUID.randomUUID();
+        when(agentServiceClient.getAgent(agentId)).thenReturn(AgentDto.builder().id(agentId).firstName("Jane").build());
+        try {
+            List<PropertyDto> page = List.of(property(slowAgentId, null), property(UUID.randomUUID(), null),
+                    property(UUID.randomUUID(), null));
+
+            List<ExpandedPropertyDto> expanded = expander.expand(page, PropertyExpansions.parse("agent"));
+
+            assertTrue(expanded.stream().allMatch(item -> item.getAgent() == null));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            // The cancelled fetches no longer hold the thread or the queue
+            assertEquals("Jane", expander.expand(property(agentId, null), PropertyExpansions.parse("agent")).getAgent().getFirstName());
+            verify(agentServiceClient, times(2)).getAgent(any(UUID.class));
+        } finally {
+            expander.shutdown();
+        }
+    }
+
+    private static PropertyDto property(UUID agentId, UUID cityId) {
+        return PropertyDto.builder().id(UUID.randomUUID()).title("Property").agentId(agentId).cityId(cityId).build();
+    }
+}
@@ -0,0 +1,105 @@
+package propertyservice.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.PropertyStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyExportServiceTest {
+
+    @Mock
+    private PropertyService propertyService;
+
+    private PropertyExportService exportService;
+
+    @TempDir
+    private Path dir;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new PropertyExportService(propertyService, new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(exportService, "chunkSize", 2);
+    }
+
+    @Test
+    void export_ShouldFollowCursorUntilLastChunk() throws Exception {
+        when(propertyService.getPropertiesChunk(null, 2))
+                .thenReturn(chunk("next", dto("First"), dto("Second")));
+        when(propertyService.getPropertiesChunk("next", 2))
+                .thenReturn(chunk(null, dto("Third")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[2].contains("\"title\":\"Third\""));
+        verify(propertyService, times(2)).getPropertiesChunk(any(), eq(2));
+    }
+
+    @Test
+    void export_AsCsv_ShouldQuoteFieldsWithSeparatorsAndQuotes() throws Exception {
+        PropertyDto dto = dto("Villa, \"Sea View\"");
+        dto.setFeatures(List.of("Pool", "Garage"));
+        when(propertyService.getPropertiesChunk(null, 2)).thenReturn(chunk(null, dto));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains(",\"Villa, \"\"Sea View\"\"\","));
+        assertTrue(lines[1].endsWith(",Pool|Garage"));
+    }
+
+    @Test
+    void export_AsCsv_ShouldEscapeListSeparatorsSoTheImportReadsTheSameValues() throws Exception {
+        PropertyDto dto = dto("Villa");
+        dto.setImageUrls(List.of("http://example.com/a|b.jpg", "http://example.com/2.jpg"));
+        dto.setFeatures(List.of("Pool | Garden", "C:\\garage\\", "Sauna\\|"));
+        when(propertyService.getPropertiesChunk(null, 2)).thenReturn(chunk(null, dto));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(ExportFormat.CSV, out);
+        Path file = Files.write(dir.resolve("export.csv"), out.toByteArray());
+
+        try (PropertyImportReader reader = PropertyImportReader.open(file, ExportFormat.CSV, new ObjectMapper())) {
+            ImportRow row = reader.next();
+            assertTrue(row.isValid());
+            assertEquals(dto.getImageUrls(), row.dto().getImageUrls());
+            assertEquals(dto.getFeatures(), row.dto().getFeatures());
+        }
+    }
+
+    private static CursorPage<PropertyDto> chunk(String nextCursor, PropertyDto... items) {
+        return CursorPage.<PropertyDto>builder().items(List.of(items)).nextCursor(nextCursor).build();
+    }
+
+    private static PropertyDto dto(String title) {
+        return PropertyDto.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .price(new BigDecimal("100000.00"))
+                .status(PropertyStatus.FOR_SALE)
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package propertyservice.app.service;
+
+import propertyservice.app.exeption.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyFieldsTest {
+
+    @Test
+    void parse_WhenBlank_ShouldReturnNull() {
+        assertNull(PropertyFields.parse(null));
+        assertNull(PropertyFields.parse(" "));
+    }
+
+    @Test
+    void parse_WithUnknownField_ShouldThrowException() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> PropertyFields.parse("id,title,secretNotes"));
+
+        assertTrue(ex.getMessage().contains("secretNotes"));
+    }
+
+    @Test
+    void columns_ShouldKeepDtoOrderIncludingCollections() {
+        PropertyFields fields = PropertyFields.parse(" price, imageUrls,title ,features");
+
+        assertEquals(List.of("id", "title", "price", "imageUrls", "features"), List.copyOf(fields.columns("id")));
+    }
+
+    @Test
+    void project_ShouldOnlyKeepRequestedFields() {
+        PropertyFields fields = PropertyFields.parse("price,title");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "internal");
+        row.put("createdAt", "sort key");
+        row.put("price", 1);
+        row.put("title", "Villa");
+
+        Map<String, Object> projected = fields.project(row);
+
+        assertEquals(List.of("title", "price"), List.copyOf(projected.keySet()));
+        assertEquals(Set.of("Villa", 1), Set.copyOf(projected.values()));
+    }
+}
@@ -0,0 +1,144 @@
+package propertyservice.app.service;
+
+import propertyservice.app.client.AgentServiceClient;
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.dto.PropertyImportJobDto;
+import propertyservice.app.entity.ImportStatus;
+import propertyservice.app.entity.PropertyImportJob;
+import propertyservice.app.repository.PropertyImportJobRepository;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import propertyservice.app.repository.PropertyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PropertyImportIntegrationTest {
+
+    @Autowired
+    private PropertyImportService propertyImportService;
+
+    @Autowired
+    private PropertyImportJobRepository propertyImportJobRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    @MockitoBean
+    private AgentServiceClient agentServiceClient;
+
+    @MockitoBean
+    private CityServiceClient cityServiceClient;
+
+    @MockitoBean
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    @TempDir
+    private Path dir;
+
+    private final UUID agentId = UUID.randomUUID();
+    private final UUID propertyTypeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        propertyReadModelRepository.deleteAll();
+        propertyImportJobRepository.deleteAll();
+        when(agentServiceClient.agentExists(any(UUID.class))).thenReturn(true);
+        when(cityServiceClient.cityExists(any(UUID.class))).thenReturn(true);
+        when(propertyTypeServiceClient.propertyTypeExists(any(UUID.class))).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(propertyImportService, "chunkSize", 500);
+    }
+
+    @Test
+    void run_ShouldImportValidRowsAndReportTheOthers() throws Exception {
+        UUID cityId = UUID.randomUUID();
+        UUID unknownAgentId = UUID.randomUUID();
+        when(agentServiceClient.agentExists(unknownAgentId)).thenReturn(false);
+        Path file = Files.writeString(dir.resolve("listings.csv"), "title,price,agentId,cityId,propertyTypeId,imageUrls\n"
+                + row("Villa", agentId, cityId) + ",http://example.com/villa.jpg\n"
+                + row("", agentId, cityId) + ",\n"
+                + row("Cottage", unknownAgentId, cityId) + ",\n"
+                + row("Flat", agentId, cityId) + ",\n");
+
+        PropertyImportJobDto job = importFile(file, ExportFormat.CSV);
+
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getRowsRead());
+        assertEquals(2, job.getCreated());
+        assertEquals(2, job.getFailed());
+        assertEquals(2, job.getErrors().size());
+        assertTrue(job.getErrors().get(0).startsWith("Row 2: title: "));
+        assertEquals("Row 3: Agent not found with id: " + unknownAgentId, job.getErrors().get(1));
+        assertEquals(2, propertyReadModelRepository.count());
+        // Each distinct reference is looked up once per run
+        verify(agentServiceClient, times(1)).agentExists(agentId);
+        verify(cityServiceClient, times(1)).cityExists(cityId);
+    }
+
+    @Test
+    void resume_ShouldContinueAfterTheLastCommittedChunk() throws Exception {
+        ReflectionTestUtils.setField(propertyImportService, "chunkSize", 2);
+        List<UUID> cityIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID());
+        when(cityServiceClient.cityExists(cityIds.get(3)))
+                .thenThrow(new IllegalStateException("City service unavailable"))
+                .thenReturn(true);
+        StringBuilder csv = new StringBuilder("title,price,agentId,cityId,propertyTypeId\n");
+        for (int i = 0; i < cityIds.size(); i++) {
+            csv.append(row("Property " + i, agentId, cityIds.get(i))).append('\n');
+        }
+        Path file = Files.writeString(dir.resolve("listings.csv"), csv);
+
+        PropertyImportJobDto failed = importFile(file, ExportFormat.CSV);
+
+        assertEquals(ImportStatus.FAILED, failed.getStatus());
+        assertEquals("City service unavailable", failed.getLastError());
+        assertEquals(2, failed.getRowsRead());
+        assertEquals(2, propertyRepository.count());
+
+        propertyImportService.run(failed.getId());
+        PropertyImportJobDto resumed = propertyImportService.getJob(failed.getId());
+
+        assertEquals(ImportStatus.COMPLETED, resumed.getStatus());
+        assertNull(resumed.getLastError());
+        assertEquals(5, resumed.getRowsRead());
+        assertEquals(5, resumed.getCreated());
+        assertEquals(5, propertyRepository.count());
+        assertEquals(5, propertyReadModelRepository.count());
+    }
+
+    private PropertyImportJobDto importFile(Path file, ExportFormat format) {
+        PropertyImportJob job = propertyImportService.createJob(file, format, file.getFileName().toString());
+        propertyImportService.run(job.getId());
+        return propertyImportService.getJob(job.getId());
+    }
+
+    private String row(String title, UUID agentId, UUID cityId) {
+        return title + ",100000.00," + agentId + "," + cityId + "," + propertyTypeId;
+    }
+}
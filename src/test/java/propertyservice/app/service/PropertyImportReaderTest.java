@@ -0,0 +1,85 @@
+package propertyservice.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import propertyservice.app.entity.PropertyStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyImportReaderTest {
+
+    @TempDir
+    private Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID agentId = UUID.randomUUID();
+    private final UUID cityId = UUID.randomUUID();
+    private final UUID propertyTypeId = UUID.randomUUID();
+
+    @Test
+    void next_WithExportedCsv_ShouldReadQuotedMultiLineFieldsAndIgnoreUnknownColumns() throws Exception {
+        Path file = write("import.csv", "id,title,description,price,agentId,cityId,propertyTypeId,status,bedrooms,imageUrls,features\n"
+                + UUID.randomUUID() + ",\"Villa, \"\"Sea View\"\"\",\"Two\nlines\",250000.00," + references() + ",FOR_SALE,3,"
+                + "http://example.com/1.jpg|http://example.com/2.jpg,Pool|Garage\r\n"
+                + "\n"
+                + ",Flat,,not-a-price," + references() + ",,,,\n");
+
+        try (PropertyImportReader reader = PropertyImportReader.open(file, ExportFormat.CSV, objectMapper)) {
+            ImportRow villa = reader.next();
+            assertTrue(villa.isValid());
+            assertEquals(1, villa.number());
+            assertEquals("Villa, \"Sea View\"", villa.dto().getTitle());
+            assertEquals("Two\nlines", villa.dto().getDescription());
+            assertEquals(new BigDecimal("250000.00"), villa.dto().getPrice());
+            assertEquals(cityId, villa.dto().getCityId());
+            assertEquals(PropertyStatus.FOR_SALE, villa.dto().getStatus());
+            assertEquals(List.of("http://example.com/1.jpg", "http://example.com/2.jpg"), villa.dto().getImageUrls());
+            assertEquals(List.of("Pool", "Garage"), villa.dto().getFeatures());
+
+            // The blank record still counts, so row numbers stay stable across restarts
+            ImportRow flat = reader.next();
+            assertEquals(3, flat.number());
+            assertFalse(flat.isValid());
+            assertTrue(flat.error().startsWith("Unreadable row: "));
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void skip_ShouldResumeAtTheSameRecord() throws Exception {
+        Path file = write("import.ndjson", json("First") + "\n" + json("Second") + "\n{not json\n" + json("Fourth") + "\n");
+
+        try (PropertyImportReader reader = PropertyImportReader.open(file, ExportFormat.NDJSON, objectMapper)) {
+            reader.skip(2);
+            ImportRow broken = reader.next();
+            assertEquals(3, broken.number());
+            assertFalse(broken.isValid());
+            ImportRow fourth = reader.next();
+            assertEquals(4, fourth.number());
+            assertEquals("Fourth", fourth.dto().getTitle());
+            assertEquals(agentId, fourth.dto().getAgentId());
+            assertNull(reader.next());
+        }
+    }
+
+    private String references() {
+        return agentId + "," + cityId + "," + propertyTypeId;
+    }
+
+    private String json(String title) {
+        return "{\"title\":\"" + title + "\",\"price\":100000,\"agentId\":\"" + agentId + "\",\"cityId\":\"" + cityId
+                + "\",\"propertyTypeId\":\"" + propertyTypeId + "\",\"createdAt\":\"2024-01-01T00:00:00\"}";
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(dir.resolve(name), content);
+    }
+}
@@ -0,0 +1,133 @@
+package propertyservice.app.service;
+
+import propertyservice.app.dto.PropertySearchCriteria;
+import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyFeature;
+import propertyservice.app.entity.PropertyImage;
+import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.repository.PropertyReadModelRepository;
+import propertyservice.app.repository.PropertyRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statement counts of the list reads must not grow with the number of rows they return
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PropertyQueryCountIntegrationTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyReadModelRebuilder propertyReadModelRebuilder;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID agentId = UUID.randomUUID();
+    private final UUID cityId = UUID.randomUUID();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        propertyReadModelRepository.deleteAll();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listReads_ShouldIssueTheSameStatementsForFewAndManyRows() {
+        seed(3);
+        propertyReadModelRebuilder.rebuild();
+        Map<String, Long> few = countListReads();
+        seed(60);
+        propertyReadModelRebuilder.rebuild();
+        Map<String, Long> many = countListReads();
+
+        assertEquals(few, many);
+        few.forEach((read, statements) -> assertEquals(1L, statements, read));
+    }
+
+    @Test
+    void rebuild_ShouldLoadCollectionsWithOneQueryEachPerChunk() {
+        seed(3);
+        long few = countStatements(() -> propertyReadModelRebuilder.rebuild());
+        seed(40);
+        long many = countStatements(() -> propertyReadModelRebuilder.rebuild());
+
+        // The new rows fit one JDBC insert batch either way, so nothing here is per row
+        assertEquals(few, many);
+    }
+
+    private Map<String, Long> countListReads() {
+        PropertySearchCriteria inCity = PropertySearchCriteria.builder().cityId(cityId).build();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("all", countStatements(() -> propertyService.getAllProperties(null, 100)));
+        counts.put("city", countStatements(() -> propertyService.getPropertiesByCity(cityId, null, 100)));
+        counts.put("agent", countStatements(() -> propertyService.getPropertiesByAgent(agentId, null, 100)));
+        counts.put("featured", countStatements(() -> propertyService.getFeaturedProperties(null, 100)));
+        counts.put("search", countStatements(() -> propertyService.searchProperties(inCity, null, 100)));
+        counts.put("summaries", countStatements(() -> propertyService.getAllPropertySummaries(null, 100)));
+        return counts;
+    }
+
+    private long countStatements(Supplier<?> read) {
+        entityManager.flush();
+        entityManager.clear();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics.clear();
+        assertNotNull(read.get());
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Every property gets two images and two features, so lazily loaded collections would show up in the counts
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            Property property = Property.builder()
+                    .title("Property " + i)
+                    .price(new BigDecimal("100000.00"))
+                    .agentId(agentId)
+                    .cityId(cityId)
+                    .propertyTypeId(UUID.randomUUID())
+                    .status(PropertyStatus.FOR_SALE)
+                    .isFeatured(true)
+                    .build();
+            for (int j = 0; j < 2; j++) {
+                property.getImages().add(PropertyImage.builder()
+                        .property(property).imageUrl("http://example.com/" + i + "-" + j + ".jpg")
+                        .isPrimary(j == 0).displayOrder(j).build());
+                property.getFeatures().add(PropertyFeature.builder()
+                        .property(property).featureName("Feature " + j).build());
+            }
+            propertyRepository.save(property);
+        }
+    }
+}
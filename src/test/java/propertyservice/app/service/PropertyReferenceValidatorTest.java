@@ -0,0 +1,177 @@
+package propertyservice.app.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import propertyservice.app.client.AgentServiceClient;
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.client.ReferenceExistenceBatcher;
+import propertyservice.app.client.ReferenceExistenceBatchers;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.exeption.InvalidRequestException;
+import propertyservice.app.exeption.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyReferenceValidatorTest {
+
+    @Mock
+    private AgentServiceClient agentServiceClient;
+
+    @Mock
+    private CityServiceClient cityServiceClient;
+
+    @Mock
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    private PropertyReferenceValidator validator;
+
+    private final UUID agentId = UUID.randomUUID();
+    private final UUID cityId = UUID.randomUUID();
+    private final UUID propertyTypeId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.AGENT_EXISTS,
+                Caffeine.newBuilder().build(id -> agentServiceClient.agentExists((UUID) id)));
+        cacheManager.registerCustomCache(CacheConfig.CITY_EXISTS,
+                Caffeine.newBuilder().build(id -> cityServiceClient.cityExists((UUID) id)));
+        cacheManager.registerCustomCache(CacheConfig.PROPERTY_TYPE_EXISTS,
+                Caffeine.newBuilder().build(id -> propertyTypeServiceClient.propertyTypeExists((UUID) id)));
+        validator = new PropertyReferenceValidator(
+                new ReferenceExistenceCache(cacheManager, cityServiceClient, propertyTypeServiceClient), 3, 64, false);
+        ReflectionTestUtils.setField(validator, "timeout", Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        validator.shutdown();
+    }
+
+    @Test
+    void validate_ShouldAskTheThreeServicesConcurrently() {
+        // Every check answers only once all three are in flight, which cannot happen one after the other
+        CountDownLatch inFlight = new CountDownLatch(3);
+        Answer<Boolean> exists = invocation -> {
+            inFlight.countDown();
+            return inFlight.await(5, TimeUnit.SECONDS);
+        };
+        when(agentServiceClient.agentExists(agentId)).thenAnswer(exists);
+        when(cityServiceClient.cityExists(cityId)).thenAnswer(exists);
+        when(propertyTypeServiceClient.propertyTypeExists(propertyTypeId)).thenAnswer(exists);
+        ReflectionTestUtils.setField(validator, "timeout", Duration.ofSeconds(5));
+
+        assertDoesNotThrow(() -> validator.validate(agentId, cityId, propertyTypeId));
+    }
+
+    @Test
+    void validate_WithMissingReferences_ShouldReportTheFirstInFixedOrder() {
+        when(agentServiceClient.agentExists(agentId)).thenReturn(true);
+        when(cityServiceClient.cityExists(cityId)).thenReturn(false);
+        when(propertyTypeServiceClient.propertyTypeExists(propertyTypeId)).thenReturn(false);
+
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> validator.validate(agentId, cityId, propertyTypeId));
+        assertEquals("City not found with id: " + cityId, ex.getMessage());
+    }
+
+    @Test
+    void validate_ShouldCheckOnlyTheGivenIds() {
+        when(propertyTypeServiceClient.propertyTypeExists(propertyTypeId)).thenReturn(null);
+
+        validator.validate(null, null, propertyTypeId);
+
+        verifyNoInteractions(agentServiceClient, cityServiceClient);
+    }
+
+    @Test
+    void validate_WhenAServiceFails_ShouldThrowServiceUnavailable() {
+        when(agentServiceClient.agentExists(agentId)).thenReturn(true);
+        when(cityServiceClient.cityExists(cityId)).thenThrow(new IllegalStateException("Connection refused"));
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> validator.validate(agentId, cityId, null));
+        assertEquals("City service unavailable: Connection refused", ex.getMessage());
+    }
+
+    @Test
+    void validate_WhenAServiceDoesNotAnswerInTime_ShouldThrowServiceUnavailable() {
+        when(agentServiceClient.agentExists(agentId)).thenReturn(true);
+        when(propertyTypeServiceClient.propertyTypeExists(propertyTypeId)).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return true;
+        });
+
+        long start = System.nanoTime();
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> validator.validate(agentId, null, propertyTypeId));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals("Property type check did not answer within 500ms", ex.getMessage());
+    }
+
+    @Test
+    void validate_WhenAServiceDoesNotAnswerInTime_ShouldFreeTheCheckThread() {
+        when(agentServiceClient.agentExists(agentId)).thenReturn(true);
+        when(propertyTypeServiceClient.propertyTypeExists(propertyTypeId)).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return true;
+        });
+        // Checks go through the batcher as in production, on a single check thread
+        ReferenceExistenceBatcher batcher = ReferenceExistenceBatchers.create(agentServiceClient, cityServiceClient,
+                propertyTypeServiceClient, ReferenceExistenceBatcher.DegradedMode.FAIL_FAST);
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.AGENT_EXISTS,
+                Caffeine.newBuilder().build(id -> batcher.agentExists((UUID) id)));
+        cacheManager.registerCustomCache(CacheConfig.PROPERTY_TYPE_EXISTS,
+                Caffeine.newBuilder().build(id -> batcher.propertyTypeExists((UUID) id)));
+        validator.shutdown();
+        validator = new PropertyReferenceValidator(
+                new ReferenceExistenceCache(cacheManager, cityServiceClient, propertyTypeServiceClient), 1, 1, false);
+        ReflectionTestUtils.setField(validator, "timeout", Duration.ofMillis(500));
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> validator.validate(null, null, propertyTypeId));
+
+            // Answered in time only if the timed-out check gave its thread back
+            assertDoesNotThrow(() -> validator.validate(agentId, null, null));
+        } finally {
+            ReferenceExistenceBatchers.shutdown(batcher);
+        }
+    }
+
+    @Test
+    void validate_WhenEveryThreadIsBusyAndTheQueueIsFull_ShouldThrowServiceUnavailable() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.AGENT_EXISTS, Caffeine.newBuilder().build(id -> {
+            Thread.sleep(5000);
+            return true;
+        }));
+        validator.shutdown();
+        validator = new PropertyReferenceValidator(
+                new ReferenceExistenceCache(cacheManager, cityServiceClient, propertyTypeServiceClient), 1, 1, false);
+        ReflectionTestUtils.setField(validator, "timeout", Duration.ofSeconds(5));
+
+        // The agent check takes the only thread, the city check the only queue slot
+        long start = System.nanoTime();
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> validator.validate(agentId, cityId, propertyTypeId));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals("Too many reference checks in progress", ex.getMessage());
+        verifyNoInteractions(propertyTypeServiceClient);
+    }
+}
@@ -1,30 +1,58 @@
 package propertyservice.app.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import propertyservice.app.client.AgentServiceClient;
 import propertyservice.app.client.CityServiceClient;
 import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.CursorPage;
+import propertyservice.app.dto.FacetCountsDto;
 import propertyservice.app.dto.PropertyCreateDto;
 import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.dto.PropertySearchCriteria;
+import propertyservice.app.dto.PropertySummaryDto;
 import propertyservice.app.dto.PropertyUpdateDto;
 import propertyservice.app.entity.Property;
+import propertyservice.app.entity.PropertyReadModel;
+import propertyservice.app.event.PropertyChangedEvent;
 import propertyservice.app.entity.PropertyFeature;
 import propertyservice.app.entity.PropertyImage;
 import propertyservice.app.entity.PropertyStatus;
+import propertyservice.app.exeption.InvalidRequestException;
 import propertyservice.app.exeption.PropertyNotFoundException;
+import propertyservice.app.repository.PropertyReadModelRepository;
 import propertyservice.app.repository.PropertyRepository;
+import propertyservice.app.repository.PropertyVersion;
+import propertyservice.app.search.FacetQuery;
+import propertyservice.app.search.PropertyFacetIndex;
+import propertyservice.app.search.PropertySearchIndex;
+import propertyservice.app.search.SearchHits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +61,12 @@ class PropertyServiceTest {
     @Mock
     private PropertyRepository propertyRepository;
 
+    @Mock
+    private PropertyReadModelRepository propertyReadModelRepository;
+
+    @Mock
+    private PropertyReadModelProjector propertyReadModelProjector;
+
     @Mock
     private AgentServiceClient agentServiceClient;
 
@@ -42,6 +76,15 @@ class PropertyServiceTest {
     @Mock
     private PropertyTypeServiceClient propertyTypeServiceClient;
 
+    @Mock
+    private PropertySearchIndex propertySearchIndex;
+
+    @Mock
+    private PropertyFacetIndex propertyFacetIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PropertyService propertyService;
 
@@ -55,6 +98,19 @@ class PropertyServiceTest {
 
     @BeforeEach
     void setUp() {
+        // The real validator over the client mocks, so the existence checks below behave as in production
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.AGENT_EXISTS,
+                Caffeine.newBuilder().build(id -> agentServiceClient.agentExists((UUID) id)));
+        cacheManager.registerCustomCache(CacheConfig.CITY_EXISTS,
+                Caffeine.newBuilder().build(id -> cityServiceClient.cityExists((UUID) id)));
+        cacheManager.registerCustomCache(CacheConfig.PROPERTY_TYPE_EXISTS,
+                Caffeine.newBuilder().build(id -> propertyTypeServiceClient.propertyTypeExists((UUID) id)));
+        PropertyReferenceValidator referenceValidator = new PropertyReferenceValidator(
+                new ReferenceExistenceCache(cacheManager, cityServiceClient, propertyTypeServiceClient), 3, 64, false);
+        ReflectionTestUtils.setField(referenceValidator, "timeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(propertyService, "propertyReferenceValidator", referenceValidator);
+
         propertyId = UUID.randomUUID();
         agentId = UUID.randomUUID();
         cityId = UUID.randomUUID();
@@ -104,46 +160,77 @@ class PropertyServiceTest {
 
     @Test
     void getAllProperties_ShouldReturnListOfProperties() {
-        List<Property> properties = Arrays.asList(property);
-        when(propertyRepository.findAll()).thenReturn(properties);
+        when(propertyReadModelRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(window(false, property));
 
-        List<PropertyDto> result = propertyService.getAllProperties();
+        CursorPage<PropertyDto> result = propertyService.getAllProperties(null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(propertyId, result.get(0).getId());
-        verify(propertyRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(propertyId, result.getItems().get(0).getId());
+        assertNull(result.getNextCursor());
+        verify(propertyReadModelRepository, times(1))
+                .findAllBy(ScrollPosition.keyset(), PageCursor.SORT, Limit.of(PageCursor.DEFAULT_LIMIT));
     }
 
     @Test
     void getAllProperties_WhenEmpty_ShouldReturnEmptyList() {
-        when(propertyRepository.findAll()).thenReturn(Collections.emptyList());
+        when(propertyReadModelRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(window(false));
 
-        List<PropertyDto> result = propertyService.getAllProperties();
+        CursorPage<PropertyDto> result = propertyService.getAllProperties(null, null);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(propertyRepository, times(1)).findAll();
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAllProperties_WhenMoreRows_ShouldReturnCursorOfLastRow() {
+        when(propertyReadModelRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(window(true, property));
+
+        CursorPage<PropertyDto> result = propertyService.getAllProperties(null, 1);
+
+        PageCursor next = PageCursor.decode(result.getNextCursor());
+        assertEquals(propertyId, next.getId());
+        assertEquals(property.getCreatedAt(), next.getCreatedAt());
+    }
+
+    @Test
+    void getAllProperties_WithLimitAboveMax_ShouldCapLimit() {
+        when(propertyReadModelRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(window(false));
+
+        propertyService.getAllProperties(null, 10_000);
+
+        verify(propertyReadModelRepository).findAllBy(ScrollPosition.keyset(), PageCursor.SORT, Limit.of(PageCursor.MAX_LIMIT));
+    }
+
+    @Test
+    void getAllProperties_WithMalformedCursor_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class, () -> propertyService.getAllProperties("not-a-cursor", null));
+        verifyNoInteractions(propertyReadModelRepository);
     }
 
     @Test
     void getPropertyById_WhenExists_ShouldReturnProperty() {
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        stubReadModel();
 
         PropertyDto result = propertyService.getPropertyById(propertyId);
 
         assertNotNull(result);
         assertEquals(propertyId, result.getId());
         assertEquals("Test Property", result.getTitle());
-        verify(propertyRepository, times(1)).findById(propertyId);
+        verify(propertyReadModelRepository, times(1)).findById(propertyId);
     }
 
     @Test
     void getPropertyById_WhenNotExists_ShouldThrowException() {
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.empty());
+        when(propertyReadModelRepository.findById(propertyId)).thenReturn(Optional.empty());
 
         assertThrows(PropertyNotFoundException.class, () -> propertyService.getPropertyById(propertyId));
-        verify(propertyRepository, times(1)).findById(propertyId);
+        verify(propertyReadModelRepository, times(1)).findById(propertyId);
     }
 
     @Test
@@ -161,6 +248,7 @@ class PropertyServiceTest {
         verify(cityServiceClient, times(1)).cityExists(cityId);
         verify(propertyTypeServiceClient, times(1)).propertyTypeExists(propertyTypeId);
         verify(propertyRepository, times(1)).save(any(Property.class));
+        verify(propertyReadModelProjector).project(property);
     }
 
     @Test
@@ -283,6 +371,26 @@ class PropertyServiceTest {
 
         verify(propertyRepository, times(1)).findById(propertyId);
         verify(propertyRepository, times(1)).delete(property);
+        verify(propertyReadModelProjector).remove(propertyId);
+        PropertyChangedEvent event = capturePublishedEvent();
+        assertEquals(propertyId, event.getPropertyId());
+        assertEquals(cityId, event.getPrevious().getCityId());
+        assertNull(event.getCurrent());
+    }
+
+    @Test
+    void updateProperty_WhenCityChanges_ShouldPublishOldAndNewState() {
+        UUID newCityId = UUID.randomUUID();
+        updateDto.setCityId(newCityId);
+        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        when(cityServiceClient.cityExists(newCityId)).thenReturn(true);
+        when(propertyRepository.save(any(Property.class))).thenReturn(property);
+
+        propertyService.updateProperty(propertyId, updateDto);
+
+        PropertyChangedEvent event = capturePublishedEvent();
+        assertEquals(cityId, event.getPrevious().getCityId());
+        assertEquals(newCityId, event.getCurrent().getCityId());
     }
 
     @Test
@@ -292,20 +400,22 @@ class PropertyServiceTest {
         assertThrows(PropertyNotFoundException.class, () -> propertyService.deleteProperty(propertyId));
         verify(propertyRepository, times(1)).findById(propertyId);
         verify(propertyRepository, never()).delete(any(Property.class));
+        verifyNoInteractions(propertyReadModelProjector);
     }
 
     @Test
     void getFeaturedProperties_ShouldReturnFeaturedProperties() {
         property.setIsFeatured(true);
         List<Property> featuredProperties = Arrays.asList(property);
-        when(propertyRepository.findByIsFeaturedTrue()).thenReturn(featuredProperties);
+        when(propertyReadModelRepository.findByIsFeaturedTrue(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(window(false, featuredProperties.toArray(new Property[0])));
 
-        List<PropertyDto> result = propertyService.getFeaturedProperties();
+        List<PropertyDto> result = propertyService.getFeaturedProperties(null, null).getItems();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertTrue(result.get(0).getIsFeatured());
-        verify(propertyRepository, times(1)).findByIsFeaturedTrue();
+        verify(propertyReadModelRepository, times(1)).findByIsFeaturedTrue(any(ScrollPosition.class), any(Sort.class), any(Limit.class));
     }
 
     @Test
@@ -318,6 +428,9 @@ class PropertyServiceTest {
 
         verify(propertyRepository, times(1)).findById(propertyId);
         verify(propertyRepository, times(1)).save(any(Property.class));
+        PropertyChangedEvent event = capturePublishedEvent();
+        assertFalse(event.getPrevious().getIsFeatured());
+        assertTrue(event.getCurrent().getIsFeatured());
     }
 
     @Test
@@ -343,41 +456,227 @@ class PropertyServiceTest {
 
     @Test
     void searchProperties_ShouldReturnFilteredProperties() {
-        List<Property> properties = Arrays.asList(property);
-        when(propertyRepository.searchProperties("Test", cityId, propertyTypeId, new BigDecimal("150000")))
-                .thenReturn(properties);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder()
+                .cityId(cityId)
+                .propertyTypeId(propertyTypeId)
+                .maxPrice(new BigDecimal("150000"))
+                .build();
+        Function<FetchableFluentQuery<PropertyReadModel>, Window<PropertyReadModel>> query = stubSpecificationSearch(window(false, property));
 
-        List<PropertyDto> result = propertyService.searchProperties("Test", cityId, propertyTypeId, new BigDecimal("150000"));
+        CursorPage<PropertyDto> result = propertyService.searchProperties(criteria, null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(propertyRepository, times(1)).searchProperties("Test", cityId, propertyTypeId, new BigDecimal("150000"));
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+        FetchableFluentQuery<PropertyReadModel> fluentQuery = applyTo(query);
+        verify(fluentQuery).sortBy(PropertySort.NEWEST.sort());
+        verify(fluentQuery).limit(PageCursor.DEFAULT_LIMIT);
+        verify(fluentQuery).scroll(ScrollPosition.keyset());
+        verifyNoInteractions(propertySearchIndex);
+    }
+
+    @Test
+    void searchProperties_WithPriceSort_ShouldSeekOnPriceAndId() {
+        property.setPrice(new BigDecimal("150000.00"));
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().sort("price_desc").build();
+        Function<FetchableFluentQuery<PropertyReadModel>, Window<PropertyReadModel>> query = stubSpecificationSearch(window(true, property));
+
+        CursorPage<PropertyDto> result = propertyService.searchProperties(criteria, null, 1);
+
+        assertEquals(PropertySort.PRICE_DESC.encode(PropertyMapper.toReadModel(property)), result.getNextCursor());
+        FetchableFluentQuery<PropertyReadModel> fluentQuery = applyTo(query);
+        verify(fluentQuery).sortBy(Sort.by(Sort.Order.desc("price"), Sort.Order.desc("id")));
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("price", new BigDecimal("150000.00"));
+        keys.put("id", propertyId);
+        assertEquals(ScrollPosition.forward(keys), PropertySort.PRICE_DESC.position(result.getNextCursor()));
+    }
+
+    @Test
+    void searchProperties_WithInvertedRangeOrUnknownSort_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class, () -> propertyService.searchProperties(
+                PropertySearchCriteria.builder().minBedrooms(4).maxBedrooms(2).build(), null, null));
+        assertThrows(InvalidRequestException.class, () -> propertyService.searchProperties(
+                PropertySearchCriteria.builder().sort("cheapest").build(), null, null));
+        verifyNoInteractions(propertyReadModelRepository);
+    }
+
+    @Test
+    void searchProperties_WithText_ShouldLoadIndexHitsInRankOrder() {
+        Property second = Property.builder()
+                .id(UUID.randomUUID())
+                .title("Second")
+                .build();
+        UUID deletedId = UUID.randomUUID();
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().search("villa").cityId(cityId).build();
+        when(propertySearchIndex.search(criteria, null, PageCursor.DEFAULT_LIMIT))
+                .thenReturn(SearchHits.builder()
+                        .ids(List.of(second.getId(), deletedId, propertyId))
+                        .nextCursor("next")
+                        .build());
+        when(propertyReadModelRepository.findAllById(List.of(second.getId(), deletedId, propertyId)))
+                .thenReturn(List.of(PropertyMapper.toReadModel(property), PropertyMapper.toReadModel(second)));
+
+        CursorPage<PropertyDto> result = propertyService.searchProperties(criteria, null, null);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(second.getId(), result.getItems().get(0).getId());
+        assertEquals(propertyId, result.getItems().get(1).getId());
+        assertEquals("next", result.getNextCursor());
+        verify(propertyReadModelRepository, never()).findBy(any(Specification.class), any(Function.class));
+    }
+
+    @Test
+    void getFacetCounts_WithoutText_ShouldCountOverEveryProperty() {
+        FacetQuery query = FacetQuery.builder().cityIds(List.of(cityId)).build();
+        FacetCountsDto counts = FacetCountsDto.builder().total(1).build();
+        when(propertyFacetIndex.count(query, null)).thenReturn(counts);
+
+        assertSame(counts, propertyService.getFacetCounts(query));
+        verifyNoInteractions(propertySearchIndex, propertyReadModelRepository);
+    }
+
+    @Test
+    void getFacetCounts_WithText_ShouldRestrictToIndexMatches() {
+        FacetQuery query = FacetQuery.builder().search("villa").build();
+        FacetCountsDto counts = FacetCountsDto.builder().total(1).build();
+        when(propertySearchIndex.matchingIds("villa")).thenReturn(List.of(propertyId));
+        when(propertyFacetIndex.count(query, List.of(propertyId))).thenReturn(counts);
+
+        assertSame(counts, propertyService.getFacetCounts(query));
+        verifyNoInteractions(propertyReadModelRepository);
+    }
+
+    @Test
+    void searchProperties_WhenMoreRowsExist_ShouldReturnNewestCursor() {
+        String cursor = PageCursor.of(PropertyMapper.toReadModel(property)).encode();
+        Function<FetchableFluentQuery<PropertyReadModel>, Window<PropertyReadModel>> query = stubSpecificationSearch(window(true, property));
+
+        CursorPage<PropertyDto> result = propertyService.searchProperties(
+                PropertySearchCriteria.builder().cityId(cityId).build(), cursor, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(propertyId, PageCursor.decode(result.getNextCursor()).getId());
+        verify(applyTo(query)).scroll(PageCursor.position(PageCursor.decode(cursor)));
+    }
+
+    @Test
+    void getAllPropertySummaries_WhenMoreRowsExist_ShouldTrimExtraRowAndReturnCursor() {
+        PropertySummaryDto first = summary(propertyId, LocalDateTime.now());
+        PropertySummaryDto extra = summary(UUID.randomUUID(), LocalDateTime.now().minusDays(1));
+        when(propertyReadModelRepository.findSummaries(any(), eq(PropertySort.NEWEST.sort()), eq(ScrollPosition.keyset()),
+                eq(Limit.of(2))))
+                .thenReturn(List.of(first, extra));
+
+        CursorPage<PropertySummaryDto> result = propertyService.getAllPropertySummaries(null, 1);
+
+        assertEquals(List.of(first), result.getItems());
+        assertEquals(propertyId, PageCursor.decode(result.getNextCursor()).getId());
+        verify(propertyReadModelRepository, never()).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void searchPropertySummaries_WithText_ShouldReturnSummariesInRankOrder() {
+        PropertySummaryDto first = summary(UUID.randomUUID(), LocalDateTime.now());
+        PropertySummaryDto second = summary(propertyId, LocalDateTime.now());
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().search("villa").build();
+        when(propertySearchIndex.search(criteria, null, PageCursor.DEFAULT_LIMIT))
+                .thenReturn(SearchHits.builder().ids(List.of(first.getId(), second.getId())).build());
+        when(propertyReadModelRepository.findSummariesByIdIn(List.of(first.getId(), second.getId())))
+                .thenReturn(List.of(second, first));
+
+        CursorPage<PropertySummaryDto> result = propertyService.searchPropertySummaries(criteria, null, null);
+
+        assertEquals(List.of(first, second), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void searchPropertyFields_ShouldSelectSortColumnAndTrimToRequestedFields() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Map<String, Object>> rows = new ArrayList<>(List.of(
+                row(propertyId, createdAt), row(UUID.randomUUID(), createdAt.minusDays(1))));
+        PropertyFields fields = PropertyFields.parse("title");
+        when(propertyReadModelRepository.findAttributes(any(), eq(PropertySort.NEWEST.sort()), eq(ScrollPosition.keyset()),
+                eq(Limit.of(2)), eq(Set.of("id", "createdAt", "title")))).thenReturn(rows);
+
+        CursorPage<Map<String, Object>> result = propertyService.searchPropertyFields(
+                new PropertySearchCriteria(), fields, null, 1);
+
+        assertEquals(List.of(Map.of("title", "Row")), result.getItems());
+        assertEquals(propertyId, PageCursor.decode(result.getNextCursor()).getId());
+    }
+
+    @Test
+    void getPropertyFields_WithImageUrls_ShouldSelectThemWithTheRow() {
+        Map<String, Object> row = row(propertyId, null);
+        row.put("imageUrls", List.of("http://example.com/image.jpg"));
+        when(propertyReadModelRepository.findAttributesByIdIn(List.of(propertyId), Set.of("id", "imageUrls")))
+                .thenReturn(new ArrayList<>(List.of(row)));
+
+        Map<String, Object> result = propertyService.getPropertyFields(propertyId, PropertyFields.parse("id,imageUrls"));
+
+        assertEquals(Map.of("id", propertyId, "imageUrls", List.of("http://example.com/image.jpg")), result);
+    }
+
+    @Test
+    void getPropertyFields_WhenNotExists_ShouldThrowException() {
+        when(propertyReadModelRepository.findAttributesByIdIn(List.of(propertyId), Set.of("id", "title"))).thenReturn(List.of());
+
+        assertThrows(PropertyNotFoundException.class,
+                () -> propertyService.getPropertyFields(propertyId, PropertyFields.parse("title")));
+    }
+
+    @Test
+    void getPropertyVersion_ShouldEncodeCountAndLatestUpdate() {
+        when(propertyReadModelRepository.findVersion(any()))
+                .thenReturn(new PropertyVersion(1L, LocalDateTime.of(1970, 1, 1, 0, 0, 0, 36_000)));
+
+        assertEquals("1-10", propertyService.getPropertyVersion(propertyId));
+    }
+
+    @Test
+    void getPropertyVersion_WhenNotExists_ShouldThrowException() {
+        when(propertyReadModelRepository.findVersion(any())).thenReturn(new PropertyVersion(0L, null));
+
+        assertThrows(PropertyNotFoundException.class, () -> propertyService.getPropertyVersion(propertyId));
+    }
+
+    @Test
+    void getListVersion_WithInvalidRange_ShouldThrowBeforeQuerying() {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().minBedrooms(3).maxBedrooms(1).build();
+
+        assertThrows(InvalidRequestException.class, () -> propertyService.getListVersion(criteria));
+        verify(propertyReadModelRepository, never()).findVersion(any());
     }
 
     @Test
     void getPropertiesByAgent_ShouldReturnAgentProperties() {
         List<Property> properties = Arrays.asList(property);
-        when(propertyRepository.findByAgentId(agentId)).thenReturn(properties);
+        when(propertyReadModelRepository.findByAgentId(eq(agentId), any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(window(false, properties.toArray(new Property[0])));
 
-        List<PropertyDto> result = propertyService.getPropertiesByAgent(agentId);
+        List<PropertyDto> result = propertyService.getPropertiesByAgent(agentId, null, null).getItems();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(agentId, result.get(0).getAgentId());
-        verify(propertyRepository, times(1)).findByAgentId(agentId);
+        verify(propertyReadModelRepository, times(1)).findByAgentId(eq(agentId), any(ScrollPosition.class), any(Sort.class), any(Limit.class));
     }
 
     @Test
     void getPropertiesByCity_ShouldReturnCityProperties() {
         List<Property> properties = Arrays.asList(property);
-        when(propertyRepository.findByCityId(cityId)).thenReturn(properties);
+        when(propertyReadModelRepository.findByCityId(eq(cityId), any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(window(false, properties.toArray(new Property[0])));
 
-        List<PropertyDto> result = propertyService.getPropertiesByCity(cityId);
+        List<PropertyDto> result = propertyService.getPropertiesByCity(cityId, null, null).getItems();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(cityId, result.get(0).getCityId());
-        verify(propertyRepository, times(1)).findByCityId(cityId);
+        verify(propertyReadModelRepository, times(1)).findByCityId(eq(cityId), any(ScrollPosition.class), any(Sort.class), any(Limit.class));
     }
 
     @Test
@@ -409,7 +708,7 @@ class PropertyServiceTest {
         property.setImages(Arrays.asList(image1, image2));
         property.setFeatures(Arrays.asList(feature1, feature2));
 
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        stubReadModel();
 
         PropertyDto result = propertyService.getPropertyById(propertyId);
 
@@ -423,7 +722,7 @@ class PropertyServiceTest {
     @Test
     void extractImageUrls_WithNullImages_ShouldReturnEmptyList() {
         property.setImages(null);
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        stubReadModel();
 
         PropertyDto result = propertyService.getPropertyById(propertyId);
 
@@ -434,7 +733,7 @@ class PropertyServiceTest {
     @Test
     void extractImageUrls_WithEmptyImages_ShouldReturnEmptyList() {
         property.setImages(new ArrayList<>());
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        stubReadModel();
 
         PropertyDto result = propertyService.getPropertyById(propertyId);
 
@@ -460,7 +759,7 @@ class PropertyServiceTest {
                 .build();
 
         property.setImages(Arrays.asList(image1, image2, image3));
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        stubReadModel();
 
         PropertyDto result = propertyService.getPropertyById(propertyId);
 
@@ -471,7 +770,7 @@ class PropertyServiceTest {
     @Test
     void extractFeatureNames_WithNullFeatures_ShouldReturnEmptyList() {
         property.setFeatures(null);
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        stubReadModel();
 
         PropertyDto result = propertyService.getPropertyById(propertyId);
 
@@ -482,7 +781,7 @@ class PropertyServiceTest {
     @Test
     void extractFeatureNames_WithEmptyFeatures_ShouldReturnEmptyList() {
         property.setFeatures(new ArrayList<>());
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        stubReadModel();
 
         PropertyDto result = propertyService.getPropertyById(propertyId);
 
@@ -508,7 +807,7 @@ class PropertyServiceTest {
                 .build();
 
         property.setFeatures(Arrays.asList(feature1, feature2, feature3));
-        when(propertyRepository.findById(propertyId)).thenReturn(Optional.of(property));
+        stubReadModel();
 
         PropertyDto result = propertyService.getPropertyById(propertyId);
 
@@ -757,5 +1056,51 @@ class PropertyServiceTest {
         assertNotNull(result);
         verify(propertyRepository, times(1)).save(any(Property.class));
     }
-}
 
+    private static Map<String, Object> row(UUID id, LocalDateTime createdAt) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("title", "Row");
+        row.put("createdAt", createdAt);
+        return row;
+    }
+
+    private static PropertySummaryDto summary(UUID id, LocalDateTime createdAt) {
+        return PropertySummaryDto.builder().id(id).title("Summary").createdAt(createdAt).build();
+    }
+
+    // Read rows as the projector would write them for the given properties
+    private static Window<PropertyReadModel> window(boolean hasNext, Property... properties) {
+        return Window.from(Arrays.stream(properties).map(PropertyMapper::toReadModel).toList(),
+                index -> ScrollPosition.keyset(), hasNext);
+    }
+
+    // Answers with the current state of the property, so a test can still change it after stubbing
+    private void stubReadModel() {
+        when(propertyReadModelRepository.findById(propertyId))
+                .thenAnswer(invocation -> Optional.of(PropertyMapper.toReadModel(property)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<FetchableFluentQuery<PropertyReadModel>, Window<PropertyReadModel>> stubSpecificationSearch(
+            Window<PropertyReadModel> result) {
+        ArgumentCaptor<Function<FetchableFluentQuery<PropertyReadModel>, Window<PropertyReadModel>>> query =
+                ArgumentCaptor.forClass(Function.class);
+        when(propertyReadModelRepository.findBy(any(Specification.class), query.capture())).thenReturn(result);
+        return (fluentQuery) -> query.getValue().apply(fluentQuery);
+    }
+
+    // Runs the captured query function against a fluent query mock and returns the mock for verification
+    @SuppressWarnings("unchecked")
+    private FetchableFluentQuery<PropertyReadModel> applyTo(Function<FetchableFluentQuery<PropertyReadModel>, Window<PropertyReadModel>> query) {
+        FetchableFluentQuery<PropertyReadModel> fluentQuery = mock(FetchableFluentQuery.class, RETURNS_SELF);
+        query.apply(fluentQuery);
+        return fluentQuery;
+    }
+
+    private PropertyChangedEvent capturePublishedEvent() {
+        ArgumentCaptor<PropertyChangedEvent> captor = ArgumentCaptor.forClass(PropertyChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,107 @@
+package propertyservice.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import propertyservice.app.client.AgentServiceClient;
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.CityDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReferenceExistenceCacheIntegrationTest {
+
+    @Autowired
+    private ReferenceExistenceCache referenceExistenceCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private AgentServiceClient agentServiceClient;
+
+    @MockitoBean
+    private CityServiceClient cityServiceClient;
+
+    @MockitoBean
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(referenceExistenceCache, "preload", false);
+    }
+
+    @Test
+    void agentExists_ShouldAskTheServiceOncePerId() {
+        UUID agentId = UUID.randomUUID();
+        when(agentServiceClient.agentExists(agentId)).thenReturn(true);
+        long hits = nativeCache(CacheConfig.AGENT_EXISTS).stats().hitCount();
+
+        assertTrue(referenceExistenceCache.agentExists(agentId));
+        assertTrue(referenceExistenceCache.agentExists(agentId));
+
+        verify(agentServiceClient, times(1)).agentExists(agentId);
+        assertEquals(hits + 1, nativeCache(CacheConfig.AGENT_EXISTS).stats().hitCount());
+    }
+
+    @Test
+    void cityExists_ShouldKeepMissingIdsOnlyBriefly() {
+        UUID existing = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(cityServiceClient.cityExists(existing)).thenReturn(true);
+        when(cityServiceClient.cityExists(missing)).thenReturn(false);
+
+        assertTrue(referenceExistenceCache.cityExists(existing));
+        assertFalse(referenceExistenceCache.cityExists(missing));
+        assertFalse(referenceExistenceCache.cityExists(missing));
+
+        verify(cityServiceClient, times(1)).cityExists(missing);
+        var expiry = nativeCache(CacheConfig.CITY_EXISTS).policy().expireVariably().orElseThrow();
+        assertTrue(expiry.getExpiresAfter(missing).orElseThrow().compareTo(Duration.ofSeconds(30)) <= 0);
+        assertTrue(expiry.getExpiresAfter(existing).orElseThrow().compareTo(Duration.ofHours(1)) > 0);
+    }
+
+    @Test
+    void propertyTypeExists_WhenTheServiceAnswersNull_ShouldNotCache() {
+        UUID propertyTypeId = UUID.randomUUID();
+        when(propertyTypeServiceClient.propertyTypeExists(propertyTypeId)).thenReturn(null);
+
+        assertNull(referenceExistenceCache.propertyTypeExists(propertyTypeId));
+        assertNull(referenceExistenceCache.propertyTypeExists(propertyTypeId));
+
+        verify(propertyTypeServiceClient, times(2)).propertyTypeExists(propertyTypeId);
+    }
+
+    @Test
+    void onApplicationReady_WithPreload_ShouldAnswerListedCitiesWithoutRemoteCalls() {
+        UUID cityId = UUID.randomUUID();
+        when(cityServiceClient.getAllCities()).thenReturn(List.of(CityDto.builder().id(cityId).name("Springfield").build()));
+        when(propertyTypeServiceClient.getAllPropertyTypes()).thenThrow(new IllegalStateException("Connection refused"));
+        ReflectionTestUtils.setField(referenceExistenceCache, "preload", true);
+
+        referenceExistenceCache.onApplicationReady();
+
+        assertTrue(referenceExistenceCache.cityExists(cityId));
+        verify(cityServiceClient, never()).cityExists(cityId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache(String name) {
+        return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+}
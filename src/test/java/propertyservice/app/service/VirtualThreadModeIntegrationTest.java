@@ -0,0 +1,81 @@
+package propertyservice.app.service;
+
+import propertyservice.app.client.AgentServiceClient;
+import propertyservice.app.client.CityServiceClient;
+import propertyservice.app.client.PropertyTypeServiceClient;
+import propertyservice.app.config.CacheConfig;
+import propertyservice.app.dto.PropertyCreateDto;
+import propertyservice.app.dto.PropertyDto;
+import propertyservice.app.entity.PropertyStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadModeIntegrationTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private AgentServiceClient agentServiceClient;
+
+    @MockitoBean
+    private CityServiceClient cityServiceClient;
+
+    @MockitoBean
+    private PropertyTypeServiceClient propertyTypeServiceClient;
+
+    @Test
+    void createProperty_ShouldCallTheOtherServicesFromVirtualThreads() {
+        List<Thread> callers = new CopyOnWriteArrayList<>();
+        when(agentServiceClient.agentExists(any(UUID.class))).thenAnswer(invocation -> {
+            callers.add(Thread.currentThread());
+            return true;
+        });
+        when(cityServiceClient.cityExists(any(UUID.class))).thenAnswer(invocation -> {
+            callers.add(Thread.currentThread());
+            return true;
+        });
+        when(propertyTypeServiceClient.propertyTypeExists(any(UUID.class))).thenAnswer(invocation -> {
+            callers.add(Thread.currentThread());
+            return true;
+        });
+        UUID agentId = UUID.randomUUID();
+
+        PropertyDto created = propertyService.createProperty(PropertyCreateDto.builder()
+                .title("Property")
+                .price(new BigDecimal("100000.00"))
+                .agentId(agentId)
+                .cityId(UUID.randomUUID())
+                .propertyTypeId(UUID.randomUUID())
+                .status(PropertyStatus.FOR_SALE)
+                .build());
+
+        assertNotNull(created.getId());
+        assertEquals(3, callers.size());
+        assertTrue(callers.stream().allMatch(Thread::isVirtual));
+        // Loaded asynchronously, the answer is cached as usual
+        @SuppressWarnings("unchecked")
+        Cache<Object, Object> agents = ((CaffeineCache) cacheManager.getCache(CacheConfig.AGENT_EXISTS)).getNativeCache();
+        assertEquals(Boolean.TRUE, agents.getIfPresent(agentId));
+    }
+}